@@ -3,27 +3,47 @@ package rainmaker;
 import audio.SoundPlayer;
 import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
-import javafx.geometry.Point2D;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
-import javafx.scene.image.Image;
-import javafx.scene.layout.*;
-import javafx.scene.media.AudioClip;
+import javafx.scene.layout.Pane;
 import javafx.scene.media.Media;
-import javafx.scene.shape.Circle;
-import javafx.scene.shape.Rectangle;
-import javafx.scene.transform.Translate;
-import rainmaker.gameobjects.*;
-
+import rainmaker.rendering.DetailBudget;
+import rainmaker.rendering.Renderer;
+import rainmaker.rendering.RendererType;
+import rainmaker.simulation.Autosave;
+import rainmaker.simulation.Input;
+import rainmaker.simulation.Outcome;
+import rainmaker.simulation.SimulationThread;
+import rainmaker.simulation.SnapshotExchange;
+import rainmaker.simulation.TickLog;
+import rainmaker.simulation.Tunables;
+import rainmaker.simulation.World;
+import rainmaker.simulation.WorldSnapshot;
+import rainmaker.telemetry.AllocationCounter;
+import rainmaker.telemetry.FrameTimes;
+import rainmaker.telemetry.FrameTrace;
+import rainmaker.telemetry.FrameTrace.Span;
+import rainmaker.telemetry.LeakTracker;
+import rainmaker.telemetry.RestartEvent;
+
+import java.io.IOException;
+import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.util.Optional;
 
 /**
- * Is a Pane to serve as the container for all game objects.
+ * Is a Pane to serve as the container for all game objects. The game itself
+ * runs in a World ticked on its own SimulationThread; each frame the Renderer
+ * and GameAudio are brought up to date with the newest WorldSnapshot it has
+ * published.
  */
 public class Game extends Pane {
     public static final int GAME_WIDTH = 800;
     public static final int GAME_HEIGHT = 800;
+    public static final int WORLD_WIDTH = GAME_WIDTH * 3;
+    public static final int WORLD_HEIGHT = GAME_HEIGHT * 3;
+    public static final int BACKGROUND_TILE_SIZE = 256;
+    public static final int MAX_CACHED_BACKGROUND_TILES = 36;
 
     public static final int NUM_PONDS = 3;
     public static final int MIN_POND_RADIUS = 5;
@@ -46,6 +66,7 @@ public class Game extends Pane {
     public static final double MEAN_WIND_SPEED = 0.4;
     public static final double STD_DEV_WIND_SPEED = 0.1;
     public static final int WIND_UPDATE_FREQ_IN_SEC = 8;
+    public static final double WIND_GRID_CELL_SIZE = 100;
 
     public static final int REFUEL_RATE = 30;
     public static final double REFUELING_SPEED_DIFF_MARGIN = 0.1;
@@ -57,6 +78,9 @@ public class Game extends Pane {
     public static final double BLIMP_MAX_FUEL = 10000;
     public static final int BLIMP_RESPAWN_ATTEMPT_FREQ_SEC = 5;
     public static final int BLIMP_RESPAWN_CHANCE_PERCENT = 16;
+    public static final int CLOUD_RESPAWN_CHANCE_PERCENT = 50;
+
+    public static final double SCHEDULER_TICK_IN_SEC = 1.0 / 60;
 
     public static final int HELICOPTER_MIN_SPEED = -2;
     public static final int HELICOPTER_MAX_SPEED = 10;
@@ -91,6 +115,9 @@ public class Game extends Pane {
     public static final double THUNDER_VOLUME = 0.8;
     public static final double THUNDER_CHANCE = 0.01;
 
+    public static final double AUTOSAVE_PERIOD_IN_SEC = 5;
+    public static final int TICK_LOG_MINUTES = 10;
+
     public static final int INVERT_AXIS = -1;
     public static final double NANOS_PER_SEC = 1e9;
     public static final double MAP_BOTTON_THIRD = 0.33;
@@ -98,300 +125,194 @@ public class Game extends Pane {
     public static final int MAX_RGB_INT = 255;
     public static final double EFFECTIVELY_ZERO = 1e-3;
 
-    private static final Game instance = new Game();
-
-    private AudioClip seedingAudio;
-    private AudioClip refuelingAudio;
-    private Ponds ponds;
-    private Clouds clouds;
-    private Blimps blimps;
-    private Wind wind;
-    private Helipad helipad;
-    private Helicopter helicopter;
-    private BoundsPane bounds;
-    private DistanceLines distanceLines;
-    private boolean isHelicopterTryingToSeed;
+    private World world;
+    private SnapshotExchange<WorldSnapshot> snapshots;
+    private SimulationThread simulation;
+    private Renderer renderer;
+    private DetailBudget detailBudget;
+    private GameAudio audio;
     private AnimationTimer loop;
-
-    public static double randomInRange(double min, double max) {
-        return (Math.random() * (max - min) + min);
-    }
-
-    public static Point2D randomPositionInBound(
-            Point2D lowerLeft, Point2D upperRight) {
-        return new Point2D(randomInRange(lowerLeft.getX(), upperRight.getX()),
-                randomInRange(lowerLeft.getY(), upperRight.getY()));
-    }
-
-    public static boolean checkProbability(double probability) {
-        return Math.random() < probability;
-    }
-
-    private Game() {
-        /* image credit: https://earthobservatory.nasa.gov/images/51341/
-        two-views-of-the-painted-desert */
-        BackgroundImage background = new BackgroundImage(
-                new Image("images/desert_background_large.png"),
-                BackgroundRepeat.REPEAT, BackgroundRepeat.NO_REPEAT,
-                BackgroundPosition.DEFAULT, BackgroundSize.DEFAULT);
-        setBackground(new Background(background));
+    private final RendererType rendererType;
+    private final StressScenario stressScenario;
+    private final Tunables tunables;
+    private final FrameTimes frameTimes;
+    private final GameMetrics metrics;
+    private final PerformanceHud hud;
+    private final Autosave autosave;
+    private final TickLog tickLog;
+
+    /**
+     * stressScenario may be null for a normal game. saveFile may be null for
+     * no autosave; a stress run never autosaves. tickLogFile may be null for
+     * no tick log.
+     */
+    public Game(RendererType rendererType, StressScenario stressScenario,
+                Path saveFile, Path tickLogFile) {
+        this.rendererType = rendererType;
+        this.stressScenario = stressScenario;
+        tunables = new Tunables();
+        if (stressScenario != null)
+            stressScenario.configure(tunables);
+        frameTimes = new FrameTimes();
+        metrics = new GameMetrics(tunables, frameTimes);
+        metrics.register();
+        hud = new PerformanceHud(metrics);
+        autosave = saveFile != null && stressScenario == null
+                ? new Autosave(saveFile, AUTOSAVE_PERIOD_IN_SEC) : null;
+        tickLog = tickLogFile == null ? null : openTickLog(tickLogFile);
         setScaleY(INVERT_AXIS);
         init();
     }
 
-    public static Game getInstance() {
-        return instance;
-    }
-
     private void init() {
+        RestartEvent event = new RestartEvent();
+        event.begin();
+        if (world != null) {
+            event.previousOutcome = world.getOutcome().name();
+            event.previousTicks = world.getTicks();
+            reportLeaks(event);
+        }
         getChildren().clear();
-        initPonds();
-        wind = new Wind();
-        initClouds();
-        blimps = new Blimps();
-        helipad = makeHelipad();
-        configureSeedingAndRefuelingAudio();
-        helicopter = makeHelicopter();
-        initBounds();
-        initDistanceLines();
-        getChildren().addAll(helipad, ponds, clouds, blimps, helicopter,
-                bounds, distanceLines);
-
-        configAndStartGameLoop();
+        world = makeWorld();
+        world.setTickLog(tickLog);
+        snapshots = new SnapshotExchange<>(WorldSnapshot::new);
+        simulation = new SimulationThread(world, snapshots);
+        if (stressScenario != null)
+            simulation.setTickTimes(stressScenario.getTickTimes());
+        simulation.setAutosave(autosave);
+        detailBudget = new DetailBudget();
+        renderer = rendererType.create(detailBudget);
+        audio = new GameAudio();
+        metrics.attach(simulation.getStats(), renderer, detailBudget);
+        frameTimes.clear();
+        getChildren().addAll(renderer.getNode(), hud);
+
+        configGameLoop();
+        simulation.start();
+        audio.start();
         loop.start();
+        event.commit();
     }
 
-    private void initDistanceLines() {
-        distanceLines = new DistanceLines();
-        for (Pond p : ponds)
-            for (Cloud c : clouds)
-                distanceLines.add(new DistanceLine(p, c));
-    }
-
-    private void initBounds() {
-        bounds = new BoundsPane();
-        for (Cloud c : clouds)
-            bounds.add(new RectangleBound(c,
-                    new Rectangle(c.getBoundsInLocal().getWidth(),
-                            c.getBoundsInLocal().getHeight())));
-        bounds.add(new RectangleBound(helipad, new Rectangle(
-                helipad.getBoundsInParent().getWidth(),
-                helipad.getBoundsInParent().getHeight())));
-        bounds.add(new CircleBound(helicopter,
-                new Circle(Helicopter.ROTOR_LENGTH / 2)));
+    /**
+     * By the time a game is replaced its views have all been disposed, so
+     * anything still live has leaked.
+     */
+    private static void reportLeaks(RestartEvent event) {
+        event.leakedResources = LeakTracker.getTotalLive();
+        if (event.leakedResources > 0)
+            System.err.println("Resources leaked by the previous game: "
+                    + LeakTracker.describe());
     }
 
-    private void initClouds() {
-        clouds = new Clouds(wind);
-        for (int i = 0; i < randomInRange(MIN_CLOUDS - 1, MAX_CLOUDS); i++)
-            clouds.add(makeCloud());
+    /**
+     * Null if the log can't be opened; the game runs fine without one.
+     */
+    private static TickLog openTickLog(Path file) {
+        try {
+            return TickLog.open(file, (int) (TICK_LOG_MINUTES * 60
+                    / SCHEDULER_TICK_IN_SEC));
+        } catch (IOException e) {
+            System.err.println("Could not open tick log: " + e);
+            return null;
+        }
     }
 
-    private void initPonds() {
-        ponds = new Ponds();
-        for (int i = 0; i < NUM_PONDS; i++)
-            ponds.add(makePond());
+    /**
+     * The first game picks up where the autosave left off, if there is one;
+     * restarting throws that save away.
+     */
+    private World makeWorld() {
+        if (autosave != null) {
+            World saved = world == null ? autosave.resume(tunables) : null;
+            if (saved != null)
+                return saved;
+            autosave.discard();
+        }
+        return new World(System.nanoTime(), tunables);
     }
 
-    private static Helicopter makeHelicopter() {
-        Helicopter helicopter = new Helicopter(Helipad.HELIPAD_POSITION,
-                STARTING_FUEL);
-        return helicopter;
-    }
-
-    private void configureSeedingAndRefuelingAudio() {
-        seedingAudio = new AudioClip(SoundPlayer.class.getResource(
-                "../audio/rainmaker-seeding.wav").toExternalForm());
-        seedingAudio.setVolume(SEEDING_VOLUME);
-
-        refuelingAudio = new AudioClip(SoundPlayer.class.getResource(
-                "../audio/helicopter-refueling.wav").toExternalForm());
-        refuelingAudio.setVolume(REFUELING_VOLUME);
-    }
-
-    private static Helipad makeHelipad() {
-        Helipad helipad = new Helipad(Helipad.HELIPAD_POSITION,
-                Helipad.HELIPAD_DIMENSIONS);
-        return helipad;
-    }
-
-    private Cloud makeCloud() {
-        Point2D position = randomPositionInBound(
-                new Point2D(0, (GAME_HEIGHT * (MAP_BOTTON_THIRD))),
-                new Point2D(GAME_WIDTH, GAME_HEIGHT));
-        Cloud cloud = new Cloud(position,
-                randomInRange(MIN_CLOUD_MAJOR_RADIUS, MAX_CLOUD_MAJOR_RADIUS),
-                randomInRange(MIN_CLOUD_MINOR_RADIUS, MAX_CLOUD_MINOR_RADIUS),
-                MEAN_WIND_SPEED, randomInRange(0, MAX_CLOUD_SPEED_OFFSET));
-        cloud.getTransforms().add(
-                new Translate(position.getX(), position.getY()));
-        wind.addObserver(cloud);
-        return cloud;
-    }
-
-    private void respawnCloud() {
-        Point2D position = randomPositionInBound(
-                new Point2D(-MAX_CLOUD_MAJOR_RADIUS * 2,
-                        (GAME_HEIGHT * (0.33))),
-                new Point2D(-MAX_CLOUD_MAJOR_RADIUS * 2, GAME_HEIGHT));
-        Cloud cloud = new Cloud(position,
-                randomInRange(MIN_CLOUD_MAJOR_RADIUS, MAX_CLOUD_MAJOR_RADIUS),
-                randomInRange(MIN_CLOUD_MINOR_RADIUS, MAX_CLOUD_MINOR_RADIUS),
-                MEAN_WIND_SPEED, randomInRange(0, MAX_CLOUD_SPEED_OFFSET));
-        cloud.getTransforms().add(
-                new Translate(position.getX(), position.getY()));
-        clouds.add(cloud);
-        bounds.add(new RectangleBound(cloud,
-                new Rectangle(cloud.getBoundsInLocal().getWidth(),
-                        cloud.getBoundsInLocal().getHeight())));
-        for (Pond p : ponds)
-            distanceLines.add(new DistanceLine(p, cloud));
-        wind.addObserver(cloud);
-    }
-
-    private void spawnBlimp() {
-        Blimp b = Blimp.makeBlimp();
-        blimps.add(b);
-        bounds.add(new RectangleBound(b,
-                new Rectangle(b.getBoundsInLocal().getWidth(),
-                        b.getBoundsInLocal().getHeight())));
-    }
-
-    private static Pond makePond() {
-        Point2D position =
-                randomPositionInBound(new Point2D(0,
-                                (GAME_HEIGHT * MAP_BOTTON_THIRD)),
-                        new Point2D(GAME_WIDTH, GAME_HEIGHT));
-        Pond pond = new Pond(position, MAX_POND_RADIUS,
-                randomInRange(MIN_POND_RADIUS, MAX_STARTING_POND_RADIUS),
-                Pond.POND_COLOR, Pond.POND_TEXT_COLOR);
-        pond.setTranslateX(position.getX());
-        pond.setTranslateY(position.getY());
-        return pond;
-    }
-
-    private void configAndStartGameLoop() {
+    private void configGameLoop() {
         AnimationTimer loop = new AnimationTimer() {
-            private double old = -1;
-            private double timeSinceLastRain = 0;
-            private double timeSinceWindChange = 0;
-            private double timeSinceBlimpRespawnTry = 0;
+            private long firstFrame, lastFrame;
 
             @Override
             public void handle(long now) {
-                double delta = calculateDelta(now);
-                incrementTimers(delta);
-
-                cleanupDeadObjects();
-                updateGameObjects();
-                updateWind();
-                trySpawningBlimp();
-                refuelIfNearBlimp();
-                seedIfNearCloud();
-                fillPondsWithRain();
-                tryRespawningClouds();
-
-                showLoseDialogIfConditionsMet();
-                showWinDialogIfConditionsMet();
-            }
-
-            private void cleanupDeadObjects() {
-                markForDeletionBoundsOfDeadObjects();
-                markForDeletionDistanceLinesOfDeadClouds();
-            }
-
-            private void incrementTimers(double delta) {
-                timeSinceLastRain += delta;
-                timeSinceWindChange += delta;
-                timeSinceBlimpRespawnTry += delta;
-            }
-
-            private void updateGameObjects() {
-                blimps.update();
-                helicopter.update();
-                clouds.update();
-                ponds.update();
-                bounds.update();
-                distanceLines.update();
+                FrameTrace.begin(Span.FRAME);
+                frame(now);
+                FrameTrace.end(Span.FRAME);
             }
 
-            private void markForDeletionDistanceLinesOfDeadClouds() {
-                for (DistanceLine d : distanceLines)
-                    if (d.getDynamicEndpoint() instanceof Cloud cloud
-                            && cloud.isDead())
-                        distanceLines.markForDeletion(d);
+            private void frame(long now) {
+                if (lastFrame != 0) {
+                    frameTimes.record(now - lastFrame);
+                    if (stressScenario != null && recordStressFrame(now))
+                        return;
+                } else
+                    firstFrame = now;
+                lastFrame = now;
+                FrameTrace.begin(Span.ACQUIRE);
+                WorldSnapshot snapshot = snapshots.acquire();
+                FrameTrace.end(Span.ACQUIRE);
+                if (snapshot == null)
+                    return;
+
+                long allocatedBefore =
+                        AllocationCounter.currentThreadAllocatedBytes();
+                long renderStart = System.nanoTime();
+                FrameTrace.begin(Span.RENDER);
+                renderer.render(snapshot);
+                FrameTrace.end(Span.RENDER);
+                long audioStart = System.nanoTime();
+                FrameTrace.begin(Span.AUDIO);
+                audio.update(snapshot);
+                FrameTrace.end(Span.AUDIO);
+                long audioEnd = System.nanoTime();
+                detailBudget.recordRender(audioStart - renderStart);
+                FrameTrace.begin(Span.HUD);
+                hud.frame(now, renderer.getNode());
+                FrameTrace.end(Span.HUD);
+                long allocated = AllocationCounter.isAvailable()
+                        ? AllocationCounter.currentThreadAllocatedBytes()
+                        - allocatedBefore : -1;
+                metrics.recordLoop(audioStart - renderStart,
+                        audioEnd - audioStart, allocated);
+
+                if (snapshot.getOutcome() == Outcome.LOST)
+                    showLoseDialog();
+                else if (snapshot.getOutcome() == Outcome.WON)
+                    showWinDialog(snapshot);
             }
 
-            private void markForDeletionBoundsOfDeadObjects() {
-                for (Bound b : bounds) {
-                    GameObject gameObject = b.getBoundedObject();
-                    if (gameObject instanceof Blimp blimp
-                            && blimp.isDead())
-                        bounds.markForDeletion(b);
-                    else if (gameObject instanceof Cloud cloud
-                            && cloud.isDead())
-                        bounds.markForDeletion(b);
-                }
-            }
-
-            private void trySpawningBlimp() {
-                boolean isTimeToTryBlimpSpawn = timeSinceBlimpRespawnTry
-                        >= BLIMP_RESPAWN_ATTEMPT_FREQ_SEC;
-                if (isTimeToTryBlimpSpawn) {
-                    int random = (int) randomInRange(0, HUNDRED_PERCENT);
-                    if (random <= BLIMP_RESPAWN_CHANCE_PERCENT)
-                        spawnBlimp();
-                    timeSinceBlimpRespawnTry = 0;
-                }
-            }
-
-            private void refuelIfNearBlimp() {
-                for (Blimp b : blimps)
-                    if (isRefuelingPossible(b)) {
-                        double extractedFuel = b.extractFuel();
-                        helicopter.refuelBy(extractedFuel);
-                        if (extractedFuel > 0 && !refuelingAudio.isPlaying())
-                            refuelingAudio.play();
-                    }
-            }
-
-            private boolean isRefuelingPossible(Blimp blimp) {
-                var helicopterBounds = bounds.getBoundFor(helicopter);
-                var blimpBounds = bounds.getBoundFor(blimp);
-                boolean isColliding =
-                        helicopterBounds.collidesWith(blimpBounds);
-                boolean isSpeedMatching = Math.abs(helicopter.getSpeed()
-                        - blimp.getSpeed()) < REFUELING_SPEED_DIFF_MARGIN;
-                return isColliding
-                        && isSpeedMatching;
-            }
-
-            private void updateWind() {
-                if (timeSinceWindChange >= WIND_UPDATE_FREQ_IN_SEC) {
-                    wind.update();
-                    timeSinceWindChange = 0;
-                }
-            }
-
-            private void tryRespawningClouds() {
-                if (clouds.getNumberOf() < MIN_CLOUDS)
-                    respawnCloud();
-                else if (clouds.getNumberOf() < MAX_CLOUDS) {
-                    int randomNumIn100 =
-                            (int) (Math.random() * HUNDRED_PERCENT);
-                    if (randomNumIn100 % 2 == 0)
-                        respawnCloud();
+            /**
+             * Returns whether the stress run is over, in which case the
+             * report has been written and the app is exiting.
+             */
+            private boolean recordStressFrame(long now) {
+                stressScenario.recordFrame(now - lastFrame);
+                if (!stressScenario.isOver(now - firstFrame))
+                    return false;
+                this.stop();
+                simulation.stop();
+                disposeViews();
+                try {
+                    stressScenario.writeReport(rendererType.name());
+                    System.out.println("Stress report written to "
+                            + stressScenario.getOut().toAbsolutePath());
+                } catch (IOException e) {
+                    System.err.println("Could not write stress report: "
+                            + e);
                 }
+                Platform.exit();
+                return true;
             }
 
-            private void showWinDialogIfConditionsMet() {
-                if (hasMetWinConditions()) {
-                    Alert winDialog = makeWinDialog();
-                    ButtonType yes = winDialog.getButtonTypes().get(0);
-                    ButtonType no = winDialog.getButtonTypes().get(1);
+            private void showWinDialog(WorldSnapshot snapshot) {
+                Alert winDialog = makeWinDialog(snapshot);
+                ButtonType yes = winDialog.getButtonTypes().get(0);
+                ButtonType no = winDialog.getButtonTypes().get(1);
 
-                    displayDialogAndStopGameLoop(winDialog, yes, no);
-                }
+                displayDialogAndStopGameLoop(winDialog, yes, no);
             }
 
             private void displayDialogAndStopGameLoop(
@@ -404,23 +325,16 @@ public class Game extends Pane {
                     else if (result.get() == no)
                         Platform.exit();
                 });
-                stopAllAnimations();
-                stopAllAudio();
+                simulation.stop();
+                disposeViews();
                 this.stop();
             }
 
-            private boolean hasMetWinConditions() {
-                return ponds.getTotalCapacity() >= TOTAL_POND_CAPACITY_TO_WIN
-                        && helicopter.hasFuel()
-                        && helicopter.isEngineOff()
-                        && isHelicopterWithinHelipad();
-            }
-
-            private Alert makeWinDialog() {
+            private Alert makeWinDialog(WorldSnapshot snapshot) {
                 DecimalFormat decimalFormat =
                         new DecimalFormat("###,###");
-                double score = helicopter.getRemainingFuel()
-                        * ponds.getTotalCapacity();
+                double score = snapshot.getHeliFuel()
+                        * snapshot.getTotalPondCapacity();
                 Alert alert = new Alert(Alert.AlertType.CONFIRMATION,
                         "You scored " + decimalFormat.format(score)
                                 + " points. Give it another go, pilot?");
@@ -435,14 +349,12 @@ public class Game extends Pane {
                 return alert;
             }
 
-            private void showLoseDialogIfConditionsMet() {
-                if (!helicopter.hasFuel()) {
-                    Alert loseDialog = makeLoseDialog();
-                    ButtonType yes = loseDialog.getButtonTypes().get(0);
-                    ButtonType no = loseDialog.getButtonTypes().get(1);
+            private void showLoseDialog() {
+                Alert loseDialog = makeLoseDialog();
+                ButtonType yes = loseDialog.getButtonTypes().get(0);
+                ButtonType no = loseDialog.getButtonTypes().get(1);
 
-                    displayDialogAndStopGameLoop(loseDialog, yes, no);
-                }
+                displayDialogAndStopGameLoop(loseDialog, yes, no);
             }
 
             private Alert makeLoseDialog() {
@@ -458,119 +370,59 @@ public class Game extends Pane {
                 alert.getButtonTypes().setAll(yesButton, noButton);
                 return alert;
             }
-
-            private void fillPondsWithRain() {
-                if (timeSinceLastRain >= RAIN_FREQUENCY) {
-                    for (DistanceLine distanceLine : distanceLines) {
-                        Pond p =
-                            distanceLine.getStaticEndpoint() instanceof Pond ?
-                                    (Pond) distanceLine.getStaticEndpoint()
-                                    : null;
-                        Cloud c =
-                            distanceLine.getDynamicEndpoint() instanceof Cloud ?
-                                    (Cloud) distanceLine.getDynamicEndpoint()
-                                    : null;
-                        if (p == null || c == null)
-                            throw new IllegalStateException("Instance of " +
-                                    "distance line not a pond, cloud pair");
-                        fillPondRelativeToCloudDistance(p, c, distanceLine);
-                    }
-                    timeSinceLastRain = 0;
-                }
-            }
-
-            private void fillPondRelativeToCloudDistance(
-                    Pond pond, Cloud cloud, DistanceLine distanceLine) {
-                double pondDiameter = 2 * pond.getMaxRadius();
-                double pondCloudDistance = distanceLine.getDistance();
-                if (pondCloudDistance <=
-                        (MAX_RANGE_RAIN_MULTIPLIER * pondDiameter)) {
-                    boolean hasRained = cloud.tryToRain();
-                    if (hasRained) {
-                        pond.fillByIncrement(1 - (pondCloudDistance
-                                / (MAX_RANGE_RAIN_MULTIPLIER * pondDiameter)));
-                    }
-                }
-            }
-
-            private void seedIfNearCloud() {
-                var helicopterBounds = bounds.getBoundFor(helicopter);
-                for (Cloud c : clouds) {
-                    var cBound = bounds.getBoundFor(c);
-                    if (helicopterBounds.collidesWith(cBound)
-                            && isHelicopterTryingToSeed) {
-                        c.seed();
-                        seedingAudio.play();
-                    }
-                }
-                isHelicopterTryingToSeed = false;
-            }
-
-            private double calculateDelta(long now) {
-                if (old < 0)
-                    old = now;
-                double delta = (now - old) / NANOS_PER_SEC;
-                old = now;
-                return delta;
-            }
         };
         this.loop = loop;
     }
 
-    private boolean isHelicopterWithinHelipad() {
-        return (bounds.getBoundFor(helicopter)).containedIn(
-                bounds.getBoundFor(helipad));
-    }
-
     public void handleLeftKeyPressed() {
-        helicopter.turnLeft();
+        world.submit(Input.TURN_LEFT);
     }
 
     public void handleRightKeyPressed() {
-        helicopter.turnRight();
+        world.submit(Input.TURN_RIGHT);
     }
 
     public void handleUpKeyPressed() {
-        helicopter.increaseSpeed();
+        world.submit(Input.SPEED_UP);
     }
 
     public void handleDownKeyPressed() {
-        helicopter.decreaseSpeed();
+        world.submit(Input.SLOW_DOWN);
     }
 
     public void handleSpaceKeyPressed() {
-        isHelicopterTryingToSeed = true;
+        world.submit(Input.SEED);
     }
 
     public void handleIKeyPressed() {
-        if (helicopter.isStationary() && isHelicopterWithinHelipad())
-            helicopter.toggleIgnition();
+        world.submit(Input.IGNITION);
     }
 
     public void handleRKeyPressed() {
         loop.stop();
-        stopAllAnimations();
-        stopAllAudio();
+        simulation.stop();
+        disposeViews();
         init();
     }
 
-    private void stopAllAnimations() {
-        helicopter.stopAnimation();
-        blimps.stopAnimation();
-    }
-
-    private void stopAllAudio() {
-        wind.stopAudio();
-        helicopter.stopAudio();
-        blimps.stopAudio();
-        clouds.stopAudio();
+    /**
+     * Releases the ending game's timers and media players; the next init()
+     * builds new ones.
+     */
+    private void disposeViews() {
+        renderer.dispose();
+        audio.dispose();
     }
 
     public void handleBKeyPressed() {
-        bounds.toggleVisibility();
+        renderer.toggleBounds();
     }
 
     public void handleDKeyPressed() {
-        distanceLines.toggleVisibility();
+        renderer.toggleDistanceLines();
+    }
+
+    public void handlePKeyPressed() {
+        hud.toggleVisibility();
     }
 }
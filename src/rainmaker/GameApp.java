@@ -3,18 +3,41 @@ package rainmaker;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
-import rainmaker.gameobjects.*;
+import rainmaker.rendering.RendererType;
+import rainmaker.telemetry.FrameTrace;
+
+import java.io.IOException;
+import java.nio.file.Path;
 
 /**
- * Sets up key event handlers that invoke Game class methods.
+ * Sets up key event handlers that invoke Game class methods. The rendering
+ * backend can be picked at launch with --renderer=scenegraph|canvas, and a
+ * StressScenario with its --stress-* options. --trace=trace.json records a
+ * FrameTrace, written out whenever T is pressed and when the app exits.
+ * --autosave=rainmaker.sav saves the game there every few seconds and
+ * resumes from it at the next launch. --tick-log=rainmaker-ticks.bin keeps
+ * the last ten minutes of ticks in a TickLog there.
  */
 public class GameApp extends Application {
     private Game game;
     private Scene scene;
+    private Path tracePath;
     
     @Override
     public void start(Stage primaryStage) {
-        game = Game.getInstance();
+        String trace = getParameters().getNamed().get("trace");
+        if (trace != null) {
+            tracePath = Path.of(trace);
+            FrameTrace.start(FrameTrace.DEFAULT_CAPACITY);
+        }
+        String renderer = getParameters().getNamed().get("renderer");
+        String autosave = getParameters().getNamed().get("autosave");
+        String tickLog = getParameters().getNamed().get("tick-log");
+        game = new Game(renderer == null ? RendererType.SCENE_GRAPH
+                        : RendererType.fromName(renderer),
+                StressScenario.fromParameters(getParameters().getNamed()),
+                autosave == null ? null : Path.of(autosave),
+                tickLog == null ? null : Path.of(tickLog));
         scene = new Scene(game, Game.GAME_WIDTH, Game.GAME_HEIGHT);
         setupEventHandlers();
         configAndShow(primaryStage);
@@ -39,7 +62,26 @@ public class GameApp extends Application {
                 case R -> game.handleRKeyPressed();
                 case B -> game.handleBKeyPressed();
                 case D -> game.handleDKeyPressed();
+                case P -> game.handlePKeyPressed();
+                case T -> writeTrace();
             }
         });
     }
+
+    private void writeTrace() {
+        if (tracePath == null)
+            return;
+        try {
+            FrameTrace.write(tracePath);
+            System.out.println("Trace written to "
+                    + tracePath.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not write trace: " + e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        writeTrace();
+    }
 }
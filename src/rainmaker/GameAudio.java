@@ -0,0 +1,213 @@
+package rainmaker;
+
+import audio.SoundPlayer;
+import javafx.scene.media.AudioClip;
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+import rainmaker.gameobjects.Disposable;
+import rainmaker.simulation.HeliState;
+import rainmaker.simulation.WorldSnapshot;
+import rainmaker.telemetry.FrameTrace;
+import rainmaker.telemetry.FrameTrace.Span;
+import rainmaker.telemetry.LeakTracker;
+import rainmaker.telemetry.LeakTracker.Resource;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Every sound in the game, driven from WorldSnapshots alone so that it plays
+ * the same whichever Renderer is drawing. Looping sounds follow snapshot
+ * state (engine phase, which clouds are raining, which blimps are in view);
+ * one-shot cues play when the World's seeding, refueling and thunder counters
+ * move on. Every MediaPlayer holds a native player until disposed, so loops
+ * are disposed as soon as they stop, and everything else along with the
+ * game.
+ */
+public class GameAudio implements Disposable {
+    private MediaPlayer windAmbience;
+    private MediaPlayer helicopterStartup, helicopterHum, helicopterShutdown;
+    private AudioClip seedingAudio, refuelingAudio, thunderAudio;
+    private Map<Integer, MediaPlayer> rainAudio, blimpAudio;
+    private HeliState heliState;
+    private int seedingsHeard, refuelingsHeard, thunderClapsHeard;
+    private boolean isDisposed;
+
+    public GameAudio() {
+        configureAmbience();
+        configureEngineAudio();
+        configureCueAudio();
+        rainAudio = new HashMap<>();
+        blimpAudio = new HashMap<>();
+        heliState = HeliState.OFF;
+    }
+
+    private void configureAmbience() {
+        windAmbience = newPlayer(Game.WIND_MEDIA);
+        windAmbience.setCycleCount(AudioClip.INDEFINITE);
+        windAmbience.setVolume(Game.WIND_VOLUME);
+    }
+
+    private void configureEngineAudio() {
+        helicopterStartup = newPlayer(Game.HELICOPTER_STARTING_MEDIA);
+        helicopterStartup.setVolume(Game.HELICOPTER_VOLUME);
+
+        helicopterHum = newPlayer(Game.HELICOPTER_MEDIA);
+        helicopterHum.setCycleCount(AudioClip.INDEFINITE);
+        helicopterHum.setVolume(Game.HELICOPTER_VOLUME);
+        helicopterHum.setRate(Game.HELICOPTER_PLAYBACK_RATE);
+
+        helicopterShutdown = newPlayer(Game.HELICOPTER_STOPPING_MEDIA);
+        helicopterShutdown.setVolume(Game.HELICOPTER_VOLUME);
+    }
+
+    private static MediaPlayer newPlayer(Media media) {
+        MediaPlayer player = new MediaPlayer(media);
+        LeakTracker.acquired(Resource.MEDIA_PLAYER);
+        return player;
+    }
+
+    private static void dispose(MediaPlayer player) {
+        player.stop();
+        player.dispose();
+        LeakTracker.released(Resource.MEDIA_PLAYER);
+    }
+
+    private void configureCueAudio() {
+        seedingAudio = new AudioClip(SoundPlayer.class.getResource(
+                "../audio/rainmaker-seeding.wav").toExternalForm());
+        seedingAudio.setVolume(Game.SEEDING_VOLUME);
+
+        refuelingAudio = new AudioClip(SoundPlayer.class.getResource(
+                "../audio/helicopter-refueling.wav").toExternalForm());
+        refuelingAudio.setVolume(Game.REFUELING_VOLUME);
+
+        thunderAudio = new AudioClip(SoundPlayer.class.getResource(
+                "../audio/thunder-explosion.wav").toExternalForm());
+        thunderAudio.setVolume(Game.THUNDER_VOLUME);
+    }
+
+    public void start() {
+        windAmbience.play();
+    }
+
+    public void update(WorldSnapshot snapshot) {
+        if (snapshot.getHeliState() != heliState) {
+            FrameTrace.begin(Span.ENGINE_AUDIO);
+            changeEngineAudio(snapshot.getHeliState());
+            FrameTrace.end(Span.ENGINE_AUDIO);
+        }
+        FrameTrace.begin(Span.RAIN_AUDIO);
+        updateRainAudio(snapshot);
+        FrameTrace.end(Span.RAIN_AUDIO);
+        FrameTrace.begin(Span.BLIMP_AUDIO);
+        updateBlimpAudio(snapshot);
+        FrameTrace.end(Span.BLIMP_AUDIO);
+        FrameTrace.begin(Span.AUDIO_CUES);
+        playCues(snapshot);
+        FrameTrace.end(Span.AUDIO_CUES);
+    }
+
+    private void changeEngineAudio(HeliState newState) {
+        helicopterStartup.stop();
+        helicopterHum.stop();
+        helicopterShutdown.stop();
+        switch (newState) {
+            case STARTING -> helicopterStartup.play();
+            case READY -> helicopterHum.play();
+            case STOPPING -> helicopterShutdown.play();
+            case OFF -> { /* silence */ }
+        }
+        heliState = newState;
+    }
+
+    private void updateRainAudio(WorldSnapshot snapshot) {
+        for (int i = 0; i < snapshot.getNumClouds(); i++)
+            toggleLoop(rainAudio, snapshot.getCloudId(i),
+                    snapshot.isCloudRaining(i), Game.RAIN_MEDIA,
+                    Game.RAIN_VOLUME);
+        stopLoopsNoLongerIn(rainAudio, snapshot::indexOfCloud);
+    }
+
+    private void updateBlimpAudio(WorldSnapshot snapshot) {
+        for (int i = 0; i < snapshot.getNumBlimps(); i++)
+            toggleLoop(blimpAudio, snapshot.getBlimpId(i),
+                    snapshot.isBlimpInView(i), Game.BLIMP_MEDIA,
+                    Game.BLIMP_VOLUME);
+        stopLoopsNoLongerIn(blimpAudio, snapshot::indexOfBlimp);
+    }
+
+    private static void toggleLoop(Map<Integer, MediaPlayer> loops, int id,
+                                   boolean shouldPlay, Media media,
+                                   double volume) {
+        MediaPlayer loop = loops.get(id);
+        if (shouldPlay && loop == null) {
+            FrameTrace.begin(Span.LOOP_START);
+            loop = newPlayer(media);
+            loop.setCycleCount(AudioClip.INDEFINITE);
+            loop.setVolume(volume);
+            loop.play();
+            loops.put(id, loop);
+            FrameTrace.end(Span.LOOP_START);
+        } else if (!shouldPlay && loop != null) {
+            FrameTrace.begin(Span.LOOP_STOP);
+            dispose(loop);
+            loops.remove(id);
+            FrameTrace.end(Span.LOOP_STOP);
+        }
+    }
+
+    /**
+     * Snapshots can be skipped, so an entity may vanish without ever being
+     * seen to stop raining or leave view.
+     */
+    private static void stopLoopsNoLongerIn(Map<Integer, MediaPlayer> loops,
+                                            IntUnaryOperator indexOf) {
+        Iterator<Map.Entry<Integer, MediaPlayer>> it =
+                loops.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, MediaPlayer> entry = it.next();
+            if (indexOf.applyAsInt(entry.getKey()) < 0) {
+                dispose(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    private void playCues(WorldSnapshot snapshot) {
+        if (snapshot.getSeedings() != seedingsHeard) {
+            seedingAudio.play();
+            seedingsHeard = snapshot.getSeedings();
+        }
+        if (snapshot.getRefuelings() != refuelingsHeard) {
+            if (!refuelingAudio.isPlaying())
+                refuelingAudio.play();
+            refuelingsHeard = snapshot.getRefuelings();
+        }
+        if (snapshot.getThunderClaps() != thunderClapsHeard) {
+            if (!thunderAudio.isPlaying())
+                thunderAudio.play();
+            thunderClapsHeard = snapshot.getThunderClaps();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (isDisposed)
+            return;
+        isDisposed = true;
+        dispose(windAmbience);
+        dispose(helicopterStartup);
+        dispose(helicopterHum);
+        dispose(helicopterShutdown);
+        rainAudio.values().forEach(GameAudio::dispose);
+        rainAudio.clear();
+        blimpAudio.values().forEach(GameAudio::dispose);
+        blimpAudio.clear();
+        seedingAudio.stop();
+        refuelingAudio.stop();
+        thunderAudio.stop();
+    }
+}
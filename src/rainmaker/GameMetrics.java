@@ -0,0 +1,253 @@
+package rainmaker;
+
+import rainmaker.rendering.DetailBudget;
+import rainmaker.rendering.Renderer;
+import rainmaker.rendering.ViewKind;
+import rainmaker.simulation.SimulationStats;
+import rainmaker.simulation.Tunables;
+import rainmaker.telemetry.AllocationCounter;
+import rainmaker.telemetry.FrameTimes;
+import rainmaker.telemetry.LeakTracker;
+import rainmaker.telemetry.LeakTracker.Resource;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Registered once as rainmaker:type=GameMetrics so JConsole or VisualVM can
+ * watch and tune the game. Each restart attaches the new simulation and
+ * renderer; the Tunables and frame times carry over.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+    public static final String OBJECT_NAME = "rainmaker:type=GameMetrics";
+    public static final double SMOOTHING = 0.05;
+    public static final double NANOS_PER_MILLI = 1e6;
+
+    private final Tunables tunables;
+    private final FrameTimes frameTimes;
+    private volatile SimulationStats simulation;
+    private volatile Renderer renderer;
+    private volatile DetailBudget detailBudget;
+    private volatile double renderNanos, audioNanos;
+    private volatile double fxAllocatedBytesPerFrame;
+
+    public GameMetrics(Tunables tunables, FrameTimes frameTimes) {
+        this.tunables = tunables;
+        this.frameTimes = frameTimes;
+        simulation = new SimulationStats();
+        fxAllocatedBytesPerFrame = -1;
+    }
+
+    /**
+     * A game that can't be monitored still plays, so failing to register is
+     * only reported.
+     */
+    public void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("Could not register " + OBJECT_NAME + ": "
+                    + e);
+        }
+    }
+
+    public void attach(SimulationStats simulation, Renderer renderer,
+                       DetailBudget detailBudget) {
+        this.simulation = simulation;
+        this.renderer = renderer;
+        this.detailBudget = detailBudget;
+    }
+
+    /**
+     * Called by the game loop each frame with how long its phases took and
+     * how many bytes the JavaFX thread allocated doing them (-1 if that
+     * isn't counted).
+     */
+    public void recordLoop(long renderNanos, long audioNanos,
+                           long allocatedBytes) {
+        this.renderNanos += SMOOTHING * (renderNanos - this.renderNanos);
+        this.audioNanos += SMOOTHING * (audioNanos - this.audioNanos);
+        if (allocatedBytes >= 0)
+            fxAllocatedBytesPerFrame = Math.max(0, fxAllocatedBytesPerFrame)
+                    + SMOOTHING * (allocatedBytes
+                    - Math.max(0, fxAllocatedBytesPerFrame));
+    }
+
+    @Override
+    public long getTicks() {
+        return simulation.getTicks();
+    }
+
+    @Override
+    public double getTicksPerSecond() {
+        return simulation.getTicksPerSecond();
+    }
+
+    @Override
+    public double getAllocatedBytesPerTick() {
+        return simulation.getAllocatedBytesPerTick();
+    }
+
+    @Override
+    public double getTickInputMillis() {
+        return simulation.getInputNanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getTickCleanupMillis() {
+        return simulation.getCleanupNanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getTickUpdateMillis() {
+        return simulation.getUpdateNanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getTickSchedulerMillis() {
+        return simulation.getSchedulerNanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getTickInteractionMillis() {
+        return simulation.getInteractionNanos() / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Bytes the JavaFX thread allocates rendering, playing audio and
+     * updating the HUD each frame, or -1 where allocation isn't counted.
+     */
+    @Override
+    public double getFxAllocatedBytesPerFrame() {
+        return fxAllocatedBytesPerFrame;
+    }
+
+    @Override
+    public int getClouds() {
+        return simulation.getClouds();
+    }
+
+    @Override
+    public int getBlimps() {
+        return simulation.getBlimps();
+    }
+
+    @Override
+    public int getDormantEntities() {
+        return simulation.getDormant();
+    }
+
+    @Override
+    public int getCloudViews() {
+        return countViews(ViewKind.CLOUDS);
+    }
+
+    @Override
+    public int getBlimpViews() {
+        return countViews(ViewKind.BLIMPS);
+    }
+
+    @Override
+    public int getBounds() {
+        return countViews(ViewKind.BOUNDS);
+    }
+
+    @Override
+    public int getDistanceLines() {
+        return countViews(ViewKind.DISTANCE_LINES);
+    }
+
+    private int countViews(ViewKind kind) {
+        Renderer renderer = this.renderer;
+        return renderer == null ? 0 : renderer.getNumberOf(kind);
+    }
+
+    @Override
+    public double getFrameTimeP50Millis() {
+        return frameTimes.getPercentileMillis(50);
+    }
+
+    @Override
+    public double getFrameTimeP95Millis() {
+        return frameTimes.getPercentileMillis(95);
+    }
+
+    @Override
+    public double getFrameTimeP99Millis() {
+        return frameTimes.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getRenderMillis() {
+        return renderNanos / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getAudioMillis() {
+        return audioNanos / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getOutlineCacheHitRate() {
+        Renderer renderer = this.renderer;
+        return renderer == null ? 0 : renderer.getCacheStats().getHitRate();
+    }
+
+    @Override
+    public int getLiveAnimationTimers() {
+        return LeakTracker.getLive(Resource.ANIMATION_TIMER);
+    }
+
+    @Override
+    public int getLiveMediaPlayers() {
+        return LeakTracker.getLive(Resource.MEDIA_PLAYER);
+    }
+
+    @Override
+    public String getDetailLevel() {
+        DetailBudget detailBudget = this.detailBudget;
+        return detailBudget == null ? "" : detailBudget.getLevel().name();
+    }
+
+    @Override
+    public int getMinClouds() {
+        return tunables.getMinClouds();
+    }
+
+    @Override
+    public void setMinClouds(int minClouds) {
+        tunables.setMinClouds(minClouds);
+    }
+
+    @Override
+    public int getMaxClouds() {
+        return tunables.getMaxClouds();
+    }
+
+    @Override
+    public void setMaxClouds(int maxClouds) {
+        tunables.setMaxClouds(maxClouds);
+    }
+
+    @Override
+    public int getCloudRespawnChancePercent() {
+        return tunables.getCloudRespawnChancePercent();
+    }
+
+    @Override
+    public void setCloudRespawnChancePercent(int percent) {
+        tunables.setCloudRespawnChancePercent(percent);
+    }
+
+    @Override
+    public int getBlimpRespawnChancePercent() {
+        return tunables.getBlimpRespawnChancePercent();
+    }
+
+    @Override
+    public void setBlimpRespawnChancePercent(int percent) {
+        tunables.setBlimpRespawnChancePercent(percent);
+    }
+}
@@ -0,0 +1,74 @@
+package rainmaker;
+
+/**
+ * What a running game exposes over JMX (see GameMetrics): read-only figures
+ * about the simulation and rendering, plus the Tunables as read-write
+ * attributes.
+ */
+public interface GameMetricsMXBean {
+    long getTicks();
+
+    double getTicksPerSecond();
+
+    double getAllocatedBytesPerTick();
+
+    double getTickInputMillis();
+
+    double getTickCleanupMillis();
+
+    double getTickUpdateMillis();
+
+    double getTickSchedulerMillis();
+
+    double getTickInteractionMillis();
+
+    double getFxAllocatedBytesPerFrame();
+
+    int getClouds();
+
+    int getBlimps();
+
+    int getDormantEntities();
+
+    int getCloudViews();
+
+    int getBlimpViews();
+
+    int getBounds();
+
+    int getDistanceLines();
+
+    double getFrameTimeP50Millis();
+
+    double getFrameTimeP95Millis();
+
+    double getFrameTimeP99Millis();
+
+    double getRenderMillis();
+
+    double getAudioMillis();
+
+    double getOutlineCacheHitRate();
+
+    int getLiveAnimationTimers();
+
+    int getLiveMediaPlayers();
+
+    String getDetailLevel();
+
+    int getMinClouds();
+
+    void setMinClouds(int minClouds);
+
+    int getMaxClouds();
+
+    void setMaxClouds(int maxClouds);
+
+    int getCloudRespawnChancePercent();
+
+    void setCloudRespawnChancePercent(int percent);
+
+    int getBlimpRespawnChancePercent();
+
+    void setBlimpRespawnChancePercent(int percent);
+}
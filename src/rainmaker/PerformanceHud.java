@@ -0,0 +1,123 @@
+package rainmaker;
+
+import javafx.geometry.VPos;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import rainmaker.telemetry.AllocationCounter;
+
+/**
+ * Performance figures in the top left corner of the window, toggled with P.
+ * It is one Text node rewritten a few times a second rather than every frame,
+ * and does no work at all while hidden, so showing it barely changes what it
+ * shows. Most figures come from GameMetrics; frames per second, node counts,
+ * heap and the FX thread's allocation rate are taken here.
+ */
+public class PerformanceHud extends Group {
+    public static final double UPDATE_INTERVAL_SEC = 0.25;
+    public static final double MARGIN = 10;
+    public static final Color TEXT_COLOR = Color.WHITE;
+    public static final String FONT_FAMILY = "Monospaced";
+    public static final double FONT_SIZE = 12;
+    public static final double BYTES_PER_KB = 1024;
+    public static final double BYTES_PER_MB = BYTES_PER_KB * 1024;
+
+    private final GameMetrics metrics;
+    private final Text text;
+    private long lastUpdate, lastFxAllocatedBytes;
+    private int framesSinceUpdate;
+
+    public PerformanceHud(GameMetrics metrics) {
+        this.metrics = metrics;
+        text = new Text();
+        text.setFill(TEXT_COLOR);
+        text.setFont(Font.font(FONT_FAMILY, FONT_SIZE));
+        text.setTextOrigin(VPos.TOP);
+        getChildren().add(text);
+        setScaleY(Game.INVERT_AXIS);
+        setTranslateX(MARGIN);
+        setMouseTransparent(true);
+        setVisible(false);
+    }
+
+    public void toggleVisibility() {
+        setVisible(!isVisible());
+        lastUpdate = 0;
+    }
+
+    /**
+     * Called by the game loop once a frame with the loop's timestamp.
+     */
+    public void frame(long now, Node world) {
+        if (!isVisible())
+            return;
+        framesSinceUpdate++;
+        if (lastUpdate == 0) {
+            startInterval(now);
+            return;
+        }
+        double elapsedSec = (now - lastUpdate) / Game.NANOS_PER_SEC;
+        if (elapsedSec < UPDATE_INTERVAL_SEC)
+            return;
+        long fxAllocatedBytes = AllocationCounter.currentThreadAllocatedBytes();
+        text.setText(describe(framesSinceUpdate / elapsedSec,
+                (fxAllocatedBytes - lastFxAllocatedBytes) / elapsedSec,
+                countNodes(world)));
+        setTranslateY(Game.GAME_HEIGHT - MARGIN
+                - text.getLayoutBounds().getHeight());
+        startInterval(now);
+    }
+
+    private void startInterval(long now) {
+        lastUpdate = now;
+        framesSinceUpdate = 0;
+        lastFxAllocatedBytes = AllocationCounter.currentThreadAllocatedBytes();
+    }
+
+    private String describe(double fps, double fxBytesPerSec, int nodes) {
+        Runtime runtime = Runtime.getRuntime();
+        double heapUsed = runtime.totalMemory() - runtime.freeMemory();
+        double simBytesPerSec = metrics.getAllocatedBytesPerTick()
+                * metrics.getTicksPerSecond();
+        return String.format(
+                "FPS %5.1f  frame p50 %5.2f ms  p99 %5.2f ms%n"
+                        + "Sim %5.1f ticks/s%n"
+                        + "Tick input %5.3f  cleanup %5.3f  update %5.3f ms%n"
+                        + "     scheduler %5.3f  interactions %5.3f ms%n"
+                        + "Loop render %5.2f ms  audio %5.2f ms%n"
+                        + "Clouds %d (+%d dormant)  blimps %d%n"
+                        + "Nodes %d  detail %s%n"
+                        + "Live timers %d  media players %d%n"
+                        + "Heap %.1f / %.1f MB%n"
+                        + "Alloc sim %.1f KB/s  fx %.1f KB/s%n"
+                        + "      %.0f B/tick  %.0f B/frame",
+                fps, metrics.getFrameTimeP50Millis(),
+                metrics.getFrameTimeP99Millis(),
+                metrics.getTicksPerSecond(),
+                metrics.getTickInputMillis(), metrics.getTickCleanupMillis(),
+                metrics.getTickUpdateMillis(),
+                metrics.getTickSchedulerMillis(),
+                metrics.getTickInteractionMillis(),
+                metrics.getRenderMillis(), metrics.getAudioMillis(),
+                metrics.getClouds(), metrics.getDormantEntities(),
+                metrics.getBlimps(), nodes, metrics.getDetailLevel(),
+                metrics.getLiveAnimationTimers(),
+                metrics.getLiveMediaPlayers(),
+                heapUsed / BYTES_PER_MB, runtime.totalMemory() / BYTES_PER_MB,
+                Math.max(0, simBytesPerSec) / BYTES_PER_KB,
+                Math.max(0, fxBytesPerSec) / BYTES_PER_KB,
+                Math.max(0, metrics.getAllocatedBytesPerTick()),
+                Math.max(0, metrics.getFxAllocatedBytesPerFrame()));
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent parent)
+            for (Node child : parent.getChildrenUnmodifiable())
+                count += countNodes(child);
+        return count;
+    }
+}
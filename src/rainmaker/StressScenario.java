@@ -0,0 +1,105 @@
+package rainmaker;
+
+import rainmaker.simulation.Tunables;
+import rainmaker.telemetry.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * A game crowded with a chosen number of ponds, clouds and blimps that can't
+ * be won or lost, run for a fixed time while every frame and tick is timed.
+ * At the end the time distributions are written to a CSV file and the game
+ * exits. Chosen at launch with any of --stress-ponds=N, --stress-clouds=M and
+ * --stress-blimps=K (the rest default to the usual counts), plus optionally
+ * --stress-seconds and --stress-out.
+ */
+public class StressScenario {
+    public static final int DEFAULT_SECONDS = 60;
+    public static final String DEFAULT_OUT = "stress.csv";
+
+    private final int numPonds, numClouds, numBlimps, seconds;
+    private final Path out;
+    private final LatencyHistogram frameTimes, tickTimes;
+
+    public StressScenario(int numPonds, int numClouds, int numBlimps,
+                          int seconds, Path out) {
+        this.numPonds = numPonds;
+        this.numClouds = numClouds;
+        this.numBlimps = numBlimps;
+        this.seconds = seconds;
+        this.out = out;
+        frameTimes = new LatencyHistogram("frame");
+        tickTimes = new LatencyHistogram("tick");
+    }
+
+    /**
+     * The scenario asked for by the launch parameters, or null if none was.
+     */
+    public static StressScenario fromParameters(Map<String, String> named) {
+        if (!named.containsKey("stress-ponds")
+                && !named.containsKey("stress-clouds")
+                && !named.containsKey("stress-blimps"))
+            return null;
+        return new StressScenario(
+                parse(named, "stress-ponds", Game.NUM_PONDS),
+                parse(named, "stress-clouds", Game.MAX_CLOUDS),
+                parse(named, "stress-blimps", 0),
+                parse(named, "stress-seconds", DEFAULT_SECONDS),
+                Path.of(named.getOrDefault("stress-out", DEFAULT_OUT)));
+    }
+
+    private static int parse(Map<String, String> named, String key,
+                             int defaultValue) {
+        String value = named.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public void configure(Tunables tunables) {
+        tunables.setNumPonds(numPonds);
+        tunables.setMinClouds(0);
+        tunables.setMaxClouds(numClouds);
+        tunables.setMinClouds(numClouds);
+        tunables.setMinBlimps(numBlimps);
+        tunables.setCapacityToWin(Double.POSITIVE_INFINITY);
+    }
+
+    public void recordFrame(long frameNanos) {
+        frameTimes.record(frameNanos);
+    }
+
+    public LatencyHistogram getTickTimes() {
+        return tickTimes;
+    }
+
+    public boolean isOver(long elapsedNanos) {
+        return elapsedNanos >= seconds * (long) Game.NANOS_PER_SEC;
+    }
+
+    /**
+     * Must only be called once the simulation thread has stopped.
+     */
+    public void writeReport(String rendererName) throws IOException {
+        try (PrintWriter writer = new PrintWriter(
+                Files.newBufferedWriter(out))) {
+            writer.printf("# ponds=%d clouds=%d blimps=%d renderer=%s "
+                            + "seconds=%d%n", numPonds, numClouds, numBlimps,
+                    rendererName, seconds);
+            writer.println("series,count,mean_ms,p50_ms,p90_ms,p99_ms,"
+                    + "p99.9_ms,max_ms");
+            frameTimes.writeSummaryTo(writer);
+            tickTimes.writeSummaryTo(writer);
+            writer.println();
+            writer.println("series,bucket_upper_ms,count");
+            frameTimes.writeBucketsTo(writer);
+            tickTimes.writeBucketsTo(writer);
+        }
+    }
+
+    public Path getOut() {
+        return out;
+    }
+}
@@ -1,45 +1,63 @@
 package rainmaker.gameobjects;
 
 import javafx.geometry.Point2D;
+import javafx.scene.CacheHint;
 import javafx.scene.Group;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Ellipse;
 import javafx.scene.shape.QuadCurve;
 import javafx.scene.shape.Shape;
-import javafx.util.Pair;
-import rainmaker.Game;
+import rainmaker.rendering.BezierOutline;
+import rainmaker.rendering.DetailLevel;
+import rainmaker.simulation.Trig;
 
 import java.util.LinkedList;
 import java.util.List;
 
+/**
+ * Cached as a bitmap, so JavaFX only re-tessellates the curves when the fill
+ * or the geometry actually changes rather than on every pulse the oval moves.
+ * How many curves make up the outline follows its DetailLevel and size.
+ */
 public class BezierOval extends Group {
     private double majorAxisRadius, minorAxisRadius;
-    private List<Pair<Point2D, Double>> endpoints;
+    private List<Point2D> endpoints;
     private Ellipse baseOval, controlPointsOval;
     private List<Point2D> controlPoints;
     private double controlPointStrength;
-    private double minControlDegreeSeparation, maxControlDegreeSeparation;
+    private BezierOutline outline;
     private Color fill, stroke;
+    private DetailLevel detail;
+    private int stride;
 
+    /**
+     * The endpoint spacing comes from a BezierOutline seeded with shapeSeed,
+     * so the same seed always produces the same outline.
+     */
     public BezierOval(double majorAxisRadius, double minorAxisRadius,
                       Color fill, Color stroke, double controlStrength,
                       double minControlDegreeSeparation,
-                      double maxControlDegreeSeparation) {
+                      double maxControlDegreeSeparation, long shapeSeed,
+                      DetailLevel detail) {
+        outline = new BezierOutline(shapeSeed, minControlDegreeSeparation,
+                maxControlDegreeSeparation);
         this.majorAxisRadius = majorAxisRadius;
         this.minorAxisRadius = minorAxisRadius;
         this.controlPointStrength = controlStrength;
-        this.minControlDegreeSeparation = minControlDegreeSeparation;
-        this.maxControlDegreeSeparation = maxControlDegreeSeparation;
         baseOval = new Ellipse(majorAxisRadius, minorAxisRadius);
         this.fill = fill;
         this.stroke = stroke;
+        this.detail = detail;
         baseOval.setFill(fill);
         getChildren().add(baseOval);
         augmentOvalWithBezierSegments();
+        setCache(true);
+        setCacheHint(CacheHint.SPEED);
     }
 
     private void augmentOvalWithBezierSegments() {
         makeControlPointOval();
+        stride = detail.strideFor(outline, majorAxisRadius, minorAxisRadius);
         setEndPoints();
         setControlPoints();
         makeBezierCurves();
@@ -53,53 +71,38 @@ public class BezierOval extends Group {
 
     private void setEndPoints() {
         endpoints = new LinkedList<>();
-        double theta = Game.randomInRange(minControlDegreeSeparation,
-                maxControlDegreeSeparation);
-        while (theta <= Math.toDegrees(2 * Math.PI)) {
-            endpoints.add(new Pair<>(new Point2D(
-                majorAxisRadius * Math.cos(Math.toRadians(theta)),
-                minorAxisRadius * Math.sin(Math.toRadians(theta))), theta));
-            theta += Game.randomInRange(minControlDegreeSeparation,
-                    maxControlDegreeSeparation);
+        for (int i = 0; i < outline.getNumSegments(stride); i++) {
+            double theta = outline.getEndpointTheta(i, stride);
+            endpoints.add(new Point2D(
+                majorAxisRadius * Trig.cos(theta),
+                minorAxisRadius * Trig.sin(theta)));
         }
     }
 
     private void setControlPoints() {
         controlPoints = new LinkedList<>();
-        for (int i = 0; i < endpoints.size() - 1; i++) {
-            makeControlPointForEndpoints(i, i + 1);
-        }
-        makeControlPointForEndpoints(endpoints.size() - 1, 0);
-
+        for (int i = 0; i < outline.getNumSegments(stride); i++)
+            makeControlPoint(outline.getControlTheta(i, stride));
     }
 
-    private void makeControlPointForEndpoints(
-            int startPointIndex, int endPointIndex) {
-        double startTheta = endpoints.get(startPointIndex).getValue();
-        double endTheta = endpoints.get(endPointIndex).getValue();
-        double controlTheta = startTheta + ((endTheta - startTheta) / 2);
-        if (endTheta < startTheta)
-            controlTheta += Math.toDegrees(Math.PI);
-
+    private void makeControlPoint(double controlTheta) {
         controlPoints.add(new Point2D(
-                controlPointsOval.getRadiusX()
-                        * Math.cos(Math.toRadians(controlTheta)),
-                controlPointsOval.getRadiusY()
-                        * Math.sin(Math.toRadians(controlTheta))));
+                controlPointsOval.getRadiusX() * Trig.cos(controlTheta),
+                controlPointsOval.getRadiusY() * Trig.sin(controlTheta)));
     }
 
     private void makeBezierCurves() {
         for (int i = 0; i < controlPoints.size(); i++) {
             Point2D control = controlPoints.get(i);
-            Point2D start = endpoints.get(i).getKey();
-            Point2D end = endpoints.get((i + 1) % endpoints.size()).getKey();
+            Point2D start = endpoints.get(i);
+            Point2D end = endpoints.get((i + 1) % endpoints.size());
             QuadCurve bezier = new QuadCurve(
                     start.getX(), start.getY(),
                     control.getX(), control.getY(),
                     end.getX(), end.getY()
             );
             bezier.setFill(fill);
-            bezier.setStroke(stroke);
+            bezier.setStroke(detail.isStroked() ? stroke : null);
             getChildren().add(bezier);
         }
     }
@@ -110,24 +113,28 @@ public class BezierOval extends Group {
         baseOval.setRadiusY(minorAxisRadius);
         this.majorAxisRadius = majorAxisRadius;
         this.minorAxisRadius = minorAxisRadius;
-        computeNewEndpointLocations();
+        remakeBezierCurves();
+    }
+
+    /**
+     * Returns whether the outline had to be remade for the new level.
+     */
+    public boolean setDetail(DetailLevel detail) {
+        if (detail == this.detail)
+            return false;
+        this.detail = detail;
+        remakeBezierCurves();
+        return true;
+    }
+
+    private void remakeBezierCurves() {
+        stride = detail.strideFor(outline, majorAxisRadius, minorAxisRadius);
+        setEndPoints();
         setControlPoints();
         clearBezierCurves();
         makeBezierCurves();
     }
 
-    private void computeNewEndpointLocations() {
-        List<Pair<Point2D, Double>> newEndpoints = new LinkedList<>();
-        for (Pair<Point2D, Double> endpoint : endpoints) {
-            double theta = endpoint.getValue();
-            newEndpoints.add(new Pair<>(new Point2D(
-                    majorAxisRadius * Math.cos(Math.toRadians(theta)),
-                    minorAxisRadius * Math.sin(Math.toRadians(theta))),
-                    theta));
-        }
-        endpoints = newEndpoints;
-    }
-
     private void clearBezierCurves() {
         getChildren().removeIf(shape -> (shape instanceof QuadCurve));
     }
@@ -148,4 +155,8 @@ public class BezierOval extends Group {
     public double getMajorAxisRadius() {
         return majorAxisRadius;
     }
+
+    public double getMinorAxisRadius() {
+        return minorAxisRadius;
+    }
 }
@@ -11,42 +11,50 @@ import javafx.scene.paint.Color;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Scale;
 import javafx.scene.transform.Translate;
-import rainmaker.*;
-
-public class Blimp extends TransientGameObject implements Updatable {
+import rainmaker.simulation.BlimpModel;
+import rainmaker.simulation.WorldSnapshot;
+import rainmaker.telemetry.LeakTracker;
+import rainmaker.telemetry.LeakTracker.Resource;
+
+/**
+ * Draws one BlimpModel, with its remaining fuel written on its side. Its
+ * rotor spins on its own AnimationTimer, so it must be disposed once the
+ * blimp is gone.
+ */
+public class Blimp extends GameObject implements Disposable {
     public static final int BLIMP_TEXT_FONT_SIZE = 16;
     public static final Color BLIMP_FUEL_TEXT_COLOR = Color.rgb(44, 235, 242);
+    public static final String BODY_IMAGE =
+            "images/blimp_transparent_trimmed.png";
+    public static final String ROTOR_IMAGE =
+            "images/blimp_rotor_transparent.png";
+    public static final double BLIMP_ROTOR_SPEED = 7.5;
+    public static final double BLIMP_ROTOR_XSCALE_FACTOR = 0.25;
+    public static final int BLIMP_BLADE_XOFFSET = -90;
+    public static final int BLIMP_ROTOR_SIZE = 70;
 
+    private final int id;
     private BlimpBody body;
     private BlimpBlade blade;
     private GameText fuelText;
-    private BlimpState state;
-
-    public static Blimp makeBlimp() {
-        Blimp b = new Blimp(
-                new Point2D(- BlimpBody.BLIMP_BODY_SIZE.getX() / 2,
-                        Game.randomInRange(0,
-                        Game.GAME_HEIGHT)),
-                Game.randomInRange(Game.BLIMP_MIN_SPEED, Game.BLIMP_MAX_SPEED),
-                Game.randomInRange(Game.BLIMP_MIN_SPEED_OFFSET,
-                        Game.BLIMP_MAX_SPEED_OFFSET),
-                Game.randomInRange(Game.BLIMP_MIN_FUEL, Game.BLIMP_MAX_FUEL));
-        return b;
-    }
-
-    public Blimp(Point2D initialPosition, double speed, double speedOffset,
-                 double fuel) {
-        super(initialPosition, speed, speedOffset);
+    private int displayedFuel;
+    private Translate translation;
+    private boolean isDead;
+
+    public Blimp(int id, Point2D initialPosition, double fuel) {
+        super(initialPosition);
+        this.id = id;
         buildShape();
         addFuelGauge(fuel);
 
-        getTransforms().add(new Translate(initialPosition.getX(),
-                initialPosition.getY()));
-        state = new CreatedBlimp(fuel);
+        translation = new Translate(initialPosition.getX(),
+                initialPosition.getY());
+        getTransforms().add(translation);
     }
 
     private void addFuelGauge(double fuel) {
-        fuelText = new GameText(String.valueOf((int) fuel),
+        displayedFuel = (int) fuel;
+        fuelText = new GameText(String.valueOf(displayedFuel),
                 BLIMP_FUEL_TEXT_COLOR);
         fuelText.setSize(BLIMP_TEXT_FONT_SIZE);
         StackPane fuelPane = new StackPane(fuelText);
@@ -63,35 +71,46 @@ public class Blimp extends TransientGameObject implements Updatable {
         body = new BlimpBody();
         blade = new BlimpBlade();
         blade.getTransforms().add(new Translate(
-                BlimpBlade.BLIMP_BLADE_XOFFSET, 0));
+                BLIMP_BLADE_XOFFSET, 0));
         this.getChildren().addAll(body, blade);
     }
 
-    @Override
-    public void update() {
-        super.update();
-        state = state.update(this, fuelText);
+    public void update(WorldSnapshot snapshot, int index) {
+        updatePositionTo(new Point2D(snapshot.getBlimpX(index),
+                snapshot.getBlimpY(index)));
+        translation.setX(snapshot.getBlimpX(index));
+        translation.setY(snapshot.getBlimpY(index));
+        updateFuelText((int) snapshot.getBlimpFuel(index));
     }
 
-    public double extractFuel() {
-        return state.extractFuel();
+    private void updateFuelText(int fuel) {
+        if (fuel != displayedFuel) {
+            fuelText.setText(String.valueOf(fuel));
+            displayedFuel = fuel;
+        }
+    }
+
+    public void markDead() {
+        isDead = true;
     }
 
     public boolean isDead() {
-        return state instanceof DeadBlimp;
+        return isDead;
     }
 
-    public void stopAnimation() {
-        blade.stopAnimation();
+    @Override
+    public void dispose() {
+        blade.dispose();
     }
 
-    public void stopAudio() {
-        state.stopAudio();
+    public int getEntityId() {
+        return id;
     }
 }
 
 class BlimpBody extends Group {
-    public static final Point2D BLIMP_BODY_SIZE = new Point2D(200, 68);
+    public static final Point2D BLIMP_BODY_SIZE = new Point2D(
+            BlimpModel.BODY_WIDTH, BlimpModel.BODY_HEIGHT);
     public static final Point2D BLIMP_TEXT_PANE_SIZE =
             new Point2D(BLIMP_BODY_SIZE.getX() / 2,
                     BLIMP_BODY_SIZE.getY() / 2);
@@ -102,7 +121,7 @@ class BlimpBody extends Group {
 
     private void configureAndAddImage() {
         ImageView image = new ImageView(
-                new Image("images/blimp_transparent_trimmed.png"));
+                new Image(Blimp.BODY_IMAGE));
         image.setFitHeight(BLIMP_BODY_SIZE.getY());
         image.setFitWidth(BLIMP_BODY_SIZE.getX());
         centerAboutOrigin(image);
@@ -118,19 +137,14 @@ class BlimpBody extends Group {
 }
 
 class BlimpBlade extends Group {
-    public static final double BLIMP_ROTOR_SPEED = 7.5;
-    public static final double BLIMP_ROTOR_XSCALE_FACTOR = 0.25;
-    public static final int BLIMP_BLADE_XOFFSET = -90;
-    public static final int BLIMP_ROTOR_SIZE = 70;
-
     private double angle = 0;
     private AnimationTimer animation;
 
     public BlimpBlade() {
         ImageView image = new ImageView(
-                new Image("images/blimp_rotor_transparent.png"));
-        image.setFitHeight(BLIMP_ROTOR_SIZE);
-        image.setFitWidth(BLIMP_ROTOR_SIZE);
+                new Image(Blimp.ROTOR_IMAGE));
+        image.setFitHeight(Blimp.BLIMP_ROTOR_SIZE);
+        image.setFitWidth(Blimp.BLIMP_ROTOR_SIZE);
         centerAboutOrigin(image);
         getChildren().add(image);
         startAnimation();
@@ -138,27 +152,32 @@ class BlimpBlade extends Group {
 
     private void centerAboutOrigin(ImageView image) {
         image.getTransforms().add(
-                new Translate(-BLIMP_ROTOR_SIZE / 2,
-                        -BLIMP_ROTOR_SIZE / 2));
+                new Translate(-Blimp.BLIMP_ROTOR_SIZE / 2,
+                        -Blimp.BLIMP_ROTOR_SIZE / 2));
     }
 
     private void startAnimation() {
         animation = new AnimationTimer() {
             @Override
             public void handle(long now) {
-                angle += BLIMP_ROTOR_SPEED;
+                angle += Blimp.BLIMP_ROTOR_SPEED;
                 getTransforms().clear();
                 getTransforms().addAll(
-                        new Translate(BLIMP_BLADE_XOFFSET, 0),
-                        new Scale(BLIMP_ROTOR_XSCALE_FACTOR, 1),
+                        new Translate(Blimp.BLIMP_BLADE_XOFFSET, 0),
+                        new Scale(Blimp.BLIMP_ROTOR_XSCALE_FACTOR, 1),
                         new Rotate(angle)
                 );
             }
         };
         animation.start();
+        LeakTracker.acquired(Resource.ANIMATION_TIMER);
     }
 
-    public void stopAnimation() {
+    public void dispose() {
+        if (animation == null)
+            return;
         animation.stop();
+        animation = null;
+        LeakTracker.released(Resource.ANIMATION_TIMER);
     }
 }
@@ -1,43 +1,85 @@
 package rainmaker.gameobjects;
 
+import javafx.geometry.Point2D;
 import javafx.scene.layout.Pane;
+import rainmaker.rendering.Camera;
+import rainmaker.simulation.BlimpModel;
+import rainmaker.simulation.WorldSnapshot;
+import rainmaker.telemetry.FrameTrace;
+import rainmaker.telemetry.FrameTrace.Span;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
 
-public class Blimps extends Pane implements Updatable, Iterable<Blimp> {
+/**
+ * Keeps one Blimp node per blimp in the latest snapshot that the camera can
+ * see, matched up by id the same way Clouds does, disposing each one as it
+ * goes.
+ */
+public class Blimps extends Pane implements Iterable<Blimp>, Disposable {
     private List<Blimp> blimps;
     private List<Blimp> markedForDeletion;
+    private Consumer<Blimp> onSpawn;
 
     public Blimps() {
-        blimps = new LinkedList<>();
-        markedForDeletion = new LinkedList<>();
+        blimps = new ArrayList<>();
+        markedForDeletion = new ArrayList<>();
+        onSpawn = blimp -> { };
     }
 
-    public void add(Blimp b) {
-        blimps.add(b);
-        getChildren().add(b);
+    public void setOnSpawn(Consumer<Blimp> onSpawn) {
+        this.onSpawn = onSpawn;
     }
 
-    @Override
-    public void update() {
-        updateEachOrMarkForDeletion();
+    public void update(WorldSnapshot snapshot, Camera camera) {
+        int existing = 0;
+        for (int i = 0; i < snapshot.getNumBlimps(); i++) {
+            if (!camera.canSee(snapshot.getBlimpX(i), snapshot.getBlimpY(i),
+                    BlimpModel.BODY_WIDTH / 2, BlimpModel.BODY_HEIGHT / 2))
+                continue;
+            int id = snapshot.getBlimpId(i);
+            while (existing < blimps.size()
+                    && blimps.get(existing).getEntityId() < id)
+                markedForDeletion.add(blimps.get(existing++));
+            if (existing < blimps.size()
+                    && blimps.get(existing).getEntityId() == id)
+                blimps.get(existing++).update(snapshot, i);
+            else {
+                add(existing, makeBlimp(snapshot, i)).update(snapshot, i);
+                existing++;
+            }
+        }
+        while (existing < blimps.size())
+            markedForDeletion.add(blimps.get(existing++));
         tryDeletingDeadBlimps();
     }
 
-    private void updateEachOrMarkForDeletion() {
-        for (Blimp b : blimps) {
-            if (b.isDead())
-                markedForDeletion.add(b);
-            else
-                b.update();
-        }
+    private static Blimp makeBlimp(WorldSnapshot snapshot, int i) {
+        return new Blimp(snapshot.getBlimpId(i),
+                new Point2D(snapshot.getBlimpX(i), snapshot.getBlimpY(i)),
+                snapshot.getBlimpFuel(i));
+    }
+
+    /**
+     * Inserts at the walk's position, as Clouds does.
+     */
+    private Blimp add(int index, Blimp blimp) {
+        blimps.add(index, blimp);
+        getChildren().add(index, blimp);
+        onSpawn.accept(blimp);
+        FrameTrace.instant(Span.BLIMP_SPAWN, blimp.getEntityId());
+        return blimp;
     }
 
     private void tryDeletingDeadBlimps() {
         if (markedForDeletion.size() > 0) {
-            markedForDeletion.forEach(blimp -> getChildren().remove(blimp));
+            markedForDeletion.forEach(blimp -> {
+                blimp.markDead();
+                blimp.dispose();
+                getChildren().remove(blimp);
+            });
             blimps.removeAll(markedForDeletion);
             markedForDeletion.clear();
         }
@@ -48,13 +90,13 @@ public class Blimps extends Pane implements Updatable, Iterable<Blimp> {
         return blimps.iterator();
     }
 
-    public void stopAnimation() {
+    @Override
+    public void dispose() {
         for (Blimp b : blimps)
-            b.stopAnimation();
+            b.dispose();
     }
 
-    public void stopAudio() {
-        for (Blimp b : blimps)
-            b.stopAudio();
+    public int getNumberOf() {
+        return blimps.size();
     }
 }
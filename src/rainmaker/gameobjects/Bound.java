@@ -6,7 +6,8 @@ import javafx.scene.shape.Shape;
 
 /**
  * Holds a reference to the object it's bounding so that it can be garbage
- * collected along with its object.
+ * collected along with its object. Only drawn for debugging; the collisions
+ * themselves are worked out by the World.
  */
 public class Bound extends GameObject implements Updatable {
     public static final Color BOUND_FILL = Color.TRANSPARENT;
@@ -40,37 +41,6 @@ public class Bound extends GameObject implements Updatable {
         this.setTranslateY(this.getPosition().getY());
     }
 
-    public boolean collidesWith(Bound other) {
-        return !Shape.intersect(this.getBoundShape(), other.getBoundShape())
-                .getBoundsInLocal().isEmpty();
-    }
-
-    public boolean containedIn(Bound container) {
-        Shape containerShape = container.boundShape;
-        double containerMinX = container.getPosition().getX() -
-                containerShape.getBoundsInLocal().getWidth() / 2;
-        double containerMaxX = container.getPosition().getX() +
-                containerShape.getBoundsInLocal().getWidth() / 2;
-        double containerMinY = container.getPosition().getY() -
-                containerShape.getBoundsInLocal().getHeight() / 2;
-        double containerMaxY = container.getPosition().getY() +
-                containerShape.getBoundsInLocal().getHeight() / 2;
-
-        double thisMinX = getPosition().getX() -
-                boundShape.getBoundsInLocal().getWidth() / 2;
-        double thisMaxX = getPosition().getX() +
-                boundShape.getBoundsInLocal().getWidth() / 2;
-        double thisMinY = getPosition().getY() -
-                boundShape.getBoundsInLocal().getHeight() / 2;
-        double thisMaxY = getPosition().getY() +
-                boundShape.getBoundsInLocal().getHeight() / 2;
-
-        return containerMinX < thisMinX &&
-                containerMaxX > thisMaxX &&
-                containerMinY < thisMinY &&
-                containerMaxY > thisMaxY;
-    }
-
     public GameObject getBoundedObject() {
         return boundedObject;
     }
@@ -63,4 +63,8 @@ public class BoundsPane extends Pane implements Updatable, Iterable<Bound> {
     public Iterator<Bound> iterator() {
         return bounds.iterator();
     }
+
+    public int getNumberOf() {
+        return bounds.size();
+    }
 }
@@ -3,33 +3,49 @@ package rainmaker.gameobjects;
 import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
 import javafx.scene.paint.Color;
+import javafx.scene.transform.Translate;
+import rainmaker.Game;
+import rainmaker.rendering.DetailLevel;
+import rainmaker.simulation.CloudModel;
+import rainmaker.simulation.WorldSnapshot;
 
-public class Cloud extends TransientGameObject implements Updatable {
+/**
+ * Draws one CloudModel. The cloud darkens by one shade per percent of
+ * saturation.
+ */
+public class Cloud extends GameObject {
     public static final Color DEFAULT_CLOUD_COLOR = Color.WHITE;
     public static final Color CLOUD_STROKE_COLOR = Color.GREY;
     public static final Color CLOUD_TEXT_COLOR = Color.BLUE;
-    public static final double CONTROL_POINT_STRENGTH = 1.2;
+    public static final double CONTROL_POINT_STRENGTH =
+            CloudModel.CONTROL_POINT_STRENGTH;
     public static final double MIN_CONTROL_DEGREE_SEPARATION = 30;
     public static final double MAX_CONTROL_DEGREE_SEPARATION = 60;
 
+    private final int id;
     private BezierOval cloudShape;
     private GameText percentSaturatedText;
+    private Translate translation;
     private int seedPercentage;
-    private CloudState state;
+    private boolean isDead;
 
-    public Cloud(Point2D initialPosition, double majorAxisRadius,
-                 double minorAxisRadius, double speed, double speedOffset) {
-        super(initialPosition, speed, speedOffset);
+    public Cloud(int id, Point2D initialPosition, double majorAxisRadius,
+                 double minorAxisRadius, long shapeSeed,
+                 DetailLevel detail) {
+        super(initialPosition);
+        this.id = id;
         cloudShape = new BezierOval(majorAxisRadius, minorAxisRadius,
                 DEFAULT_CLOUD_COLOR, CLOUD_STROKE_COLOR,
                 CONTROL_POINT_STRENGTH, MIN_CONTROL_DEGREE_SEPARATION,
-                MAX_CONTROL_DEGREE_SEPARATION);
+                MAX_CONTROL_DEGREE_SEPARATION, shapeSeed, detail);
 
         seedPercentage = 0;
         makePercentSaturatedText(CLOUD_TEXT_COLOR);
 
         getChildren().addAll(cloudShape, percentSaturatedText);
-        state = new CreatedCloud();
+        translation = new Translate(initialPosition.getX(),
+                initialPosition.getY());
+        getTransforms().add(translation);
     }
 
     private void makePercentSaturatedText(Color textFill) {
@@ -44,26 +60,41 @@ public class Cloud extends TransientGameObject implements Updatable {
                 + fpBounds.getHeight() / 2);
     }
 
-    @Override
-    public void update() {
-        super.update();
-        state = state.update(this, percentSaturatedText);
+    /**
+     * Returns whether the cloud's shape had to be re-rasterized, i.e. its
+     * shade or level of detail changed.
+     */
+    public boolean update(WorldSnapshot snapshot, int index,
+                          DetailLevel detail) {
+        boolean wasRemade = cloudShape.setDetail(detail);
+        updatePositionTo(new Point2D(snapshot.getCloudX(index),
+                snapshot.getCloudY(index)));
+        translation.setX(snapshot.getCloudX(index));
+        translation.setY(snapshot.getCloudY(index));
+        int saturation = (int) snapshot.getCloudSaturation(index);
+        if (saturation == seedPercentage)
+            return wasRemade;
+        updateSaturation(saturation);
+        return true;
     }
 
-    public void seed() {
-        state.seed(cloudShape);
+    private void updateSaturation(int percentage) {
+        seedPercentage = percentage;
+        percentSaturatedText.setText(seedPercentage + "%");
+        int shade = Game.MAX_RGB_INT - seedPercentage;
+        cloudShape.setFill(Color.rgb(shade, shade, shade));
     }
 
-    public boolean tryToRain() {
-        return state.tryToRain(cloudShape);
+    public void markDead() {
+        isDead = true;
     }
 
     public boolean isDead() {
-        return state instanceof DeadCloud;
+        return isDead;
     }
 
-    public void stopAudio() {
-        state.stopAudio();
+    public int getEntityId() {
+        return id;
     }
 
     public double getWidth() {
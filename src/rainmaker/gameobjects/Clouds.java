@@ -1,47 +1,112 @@
 package rainmaker.gameobjects;
 
+import javafx.geometry.Point2D;
 import javafx.scene.layout.Pane;
+import rainmaker.rendering.Camera;
+import rainmaker.rendering.DetailLevel;
+import rainmaker.rendering.RasterCacheStats;
+import rainmaker.simulation.CloudModel;
+import rainmaker.simulation.WorldSnapshot;
+import rainmaker.telemetry.FrameTrace;
+import rainmaker.telemetry.FrameTrace.Span;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
 
-public class Clouds extends Pane implements Updatable, Iterable<Cloud> {
+/**
+ * Keeps one Cloud node per cloud in the latest snapshot that the camera can
+ * see. Both the nodes and the snapshot are ordered by id, so matching them up
+ * is a single merge walk: nodes whose id has dropped out of the snapshot, or
+ * out of view, are removed, and ids without a node are newly spawned or have
+ * drifted into view.
+ */
+public class Clouds extends Pane implements Iterable<Cloud> {
     private List<Cloud> clouds;
     private List<Cloud> markedForDeletion;
-    private Wind wind;
+    private Consumer<Cloud> onSpawn;
+    private RasterCacheStats cacheStats;
 
-    public Clouds(Wind wind) {
-        clouds = new LinkedList<>();
-        markedForDeletion = new LinkedList<>();
-        this.wind = wind;
+    public Clouds(RasterCacheStats cacheStats) {
+        this.cacheStats = cacheStats;
+        clouds = new ArrayList<>();
+        markedForDeletion = new ArrayList<>();
+        onSpawn = cloud -> { };
     }
 
-    public void add(Cloud cloud) {
-        clouds.add(cloud);
-        this.getChildren().add(cloud);
+    public void setOnSpawn(Consumer<Cloud> onSpawn) {
+        this.onSpawn = onSpawn;
     }
 
-    @Override
-    public void update() {
-        updateOrMarkForDeletion();
+    public void update(WorldSnapshot snapshot, DetailLevel detail,
+                       Camera camera) {
+        int existing = 0;
+        for (int i = 0; i < snapshot.getNumClouds(); i++) {
+            if (!isInView(snapshot, i, camera))
+                continue;
+            int id = snapshot.getCloudId(i);
+            while (existing < clouds.size()
+                    && clouds.get(existing).getEntityId() < id)
+                markedForDeletion.add(clouds.get(existing++));
+            if (existing < clouds.size()
+                    && clouds.get(existing).getEntityId() == id)
+                recordCacheUse(clouds.get(existing++).update(snapshot, i,
+                        detail));
+            else {
+                add(existing, makeCloud(snapshot, i, detail)).update(
+                        snapshot, i, detail);
+                cacheStats.recordMiss();
+                existing++;
+            }
+        }
+        while (existing < clouds.size())
+            markedForDeletion.add(clouds.get(existing++));
         tryDeletingDeadClouds();
     }
 
-    private void updateOrMarkForDeletion() {
-        for (Cloud c : clouds) {
-            if (c.isDead())
-                markedForDeletion.add(c);
-            else
-                c.update();
-        }
+    private static boolean isInView(WorldSnapshot snapshot, int i,
+                                    Camera camera) {
+        return camera.canSee(snapshot.getCloudX(i), snapshot.getCloudY(i),
+                snapshot.getCloudMajorRadius(i)
+                        * CloudModel.CONTROL_POINT_STRENGTH,
+                snapshot.getCloudMinorRadius(i)
+                        * CloudModel.CONTROL_POINT_STRENGTH);
+    }
+
+    private void recordCacheUse(boolean wasRerasterized) {
+        if (wasRerasterized)
+            cacheStats.recordMiss();
+        else
+            cacheStats.recordHit();
+    }
+
+    private static Cloud makeCloud(WorldSnapshot snapshot, int i,
+                                   DetailLevel detail) {
+        return new Cloud(snapshot.getCloudId(i),
+                new Point2D(snapshot.getCloudX(i), snapshot.getCloudY(i)),
+                snapshot.getCloudMajorRadius(i),
+                snapshot.getCloudMinorRadius(i),
+                snapshot.getCloudShapeSeed(i), detail);
+    }
+
+    /**
+     * Inserts at the walk's position, not the end, since a cloud can come
+     * into view after ones with higher ids.
+     */
+    private Cloud add(int index, Cloud cloud) {
+        clouds.add(index, cloud);
+        this.getChildren().add(index, cloud);
+        onSpawn.accept(cloud);
+        FrameTrace.instant(Span.CLOUD_SPAWN, cloud.getEntityId());
+        return cloud;
     }
 
     private void tryDeletingDeadClouds() {
         if (markedForDeletion.size() > 0) {
             markedForDeletion.forEach(cloud -> {
+                cloud.markDead();
                 getChildren().remove(cloud);
-                wind.removeObserver(cloud);
             });
             clouds.removeAll(markedForDeletion);
             markedForDeletion.clear();
@@ -56,9 +121,4 @@ public class Clouds extends Pane implements Updatable, Iterable<Cloud> {
     public int getNumberOf() {
         return clouds.size();
     }
-
-    public void stopAudio() {
-        for (Cloud c : clouds)
-            c.stopAudio();
-    }
 }
@@ -0,0 +1,10 @@
+package rainmaker.gameobjects;
+
+/**
+ * Something holding on to resources the garbage collector can't reclaim by
+ * itself, such as a running AnimationTimer or a MediaPlayer's native
+ * decoder. dispose() releases them and may be called more than once.
+ */
+public interface Disposable {
+    void dispose();
+}
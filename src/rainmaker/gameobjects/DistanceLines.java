@@ -51,4 +51,8 @@ public class DistanceLines extends Pane implements Updatable,
     public Iterator<DistanceLine> iterator() {
         return distanceLines.iterator();
     }
+
+    public int getNumberOf() {
+        return distanceLines.size();
+    }
 }
@@ -4,16 +4,17 @@ import javafx.geometry.Point2D;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.transform.Translate;
-import rainmaker.Game;
+import rainmaker.simulation.World;
 
 /**
  * The starting/ending location for helicopter. Represented as an image.
  */
 public class Helipad extends GameObject {
-    public static final Point2D HELIPAD_DIMENSIONS = new Point2D(100, 100);
+    public static final Point2D HELIPAD_DIMENSIONS =
+            new Point2D(World.HELIPAD_SIZE, World.HELIPAD_SIZE);
     public static final Point2D HELIPAD_POSITION =
-            new Point2D((Game.GAME_WIDTH / 2),
-                    (Game.GAME_HEIGHT / 25) + (HELIPAD_DIMENSIONS.getY() / 2));
+            new Point2D(World.HELIPAD_X, World.HELIPAD_Y);
+    public static final String IMAGE = "images/helipad_textured.png";
 
     public Helipad(Point2D initialPosition, Point2D dimensions) {
         super(initialPosition);
@@ -26,7 +27,7 @@ public class Helipad extends GameObject {
 
     private void loadAndSetupImage(Point2D dimensions) {
         ImageView image = new ImageView(
-                new Image("images/helipad_textured.png"));
+                new Image(IMAGE));
         image.setFitHeight(dimensions.getY());
         image.setFitWidth(dimensions.getX());
         centerAboutOrigin(dimensions, image);
@@ -3,41 +3,44 @@ package rainmaker.gameobjects;
 import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
 import javafx.scene.paint.Color;
-import rainmaker.Game;
+import javafx.scene.transform.Translate;
+import rainmaker.rendering.DetailLevel;
+import rainmaker.simulation.WorldSnapshot;
 
-public class Pond extends GameObject implements Updatable {
+/**
+ * Draws one PondModel, regrowing its shape whenever the model's radius has
+ * changed since the last snapshot.
+ */
+public class Pond extends GameObject {
     public static final Color POND_COLOR = Color.BLUE;
     public static final Color POND_TEXT_COLOR = Color.WHITE;
     public static final double MIN_CONTROL_DEGREE_SEPARATION = 60;
     public static final double MAX_CONTROL_DEGREE_SEPARATION = 90;
-    public static final double ONE_PERCENT = 0.01;
 
+    private final int id;
     private BezierOval pondShape;
-    private double maxRadius, currentRadius;
-    private double maxArea, currentArea;
+    private double maxRadius;
     private GameText percentFullText;
     private int percentFull;
 
-    public Pond(Point2D position, double maxRadius, double currentRadius,
-                final Color fill, final Color textFill) {
+    public Pond(int id, Point2D position, double maxRadius,
+                double currentRadius, long shapeSeed, DetailLevel detail) {
         super(position);
+        this.id = id;
         this.maxRadius = maxRadius;
-        maxArea = Math.PI * Math.pow(maxRadius, 2);
-        this.currentRadius = currentRadius;
-        currentArea = Math.PI * Math.pow(currentRadius, 2);
         double controlStrength = (maxRadius / currentRadius);
-        pondShape = new BezierOval(currentRadius, currentRadius, fill,
+        pondShape = new BezierOval(currentRadius, currentRadius, POND_COLOR,
                 Color.TRANSPARENT, controlStrength,
                 MIN_CONTROL_DEGREE_SEPARATION,
-                MAX_CONTROL_DEGREE_SEPARATION);
+                MAX_CONTROL_DEGREE_SEPARATION, shapeSeed, detail);
 
-        makePercentFullText(textFill);
+        makePercentFullText(POND_TEXT_COLOR);
 
         getChildren().addAll(pondShape, percentFullText);
+        getTransforms().add(new Translate(position.getX(), position.getY()));
     }
 
     private void makePercentFullText(Color textFill) {
-        percentFull = (int) ((currentArea / maxArea) * Game.HUNDRED_PERCENT);
         percentFullText = new GameText(percentFull + "%", textFill);
 
         Bounds fpBounds = percentFullText.getBoundsInParent();
@@ -47,21 +50,26 @@ public class Pond extends GameObject implements Updatable {
                 percentFullText.getTranslateY() + fpBounds.getHeight() / 2);
     }
 
-    @Override
-    public void update() {
-        if (pondShape.getMajorAxisRadius() != currentRadius) {
-            pondShape.growBaseOvalTo(currentRadius, currentRadius);
+    /**
+     * Returns whether the pond's shape had to be re-rasterized, i.e. it grew
+     * or its level of detail changed.
+     */
+    public boolean update(WorldSnapshot snapshot, int index,
+                          DetailLevel detail) {
+        boolean wasRemade = pondShape.setDetail(detail);
+        if (snapshot.getPondPercentFull(index) != percentFull) {
+            percentFull = snapshot.getPondPercentFull(index);
             percentFullText.setText(percentFull + "%");
         }
+        double currentRadius = snapshot.getPondRadius(index);
+        if (pondShape.getMajorAxisRadius() == currentRadius)
+            return wasRemade;
+        pondShape.growBaseOvalTo(currentRadius, currentRadius);
+        return true;
     }
 
-    public void fillByIncrement(double multiplier) {
-        currentArea += (maxArea * ONE_PERCENT) * multiplier;
-        if (currentArea > maxArea)
-            currentArea = maxArea;
-
-        currentRadius = Math.sqrt((currentArea / Math.PI));
-        percentFull = (int) (currentArea / maxArea * Game.HUNDRED_PERCENT);
+    public int getEntityId() {
+        return id;
     }
 
     public int getPercentFull() {
@@ -1,34 +1,68 @@
 package rainmaker.gameobjects;
 
+import javafx.geometry.Point2D;
 import javafx.scene.layout.Pane;
+import rainmaker.rendering.Camera;
+import rainmaker.rendering.DetailLevel;
+import rainmaker.rendering.RasterCacheStats;
+import rainmaker.simulation.WorldSnapshot;
+import rainmaker.telemetry.FrameTrace;
+import rainmaker.telemetry.FrameTrace.Span;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
 
-public class Ponds extends Pane implements Updatable, Iterable<Pond> {
+/**
+ * Ponds never die, so the pond nodes only need building the first time a
+ * snapshot lists more ponds than there are nodes. Distance lines hold on to
+ * them, so ponds the camera can't see are hidden and left alone rather than
+ * removed; they catch up with the snapshot once back in view.
+ */
+public class Ponds extends Pane implements Iterable<Pond> {
     private List<Pond> ponds;
+    private Consumer<Pond> onSpawn;
+    private RasterCacheStats cacheStats;
 
-    public Ponds() {
-        ponds = new LinkedList<>();
+    public Ponds(RasterCacheStats cacheStats) {
+        this.cacheStats = cacheStats;
+        ponds = new ArrayList<>();
+        onSpawn = pond -> { };
     }
 
-    public void add(Pond pond) {
-        ponds.add(pond);
-        this.getChildren().add(pond);
+    public void setOnSpawn(Consumer<Pond> onSpawn) {
+        this.onSpawn = onSpawn;
     }
 
-    @Override
-    public void update() {
-        for (Pond p : ponds)
-            p.update();
+    public void update(WorldSnapshot snapshot, DetailLevel detail,
+                       Camera camera) {
+        for (int i = ponds.size(); i < snapshot.getNumPonds(); i++) {
+            add(new Pond(snapshot.getPondId(i),
+                    new Point2D(snapshot.getPondX(i), snapshot.getPondY(i)),
+                    snapshot.getPondMaxRadius(i), snapshot.getPondRadius(i),
+                    snapshot.getPondShapeSeed(i), detail));
+            cacheStats.recordMiss();
+        }
+        for (int i = 0; i < ponds.size(); i++) {
+            Pond pond = ponds.get(i);
+            double maxRadius = snapshot.getPondMaxRadius(i);
+            pond.setVisible(camera.canSee(snapshot.getPondX(i),
+                    snapshot.getPondY(i), maxRadius, maxRadius));
+            if (!pond.isVisible())
+                continue;
+            if (pond.update(snapshot, i, detail))
+                cacheStats.recordMiss();
+            else
+                cacheStats.recordHit();
+        }
     }
 
-    public double getTotalCapacity() {
-        int totalCapacity = 0;
-        for (Pond p : ponds)
-            totalCapacity += p.getPercentFull();
-        return ((double) totalCapacity) / 100;
+    private void add(Pond pond) {
+        ponds.add(pond);
+        this.getChildren().add(pond);
+        onSpawn.accept(pond);
+        FrameTrace.instant(Span.POND_SPAWN, pond.getEntityId());
     }
 
     @Override
@@ -0,0 +1,49 @@
+package rainmaker.gameobjects;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import rainmaker.Game;
+import rainmaker.rendering.Camera;
+import rainmaker.rendering.RainParticles;
+import rainmaker.simulation.WorldSnapshot;
+
+/**
+ * Gives the rain particles a Canvas of their own in the scene graph, redrawn
+ * from scratch every frame. The Canvas is only the size of the window and is
+ * moved along with the camera rather than spanning the whole world.
+ */
+public class Rain extends Pane {
+    private Canvas canvas;
+    private GraphicsContext graphics;
+    private RainParticles particles;
+
+    public Rain() {
+        canvas = new Canvas(Game.GAME_WIDTH, Game.GAME_HEIGHT);
+        graphics = canvas.getGraphicsContext2D();
+        particles = new RainParticles();
+        setMouseTransparent(true);
+        getChildren().add(canvas);
+    }
+
+    public void update(WorldSnapshot snapshot, Camera camera) {
+        particles.emitFrom(snapshot);
+        particles.step();
+        canvas.setTranslateX(camera.getLeft());
+        canvas.setTranslateY(camera.getBottom());
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        graphics.save();
+        graphics.translate(-camera.getLeft(), -camera.getBottom());
+        particles.drawOnto(graphics);
+        graphics.restore();
+    }
+
+    public void clear() {
+        particles.clear();
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+
+    public int getNumDrops() {
+        return particles.getNumDrops();
+    }
+}
@@ -0,0 +1,146 @@
+package rainmaker.rendering;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import rainmaker.Game;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The world's background as a grid of BACKGROUND_TILE_SIZE tiles. Only the
+ * tiles under the camera are drawn, each decoded the first time it comes into
+ * view and kept in an LRU cache of MAX_CACHED_BACKGROUND_TILES, so memory
+ * stays the same however large the world is.
+ * Tiles are cut from one source image repeated across the world (whose sides
+ * must be multiples of the tile size). Only the tile's region of the source
+ * is decoded, so the whole source is never held in memory; just its size is
+ * read, once, from its header.
+ */
+public class BackgroundTiles {
+    /* image credit: https://earthobservatory.nasa.gov/images/51341/
+    two-views-of-the-painted-desert */
+    public static final String SOURCE_IMAGE =
+            "images/desert_background_large.png";
+    public static final int TILE_SIZE = Game.BACKGROUND_TILE_SIZE;
+    public static final int NUM_COLUMNS =
+            (Game.WORLD_WIDTH + TILE_SIZE - 1) / TILE_SIZE;
+    public static final int NUM_ROWS =
+            (Game.WORLD_HEIGHT + TILE_SIZE - 1) / TILE_SIZE;
+
+    private final Map<Integer, Image> tiles;
+    private final RasterCacheStats stats;
+    private int sourceWidth, sourceHeight;
+
+    public BackgroundTiles() {
+        stats = new RasterCacheStats();
+        tiles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<Integer, Image> eldest) {
+                return size() > Game.MAX_CACHED_BACKGROUND_TILES;
+            }
+        };
+    }
+
+    /**
+     * Expects graphics to already be translated into world coordinates.
+     */
+    public void drawOnto(GraphicsContext graphics, Camera camera) {
+        int firstColumn = toTile(camera.getLeft(), NUM_COLUMNS);
+        int lastColumn = toTile(camera.getRight(), NUM_COLUMNS);
+        int firstRow = toTile(camera.getBottom(), NUM_ROWS);
+        int lastRow = toTile(camera.getTop(), NUM_ROWS);
+        for (int row = firstRow; row <= lastRow; row++)
+            for (int column = firstColumn; column <= lastColumn; column++)
+                graphics.drawImage(getTile(column, row), column * TILE_SIZE,
+                        row * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+    }
+
+    private static int toTile(double coordinate, int numTiles) {
+        return Math.max(0, Math.min((int) (coordinate / TILE_SIZE),
+                numTiles - 1));
+    }
+
+    private Image getTile(int column, int row) {
+        int key = row * NUM_COLUMNS + column;
+        Image tile = tiles.get(key);
+        if (tile != null) {
+            stats.recordHit();
+            return tile;
+        }
+        stats.recordMiss();
+        tile = decode(column, row);
+        tiles.put(key, tile);
+        return tile;
+    }
+
+    private Image decode(int column, int row) {
+        try (InputStream in = openSource();
+             ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            ImageReader reader = readerFor(stream);
+            try {
+                reader.setInput(stream, true, true);
+                if (sourceWidth == 0) {
+                    sourceWidth = reader.getWidth(0);
+                    sourceHeight = reader.getHeight(0);
+                }
+                ImageReadParam region = reader.getDefaultReadParam();
+                region.setSourceRegion(new Rectangle(
+                        (column * TILE_SIZE) % sourceWidth,
+                        (row * TILE_SIZE) % sourceHeight,
+                        TILE_SIZE, TILE_SIZE));
+                return toFxImage(reader.read(0, region));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode background "
+                    + "tile " + column + "," + row, e);
+        }
+    }
+
+    private static InputStream openSource() throws IOException {
+        InputStream in = BackgroundTiles.class.getClassLoader()
+                .getResourceAsStream(SOURCE_IMAGE);
+        if (in == null)
+            throw new IOException(SOURCE_IMAGE + " not found");
+        return in;
+    }
+
+    private static ImageReader readerFor(ImageInputStream stream)
+            throws IOException {
+        if (stream == null)
+            throw new IOException("Can't read " + SOURCE_IMAGE);
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+        if (!readers.hasNext())
+            throw new IOException("No reader for " + SOURCE_IMAGE);
+        return readers.next();
+    }
+
+    private static Image toFxImage(BufferedImage tile) {
+        int width = tile.getWidth();
+        int height = tile.getHeight();
+        int[] argb = tile.getRGB(0, 0, width, height, null, 0, width);
+        WritableImage image = new WritableImage(width, height);
+        image.getPixelWriter().setPixels(0, 0, width, height,
+                PixelFormat.getIntArgbInstance(), argb, 0, width);
+        return image;
+    }
+
+    public RasterCacheStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,108 @@
+package rainmaker.rendering;
+
+import javafx.scene.canvas.GraphicsContext;
+import rainmaker.simulation.Trig;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The bumpy outline shared by clouds and ponds: quadratic Bezier segments
+ * joining points on a base oval, each bulging out towards a point on a larger
+ * control oval. Only the angles of the endpoints are random and they come from
+ * a Random seeded with the entity's shape seed, so every renderer given the
+ * same seed draws the same outline.
+ * For less detail an outline can be traced with a stride, joining only every
+ * stride-th endpoint, which keeps its overall shape with fewer segments.
+ */
+public class BezierOutline {
+    private final double[] endpointThetas;
+    private final double[] controlThetas;
+
+    /**
+     * Separations are in degrees, as are all the angles handed back.
+     */
+    public BezierOutline(long shapeSeed, double minDegreeSeparation,
+                         double maxDegreeSeparation) {
+        Random shapeRandom = new Random(shapeSeed);
+        double[] thetas = new double[(int) Math.ceil(
+                Math.toDegrees(2 * Math.PI) / minDegreeSeparation) + 1];
+        int count = 0;
+        double theta = randomSeparation(shapeRandom, minDegreeSeparation,
+                maxDegreeSeparation);
+        while (theta <= Math.toDegrees(2 * Math.PI)) {
+            thetas[count++] = theta;
+            theta += randomSeparation(shapeRandom, minDegreeSeparation,
+                    maxDegreeSeparation);
+        }
+        endpointThetas = Arrays.copyOf(thetas, count);
+        controlThetas = new double[count];
+        for (int i = 0; i < count; i++)
+            controlThetas[i] = controlThetaBetween(endpointThetas[i],
+                    endpointThetas[(i + 1) % count]);
+    }
+
+    private static double randomSeparation(Random random, double min,
+                                           double max) {
+        return random.nextDouble() * (max - min) + min;
+    }
+
+    private static double controlThetaBetween(double startTheta,
+                                              double endTheta) {
+        double controlTheta = startTheta + ((endTheta - startTheta) / 2);
+        if (endTheta < startTheta)
+            controlTheta += Math.toDegrees(Math.PI);
+        return controlTheta;
+    }
+
+    /**
+     * Adds the outline centered on (x, y) to the current path of graphics.
+     * Closing, filling and stroking the path is left to the caller so many
+     * outlines of one color can share a path.
+     */
+    public void trace(GraphicsContext graphics, double x, double y,
+                      double radiusX, double radiusY,
+                      double controlRadiusX, double controlRadiusY,
+                      int stride) {
+        int numSegments = getNumSegments(stride);
+        graphics.moveTo(x + radiusX * cos(endpointThetas[0]),
+                y + radiusY * sin(endpointThetas[0]));
+        for (int i = 0; i < numSegments; i++) {
+            double controlTheta = getControlTheta(i, stride);
+            double endTheta = getEndpointTheta((i + 1) % numSegments, stride);
+            graphics.quadraticCurveTo(
+                    x + controlRadiusX * cos(controlTheta),
+                    y + controlRadiusY * sin(controlTheta),
+                    x + radiusX * cos(endTheta),
+                    y + radiusY * sin(endTheta));
+        }
+    }
+
+    private static double cos(double degrees) {
+        return Trig.cos(degrees);
+    }
+
+    private static double sin(double degrees) {
+        return Trig.sin(degrees);
+    }
+
+    public int getNumSegments() {
+        return endpointThetas.length;
+    }
+
+    public int getNumSegments(int stride) {
+        return (endpointThetas.length + stride - 1) / stride;
+    }
+
+    public double getEndpointTheta(int i, int stride) {
+        return endpointThetas[i * stride];
+    }
+
+    public double getControlTheta(int i, int stride) {
+        if (stride == 1)
+            return controlThetas[i];
+        int next = (i + 1) * stride;
+        return controlThetaBetween(endpointThetas[i * stride],
+                endpointThetas[next < endpointThetas.length ? next : 0]);
+    }
+}
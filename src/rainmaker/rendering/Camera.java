@@ -0,0 +1,49 @@
+package rainmaker.rendering;
+
+import rainmaker.Game;
+
+/**
+ * The window's view onto the world: a GAME_WIDTH by GAME_HEIGHT rectangle
+ * kept centered on whatever it follows, except where that would show past
+ * the edges of the world.
+ */
+public class Camera {
+    private double left, bottom;
+
+    public void follow(double x, double y) {
+        left = clamp(x - Game.GAME_WIDTH / 2.0,
+                Game.WORLD_WIDTH - Game.GAME_WIDTH);
+        bottom = clamp(y - Game.GAME_HEIGHT / 2.0,
+                Game.WORLD_HEIGHT - Game.GAME_HEIGHT);
+    }
+
+    private static double clamp(double value, double max) {
+        return Math.max(0, Math.min(value, max));
+    }
+
+    /**
+     * Whether any of the box of the given half-extents centered at (x, y) is
+     * in view.
+     */
+    public boolean canSee(double x, double y, double halfWidth,
+                          double halfHeight) {
+        return x + halfWidth >= left && x - halfWidth <= getRight()
+                && y + halfHeight >= bottom && y - halfHeight <= getTop();
+    }
+
+    public double getLeft() {
+        return left;
+    }
+
+    public double getBottom() {
+        return bottom;
+    }
+
+    public double getRight() {
+        return left + Game.GAME_WIDTH;
+    }
+
+    public double getTop() {
+        return bottom + Game.GAME_HEIGHT;
+    }
+}
@@ -0,0 +1,323 @@
+package rainmaker.rendering;
+
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import rainmaker.Game;
+import rainmaker.gameobjects.*;
+import rainmaker.simulation.BlimpModel;
+import rainmaker.simulation.CloudModel;
+import rainmaker.simulation.WorldSnapshot;
+
+/**
+ * Draws the whole world straight from each snapshot onto a single Canvas, so
+ * there is no per-entity node to sync, style or lay out and the cost of a
+ * frame is just the drawing itself. Looks the same as the scene graph
+ * renderer: outlines come from the same seeded BezierOutlines and the images,
+ * colors and sizes are the views' own. Cloud and pond outlines are blitted
+ * from an OutlineRasterCache rather than tessellated every frame.
+ * The Canvas is only the size of the window: everything is drawn relative to
+ * a Camera that follows the helicopter, and entities the camera cannot see
+ * are skipped.
+ */
+public class CanvasRenderer extends Pane implements Renderer {
+    public static final double TEXT_SIZE = 13;
+
+    private final Canvas canvas;
+    private final GraphicsContext graphics;
+    private final Image helipadImage, heliBodyImage, heliBladeImage;
+    private final Image blimpBodyImage, blimpRotorImage;
+    private final Font textFont, boldTextFont, blimpTextFont;
+    private final RainParticles rain;
+    private final RasterCacheStats cacheStats;
+    private final OutlineRasterCache pondRasters, cloudRasters;
+    private final Color[] cloudShades;
+    private final Camera camera;
+    private final BackgroundTiles backgroundTiles;
+    private final DetailBudget detailBudget;
+    private double heliBladeAngle, blimpRotorAngle;
+    private boolean areBoundsVisible, areDistanceLinesVisible;
+
+    public CanvasRenderer(DetailBudget detailBudget) {
+        this.detailBudget = detailBudget;
+        canvas = new Canvas(Game.GAME_WIDTH, Game.GAME_HEIGHT);
+        graphics = canvas.getGraphicsContext2D();
+        helipadImage = new Image(Helipad.IMAGE);
+        heliBodyImage = new Image(Helicopter.BODY_IMAGE);
+        heliBladeImage = new Image(Helicopter.BLADE_IMAGE);
+        blimpBodyImage = new Image(Blimp.BODY_IMAGE);
+        blimpRotorImage = new Image(Blimp.ROTOR_IMAGE);
+        textFont = Font.font(GameText.FONT_FAMILY, FontWeight.NORMAL,
+                TEXT_SIZE);
+        boldTextFont = Font.font(GameText.FONT_FAMILY, FontWeight.BOLD,
+                TEXT_SIZE);
+        blimpTextFont = Font.font(GameText.FONT_FAMILY, FontWeight.NORMAL,
+                Blimp.BLIMP_TEXT_FONT_SIZE);
+        rain = new RainParticles();
+        cacheStats = new RasterCacheStats();
+        pondRasters = new OutlineRasterCache(
+                Pond.MIN_CONTROL_DEGREE_SEPARATION,
+                Pond.MAX_CONTROL_DEGREE_SEPARATION, cacheStats);
+        cloudRasters = new OutlineRasterCache(
+                Cloud.MIN_CONTROL_DEGREE_SEPARATION,
+                Cloud.MAX_CONTROL_DEGREE_SEPARATION, cacheStats);
+        cloudShades = new Color[Game.HUNDRED_PERCENT + 1];
+        for (int i = 0; i < cloudShades.length; i++) {
+            int shade = Game.MAX_RGB_INT - i;
+            cloudShades[i] = Color.rgb(shade, shade, shade);
+        }
+        camera = new Camera();
+        backgroundTiles = new BackgroundTiles();
+        getChildren().add(canvas);
+    }
+
+    @Override
+    public Node getNode() {
+        return this;
+    }
+
+    @Override
+    public void render(WorldSnapshot snapshot) {
+        camera.follow(snapshot.getHeliX(), snapshot.getHeliY());
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        graphics.save();
+        graphics.translate(-camera.getLeft(), -camera.getBottom());
+        backgroundTiles.drawOnto(graphics, camera);
+        drawHelipad();
+        drawPonds(snapshot);
+        drawRain(snapshot);
+        drawClouds(snapshot);
+        drawBlimps(snapshot);
+        drawHelicopter(snapshot);
+        if (areBoundsVisible)
+            drawBounds(snapshot);
+        if (areDistanceLinesVisible)
+            drawDistanceLines(snapshot);
+        graphics.restore();
+    }
+
+    private void drawHelipad() {
+        drawCentered(helipadImage, Helipad.HELIPAD_POSITION.getX(),
+                Helipad.HELIPAD_POSITION.getY(),
+                Helipad.HELIPAD_DIMENSIONS.getX(),
+                Helipad.HELIPAD_DIMENSIONS.getY());
+    }
+
+    /**
+     * A pond's outline only changes when it fills, so its raster is keyed on
+     * its radius.
+     */
+    private void drawPonds(WorldSnapshot snapshot) {
+        for (int i = 0; i < snapshot.getNumPonds(); i++) {
+            double radius = snapshot.getPondRadius(i);
+            double maxRadius = snapshot.getPondMaxRadius(i);
+            if (!camera.canSee(snapshot.getPondX(i), snapshot.getPondY(i),
+                    maxRadius, maxRadius))
+                continue;
+            Image raster = pondRasters.get(snapshot.getPondShapeSeed(i),
+                    Double.doubleToLongBits(radius),
+                    detailBudget.getLevel(), radius, radius,
+                    maxRadius, maxRadius, Pond.POND_COLOR, null);
+            drawCentered(raster, snapshot.getPondX(i), snapshot.getPondY(i),
+                    raster.getWidth(), raster.getHeight());
+            drawText(snapshot.getPondPercentFull(i) + "%", textFont,
+                    Pond.POND_TEXT_COLOR, snapshot.getPondX(i),
+                    snapshot.getPondY(i));
+        }
+    }
+
+    private void drawRain(WorldSnapshot snapshot) {
+        rain.emitFrom(snapshot);
+        rain.step();
+        rain.drawOnto(graphics);
+    }
+
+    /**
+     * A cloud's outline only changes shade as it saturates, so its raster is
+     * keyed on its whole-percent saturation.
+     */
+    private void drawClouds(WorldSnapshot snapshot) {
+        for (int i = 0; i < snapshot.getNumClouds(); i++) {
+            double major = snapshot.getCloudMajorRadius(i);
+            double minor = snapshot.getCloudMinorRadius(i);
+            if (!camera.canSee(snapshot.getCloudX(i), snapshot.getCloudY(i),
+                    major * CloudModel.CONTROL_POINT_STRENGTH,
+                    minor * CloudModel.CONTROL_POINT_STRENGTH))
+                continue;
+            int saturation = (int) snapshot.getCloudSaturation(i);
+            Image raster = cloudRasters.get(snapshot.getCloudShapeSeed(i),
+                    saturation, detailBudget.getLevel(), major, minor,
+                    major * CloudModel.CONTROL_POINT_STRENGTH,
+                    minor * CloudModel.CONTROL_POINT_STRENGTH,
+                    cloudShades[saturation], Cloud.CLOUD_STROKE_COLOR);
+            drawCentered(raster, snapshot.getCloudX(i),
+                    snapshot.getCloudY(i), raster.getWidth(),
+                    raster.getHeight());
+            drawText(saturation + "%", textFont, Cloud.CLOUD_TEXT_COLOR,
+                    snapshot.getCloudX(i), snapshot.getCloudY(i));
+        }
+    }
+
+    private void drawBlimps(WorldSnapshot snapshot) {
+        blimpRotorAngle += Blimp.BLIMP_ROTOR_SPEED;
+        for (int i = 0; i < snapshot.getNumBlimps(); i++) {
+            double x = snapshot.getBlimpX(i);
+            double y = snapshot.getBlimpY(i);
+            if (!camera.canSee(x, y, BlimpModel.BODY_WIDTH / 2,
+                    BlimpModel.BODY_HEIGHT / 2))
+                continue;
+            drawCentered(blimpBodyImage, x, y, BlimpModel.BODY_WIDTH,
+                    BlimpModel.BODY_HEIGHT);
+
+            graphics.save();
+            graphics.translate(x + Blimp.BLIMP_BLADE_XOFFSET, y);
+            graphics.scale(Blimp.BLIMP_ROTOR_XSCALE_FACTOR, 1);
+            graphics.rotate(blimpRotorAngle);
+            drawCentered(blimpRotorImage, 0, 0, Blimp.BLIMP_ROTOR_SIZE,
+                    Blimp.BLIMP_ROTOR_SIZE);
+            graphics.restore();
+
+            drawText(String.valueOf((int) snapshot.getBlimpFuel(i)),
+                    blimpTextFont, Blimp.BLIMP_FUEL_TEXT_COLOR, x, y);
+        }
+    }
+
+    private void drawHelicopter(WorldSnapshot snapshot) {
+        if (snapshot.getRotorSpeed() > 0)
+            heliBladeAngle += snapshot.getRotorSpeed();
+        graphics.save();
+        graphics.translate(snapshot.getHeliX(), snapshot.getHeliY());
+        graphics.rotate(-snapshot.getHeliHeading());
+
+        graphics.save();
+        graphics.rotate(Helicopter.BODY_IMAGE_ROTATION);
+        drawCentered(heliBodyImage, 0, 0, Helicopter.HELIBODY_SIZE,
+                Helicopter.HELIBODY_SIZE);
+        graphics.restore();
+
+        graphics.save();
+        graphics.rotate(heliBladeAngle);
+        drawCentered(heliBladeImage, 0, 0, Helicopter.ROTOR_LENGTH,
+                Helicopter.ROTOR_LENGTH);
+        graphics.restore();
+
+        drawText("F:" + (int) snapshot.getHeliFuel(), boldTextFont,
+                Helicopter.FUEL_GAUGE_COLOR,
+                Helicopter.FUEL_GAUGE_OFFSET.getY(),
+                Helicopter.FUEL_GAUGE_OFFSET.getX());
+        graphics.restore();
+    }
+
+    private void drawBounds(WorldSnapshot snapshot) {
+        graphics.setStroke(Bound.BOUND_STROKE);
+        graphics.setLineWidth(Bound.BOUND_STROKE_WIDTH);
+        strokeCenteredRect(Helipad.HELIPAD_POSITION.getX(),
+                Helipad.HELIPAD_POSITION.getY(),
+                Helipad.HELIPAD_DIMENSIONS.getX(),
+                Helipad.HELIPAD_DIMENSIONS.getY());
+        strokeCircle(snapshot.getHeliX(), snapshot.getHeliY(),
+                Helicopter.ROTOR_LENGTH / 2.0);
+        for (int i = 0; i < snapshot.getNumPonds(); i++)
+            strokeCircle(snapshot.getPondX(i), snapshot.getPondY(i),
+                    snapshot.getPondMaxRadius(i));
+        for (int i = 0; i < snapshot.getNumClouds(); i++)
+            strokeCenteredRect(snapshot.getCloudX(i), snapshot.getCloudY(i),
+                    2 * snapshot.getCloudMajorRadius(i)
+                            * CloudModel.CONTROL_POINT_STRENGTH,
+                    2 * snapshot.getCloudMinorRadius(i)
+                            * CloudModel.CONTROL_POINT_STRENGTH);
+        for (int i = 0; i < snapshot.getNumBlimps(); i++)
+            strokeCenteredRect(snapshot.getBlimpX(i), snapshot.getBlimpY(i),
+                    BlimpModel.BODY_WIDTH, BlimpModel.BODY_HEIGHT);
+    }
+
+    private void drawDistanceLines(WorldSnapshot snapshot) {
+        graphics.setStroke(DistanceLine.DISTANCE_LINE_COLOR);
+        graphics.setLineWidth(DistanceLine.DISTANCE_LINE_WIDTH);
+        graphics.beginPath();
+        for (int p = 0; p < snapshot.getNumPonds(); p++)
+            for (int c = 0; c < snapshot.getNumClouds(); c++) {
+                graphics.moveTo(snapshot.getPondX(p), snapshot.getPondY(p));
+                graphics.lineTo(snapshot.getCloudX(c), snapshot.getCloudY(c));
+            }
+        graphics.stroke();
+
+        for (int p = 0; p < snapshot.getNumPonds(); p++)
+            for (int c = 0; c < snapshot.getNumClouds(); c++) {
+                double dx = snapshot.getCloudX(c) - snapshot.getPondX(p);
+                double dy = snapshot.getCloudY(c) - snapshot.getPondY(p);
+                drawText(String.valueOf((int) Math.hypot(dx, dy)), textFont,
+                        DistanceLine.DISTANCE_LINE_TEXT_COLOR,
+                        snapshot.getPondX(p) + dx / 2,
+                        snapshot.getPondY(p) + dy / 2);
+            }
+    }
+
+    private void drawCentered(Image image, double x, double y,
+                              double width, double height) {
+        graphics.drawImage(image, x - width / 2, y - height / 2, width,
+                height);
+    }
+
+    /**
+     * The game's y-axis points up, so text is flipped back about its own
+     * baseline to read the right way up (as GameText does for nodes).
+     */
+    private void drawText(String text, Font font, Paint fill, double x,
+                          double y) {
+        graphics.save();
+        graphics.translate(x, y);
+        graphics.scale(1, Game.INVERT_AXIS);
+        graphics.setFont(font);
+        graphics.setFill(fill);
+        graphics.setTextAlign(TextAlignment.CENTER);
+        graphics.setTextBaseline(VPos.CENTER);
+        graphics.fillText(text, 0, 0);
+        graphics.restore();
+    }
+
+    private void strokeCenteredRect(double x, double y, double width,
+                                    double height) {
+        graphics.strokeRect(x - width / 2, y - height / 2, width, height);
+    }
+
+    private void strokeCircle(double x, double y, double radius) {
+        graphics.strokeOval(x - radius, y - radius, 2 * radius, 2 * radius);
+    }
+
+    @Override
+    public void toggleBounds() {
+        areBoundsVisible = !areBoundsVisible;
+    }
+
+    @Override
+    public void toggleDistanceLines() {
+        areDistanceLinesVisible = !areDistanceLinesVisible;
+    }
+
+    @Override
+    public void dispose() {
+        rain.clear();
+    }
+
+    @Override
+    public RasterCacheStats getCacheStats() {
+        return cacheStats;
+    }
+
+    /**
+     * Everything is drawn straight from the snapshot, so no views are kept.
+     */
+    @Override
+    public int getNumberOf(ViewKind kind) {
+        return 0;
+    }
+}
@@ -0,0 +1,59 @@
+package rainmaker.rendering;
+
+import rainmaker.Game;
+
+/**
+ * Picks the DetailLevel to draw at from how long the game loop measures each
+ * render to take. The level drops a step once the smoothed render time runs
+ * over budget, and only climbs back a step after it has stayed well under for
+ * a couple of seconds, so detail doesn't flicker between levels. Each change
+ * is given time to show in the measurements before the next.
+ */
+public class DetailBudget {
+    public static final double RENDER_BUDGET_NANOS =
+            Game.NANOS_PER_SEC * Game.SCHEDULER_TICK_IN_SEC / 2;
+    public static final double HEADROOM_FRACTION = 0.5;
+    public static final double SMOOTHING = 0.1;
+    public static final int FRAMES_TO_SETTLE = 30;
+    public static final int FRAMES_OF_HEADROOM_TO_RESTORE = 120;
+
+    private volatile DetailLevel level;
+    private volatile double smoothedRenderNanos;
+    private int framesSinceChange, framesWithHeadroom;
+
+    public DetailBudget() {
+        level = DetailLevel.FULL;
+    }
+
+    public void recordRender(long renderNanos) {
+        smoothedRenderNanos += SMOOTHING * (renderNanos - smoothedRenderNanos);
+        framesSinceChange++;
+        if (smoothedRenderNanos < RENDER_BUDGET_NANOS * HEADROOM_FRACTION)
+            framesWithHeadroom++;
+        else
+            framesWithHeadroom = 0;
+
+        if (framesSinceChange < FRAMES_TO_SETTLE)
+            return;
+        if (smoothedRenderNanos > RENDER_BUDGET_NANOS)
+            changeTo(level.coarser());
+        else if (framesWithHeadroom >= FRAMES_OF_HEADROOM_TO_RESTORE)
+            changeTo(level.finer());
+    }
+
+    private void changeTo(DetailLevel newLevel) {
+        if (newLevel == level)
+            return;
+        level = newLevel;
+        framesSinceChange = 0;
+        framesWithHeadroom = 0;
+    }
+
+    public DetailLevel getLevel() {
+        return level;
+    }
+
+    public double getSmoothedRenderNanos() {
+        return smoothedRenderNanos;
+    }
+}
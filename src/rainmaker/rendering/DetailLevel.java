@@ -0,0 +1,47 @@
+package rainmaker.rendering;
+
+/**
+ * How finely cloud and pond outlines are drawn. Every level allows an outline
+ * one segment per so many pixels of its circumference, so small outlines get
+ * fewer curves at any level; the coarsest also leaves them unstroked.
+ */
+public enum DetailLevel {
+    FULL(12, true),
+    REDUCED(40, true),
+    MINIMAL(80, false);
+
+    public static final int MIN_SEGMENTS = 3;
+
+    private final double pixelsPerSegment;
+    private final boolean isStroked;
+
+    DetailLevel(double pixelsPerSegment, boolean isStroked) {
+        this.pixelsPerSegment = pixelsPerSegment;
+        this.isStroked = isStroked;
+    }
+
+    /**
+     * The stride to trace outline with at this level for the given radii.
+     */
+    public int strideFor(BezierOutline outline, double radiusX,
+                         double radiusY) {
+        double circumference = Math.PI * (radiusX + radiusY);
+        int maxSegments = Math.max(MIN_SEGMENTS,
+                (int) (circumference / pixelsPerSegment));
+        return Math.max(1, (outline.getNumSegments() + maxSegments - 1)
+                / maxSegments);
+    }
+
+    public boolean isStroked() {
+        return isStroked;
+    }
+
+    DetailLevel coarser() {
+        return this == values()[values().length - 1]
+                ? this : values()[ordinal() + 1];
+    }
+
+    DetailLevel finer() {
+        return this == values()[0] ? this : values()[ordinal() - 1];
+    }
+}
@@ -0,0 +1,127 @@
+package rainmaker.rendering;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rasterized BezierOutlines of one kind of entity (all clouds, say), one
+ * WritableImage per shape seed, so a frame only has to blit them. An outline
+ * is re-rasterized only when the version it is asked for (whatever changes
+ * its look, e.g. fill shade or radius) or the DetailLevel differs from the
+ * one last rasterized;
+ * the least recently drawn outlines are dropped once there are more than any
+ * frame needs.
+ * Must be used on the FX thread, since rasterizing takes a Canvas snapshot.
+ */
+public class OutlineRasterCache {
+    public static final int MAX_CACHED_RASTERS = 256;
+    public static final double STROKE_MARGIN = 2;
+
+    private final double minDegreeSeparation, maxDegreeSeparation;
+    private final Map<Long, Raster> rasters;
+    private final RasterCacheStats stats;
+    private final SnapshotParameters snapshotParameters;
+    private Canvas scratch;
+
+    private static class Raster {
+        private final BezierOutline outline;
+        private WritableImage image;
+        private long version;
+        private DetailLevel detail;
+
+        private Raster(BezierOutline outline) {
+            this.outline = outline;
+        }
+    }
+
+    public OutlineRasterCache(double minDegreeSeparation,
+                              double maxDegreeSeparation,
+                              RasterCacheStats stats) {
+        this.minDegreeSeparation = minDegreeSeparation;
+        this.maxDegreeSeparation = maxDegreeSeparation;
+        this.stats = stats;
+        rasters = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<Long, Raster> eldest) {
+                return size() > MAX_CACHED_RASTERS;
+            }
+        };
+        snapshotParameters = new SnapshotParameters();
+        snapshotParameters.setFill(Color.TRANSPARENT);
+        scratch = new Canvas(1, 1);
+    }
+
+    /**
+     * The raster of the outline for shapeSeed at the given radii, centered in
+     * the returned image. A null stroke leaves the outline unstroked.
+     */
+    public Image get(long shapeSeed, long version, DetailLevel detail,
+                     double radiusX, double radiusY,
+                     double controlRadiusX, double controlRadiusY,
+                     Paint fill, Paint stroke) {
+        Raster raster = rasters.get(shapeSeed);
+        if (raster != null && raster.version == version
+                && raster.detail == detail) {
+            stats.recordHit();
+            return raster.image;
+        }
+        stats.recordMiss();
+        if (raster == null) {
+            raster = new Raster(new BezierOutline(shapeSeed,
+                    minDegreeSeparation, maxDegreeSeparation));
+            rasters.put(shapeSeed, raster);
+        }
+        raster.image = rasterize(raster.outline,
+                detail.strideFor(raster.outline, radiusX, radiusY),
+                radiusX, radiusY, controlRadiusX, controlRadiusY, fill,
+                detail.isStroked() ? stroke : null, raster.image);
+        raster.version = version;
+        raster.detail = detail;
+        return raster.image;
+    }
+
+    private WritableImage rasterize(BezierOutline outline, int stride,
+                                    double radiusX, double radiusY,
+                                    double controlRadiusX,
+                                    double controlRadiusY, Paint fill,
+                                    Paint stroke, WritableImage reusable) {
+        double width = Math.ceil(2 * controlRadiusX + 2 * STROKE_MARGIN);
+        double height = Math.ceil(2 * controlRadiusY + 2 * STROKE_MARGIN);
+        if (scratch.getWidth() < width || scratch.getHeight() < height)
+            scratch = new Canvas(Math.max(width, scratch.getWidth()),
+                    Math.max(height, scratch.getHeight()));
+        GraphicsContext graphics = scratch.getGraphicsContext2D();
+        graphics.clearRect(0, 0, scratch.getWidth(), scratch.getHeight());
+        graphics.beginPath();
+        outline.trace(graphics, width / 2, height / 2, radiusX, radiusY,
+                controlRadiusX, controlRadiusY, stride);
+        graphics.closePath();
+        graphics.setFill(fill);
+        graphics.fill();
+        if (stroke != null) {
+            graphics.setStroke(stroke);
+            graphics.setLineWidth(1);
+            graphics.stroke();
+        }
+
+        snapshotParameters.setViewport(new Rectangle2D(0, 0, width, height));
+        if (reusable == null || reusable.getWidth() != width
+                || reusable.getHeight() != height)
+            reusable = null;
+        return scratch.snapshot(snapshotParameters, reusable);
+    }
+
+    public RasterCacheStats getStats() {
+        return stats;
+    }
+}
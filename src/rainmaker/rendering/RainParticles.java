@@ -0,0 +1,119 @@
+package rainmaker.rendering;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import rainmaker.Game;
+import rainmaker.simulation.CloudModel;
+import rainmaker.simulation.WorldSnapshot;
+
+import java.util.Random;
+
+/**
+ * Visible rain falling from saturated clouds. Drops are particles held in a
+ * fixed-capacity pool of parallel float arrays (struct of arrays) instead of
+ * one object or Node per drop, and the live drops are kept packed at the
+ * front of the arrays by swapping dead ones with the last live one. All drops
+ * are stroked as a single path, so the number of drops affects neither the
+ * scene graph nor the garbage collector.
+ */
+public class RainParticles {
+    public static final int MAX_DROPS = 4000;
+    public static final double MAX_DROPS_PER_CLOUD_PER_FRAME = 12;
+    public static final double MIN_FALL_SPEED = 6;
+    public static final double MAX_FALL_SPEED = 9;
+    public static final int MIN_DROP_LIFE = 25;
+    public static final int MAX_DROP_LIFE = 60;
+    public static final double EMISSION_WIDTH_FACTOR = 0.8;
+    public static final double STREAK_LENGTH_FACTOR = 1.5;
+    public static final double DROP_WIDTH = 1;
+    public static final Color DROP_COLOR = Color.rgb(160, 190, 255, 0.7);
+
+    private final float[] x = new float[MAX_DROPS];
+    private final float[] y = new float[MAX_DROPS];
+    private final float[] velocityX = new float[MAX_DROPS];
+    private final float[] velocityY = new float[MAX_DROPS];
+    private final short[] life = new short[MAX_DROPS];
+    private final Random random = new Random();
+    private int numDrops;
+
+    /**
+     * Spawns drops under every cloud saturated enough to rain, more of them
+     * the more saturated the cloud is.
+     */
+    public void emitFrom(WorldSnapshot snapshot) {
+        for (int i = 0; i < snapshot.getNumClouds(); i++) {
+            double saturation = snapshot.getCloudSaturation(i);
+            if (saturation < Game.MIN_CLOUD_SATURATION_TO_RAIN)
+                continue;
+            double toEmit = MAX_DROPS_PER_CLOUD_PER_FRAME
+                    * (saturation / Game.HUNDRED_PERCENT);
+            int count = (int) toEmit;
+            if (random.nextDouble() < toEmit - count)
+                count++;
+            emit(snapshot, i, count);
+        }
+    }
+
+    private void emit(WorldSnapshot snapshot, int cloud, int count) {
+        double minorAxisRadius = snapshot.getCloudMinorRadius(cloud);
+        double halfWidth = snapshot.getCloudMajorRadius(cloud)
+                * CloudModel.CONTROL_POINT_STRENGTH * EMISSION_WIDTH_FACTOR;
+        double centerX = snapshot.getCloudX(cloud);
+        double bottomY = snapshot.getCloudY(cloud) - minorAxisRadius / 2;
+        for (int i = 0; i < count && numDrops < MAX_DROPS; i++) {
+            x[numDrops] = (float) (centerX
+                    + (random.nextDouble() * 2 - 1) * halfWidth);
+            y[numDrops] = (float) (bottomY
+                    + random.nextDouble() * minorAxisRadius / 2);
+            velocityX[numDrops] = (float) snapshot.getCloudSpeed(cloud);
+            velocityY[numDrops] = (float) -(MIN_FALL_SPEED
+                    + random.nextDouble() * (MAX_FALL_SPEED - MIN_FALL_SPEED));
+            life[numDrops] = (short) (MIN_DROP_LIFE
+                    + random.nextInt(MAX_DROP_LIFE - MIN_DROP_LIFE));
+            numDrops++;
+        }
+    }
+
+    public void step() {
+        int i = 0;
+        while (i < numDrops) {
+            x[i] += velocityX[i];
+            y[i] += velocityY[i];
+            if (--life[i] <= 0 || y[i] < 0)
+                removeDrop(i);
+            else
+                i++;
+        }
+    }
+
+    private void removeDrop(int index) {
+        int last = --numDrops;
+        x[index] = x[last];
+        y[index] = y[last];
+        velocityX[index] = velocityX[last];
+        velocityY[index] = velocityY[last];
+        life[index] = life[last];
+    }
+
+    public void drawOnto(GraphicsContext graphics) {
+        if (numDrops == 0)
+            return;
+        graphics.setStroke(DROP_COLOR);
+        graphics.setLineWidth(DROP_WIDTH);
+        graphics.beginPath();
+        for (int i = 0; i < numDrops; i++) {
+            graphics.moveTo(x[i], y[i]);
+            graphics.lineTo(x[i] - velocityX[i] * STREAK_LENGTH_FACTOR,
+                    y[i] - velocityY[i] * STREAK_LENGTH_FACTOR);
+        }
+        graphics.stroke();
+    }
+
+    public void clear() {
+        numDrops = 0;
+    }
+
+    public int getNumDrops() {
+        return numDrops;
+    }
+}
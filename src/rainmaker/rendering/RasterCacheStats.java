@@ -0,0 +1,31 @@
+package rainmaker.rendering;
+
+/**
+ * Hit and miss counts for one of a Renderer's image caches (cloud and pond
+ * outlines, or background tiles). Only the FX thread records; other threads
+ * may read.
+ */
+public class RasterCacheStats {
+    private volatile long hits, misses;
+
+    public void recordHit() {
+        hits++;
+    }
+
+    public void recordMiss() {
+        misses++;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
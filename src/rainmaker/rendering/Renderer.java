@@ -0,0 +1,29 @@
+package rainmaker.rendering;
+
+import javafx.scene.Node;
+import rainmaker.gameobjects.Disposable;
+import rainmaker.simulation.WorldSnapshot;
+
+/**
+ * Draws the world from WorldSnapshots on the FX thread. A Renderer owns every
+ * node under getNode() and is chosen once at startup (see RendererType). It
+ * is disposed when its game ends, and not drawn with again after that.
+ */
+public interface Renderer extends Disposable {
+    Node getNode();
+
+    void render(WorldSnapshot snapshot);
+
+    void toggleBounds();
+
+    void toggleDistanceLines();
+
+    RasterCacheStats getCacheStats();
+
+    /**
+     * How many views of the given kind the renderer is holding on to, zero
+     * for kinds it draws without keeping any objects. May be read from any
+     * thread, so may be a frame behind.
+     */
+    int getNumberOf(ViewKind kind);
+}
@@ -0,0 +1,31 @@
+package rainmaker.rendering;
+
+import java.util.function.Function;
+
+/**
+ * The available rendering backends, selected by name at startup (e.g.
+ * --renderer=canvas).
+ */
+public enum RendererType {
+    SCENE_GRAPH("scenegraph", SceneGraphRenderer::new),
+    CANVAS("canvas", CanvasRenderer::new);
+
+    private final String name;
+    private final Function<DetailBudget, Renderer> factory;
+
+    RendererType(String name, Function<DetailBudget, Renderer> factory) {
+        this.name = name;
+        this.factory = factory;
+    }
+
+    public Renderer create(DetailBudget detailBudget) {
+        return factory.apply(detailBudget);
+    }
+
+    public static RendererType fromName(String name) {
+        for (RendererType type : values())
+            if (type.name.equalsIgnoreCase(name))
+                return type;
+        throw new IllegalArgumentException("Unknown renderer: " + name);
+    }
+}
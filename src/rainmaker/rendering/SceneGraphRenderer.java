@@ -0,0 +1,202 @@
+package rainmaker.rendering;
+
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import rainmaker.Game;
+import rainmaker.gameobjects.*;
+import rainmaker.simulation.WorldSnapshot;
+import rainmaker.telemetry.FrameTrace;
+import rainmaker.telemetry.FrameTrace.Span;
+
+/**
+ * One node (or group of nodes) per entity, each kept in step with the latest
+ * snapshot. Bounds and distance lines are debug overlays that follow the
+ * views around, so they are attached whenever a snapshot brings a new view to
+ * life.
+ * The whole world is laid out in one Pane that is slid under the window to
+ * follow the camera, but only entities the camera can see have a live node:
+ * clouds and blimps get one as they come into view and lose it as they leave,
+ * and ponds out of view are hidden.
+ * Only the background is drawn per camera position, onto a window-sized
+ * Canvas, and only when the camera has moved.
+ */
+public class SceneGraphRenderer extends Pane implements Renderer {
+    private Ponds ponds;
+    private Clouds clouds;
+    private Rain rain;
+    private Blimps blimps;
+    private Helipad helipad;
+    private Helicopter helicopter;
+    private BoundsPane bounds;
+    private DistanceLines distanceLines;
+    private RasterCacheStats cacheStats;
+    private Camera camera;
+    private DetailBudget detailBudget;
+    private BackgroundTiles backgroundTiles;
+    private Canvas background;
+    private GraphicsContext backgroundGraphics;
+    private double backgroundLeft, backgroundBottom;
+
+    public SceneGraphRenderer(DetailBudget detailBudget) {
+        this.detailBudget = detailBudget;
+        cacheStats = new RasterCacheStats();
+        camera = new Camera();
+        backgroundTiles = new BackgroundTiles();
+        background = new Canvas(Game.GAME_WIDTH, Game.GAME_HEIGHT);
+        backgroundGraphics = background.getGraphicsContext2D();
+        backgroundLeft = backgroundBottom = Double.NaN;
+        ponds = new Ponds(cacheStats);
+        clouds = new Clouds(cacheStats);
+        rain = new Rain();
+        blimps = new Blimps();
+        helipad = new Helipad(Helipad.HELIPAD_POSITION,
+                Helipad.HELIPAD_DIMENSIONS);
+        helicopter = new Helicopter(Helipad.HELIPAD_POSITION,
+                Game.STARTING_FUEL);
+        initBounds();
+        distanceLines = new DistanceLines();
+        registerSpawnHooks();
+        getChildren().addAll(background, helipad, ponds, rain, clouds, blimps,
+                helicopter, bounds, distanceLines);
+    }
+
+    private void initBounds() {
+        bounds = new BoundsPane();
+        bounds.add(new RectangleBound(helipad, new Rectangle(
+                helipad.getBoundsInParent().getWidth(),
+                helipad.getBoundsInParent().getHeight())));
+        bounds.add(new CircleBound(helicopter,
+                new Circle(Helicopter.ROTOR_LENGTH / 2)));
+    }
+
+    private void registerSpawnHooks() {
+        ponds.setOnSpawn(pond -> bounds.add(new CircleBound(pond,
+                new Circle(pond.getMaxRadius()))));
+        clouds.setOnSpawn(cloud -> {
+            bounds.add(new RectangleBound(cloud,
+                    new Rectangle(cloud.getBoundsInLocal().getWidth(),
+                            cloud.getBoundsInLocal().getHeight())));
+            for (Pond p : ponds)
+                distanceLines.add(new DistanceLine(p, cloud));
+        });
+        blimps.setOnSpawn(blimp -> bounds.add(new RectangleBound(blimp,
+                new Rectangle(blimp.getBoundsInLocal().getWidth(),
+                        blimp.getBoundsInLocal().getHeight()))));
+    }
+
+    @Override
+    public Node getNode() {
+        return this;
+    }
+
+    @Override
+    public void render(WorldSnapshot snapshot) {
+        FrameTrace.begin(Span.CAMERA);
+        followHelicopter(snapshot);
+        cleanupDeadObjects();
+        FrameTrace.end(Span.CAMERA);
+        FrameTrace.begin(Span.HELICOPTER);
+        helicopter.update(snapshot);
+        FrameTrace.end(Span.HELICOPTER);
+        FrameTrace.begin(Span.PONDS);
+        ponds.update(snapshot, detailBudget.getLevel(), camera);
+        FrameTrace.end(Span.PONDS);
+        FrameTrace.begin(Span.CLOUDS);
+        clouds.update(snapshot, detailBudget.getLevel(), camera);
+        FrameTrace.end(Span.CLOUDS);
+        FrameTrace.begin(Span.BLIMPS);
+        blimps.update(snapshot, camera);
+        FrameTrace.end(Span.BLIMPS);
+        FrameTrace.begin(Span.RAIN);
+        rain.update(snapshot, camera);
+        FrameTrace.end(Span.RAIN);
+        FrameTrace.begin(Span.BOUNDS);
+        bounds.update();
+        FrameTrace.end(Span.BOUNDS);
+        FrameTrace.begin(Span.DISTANCE_LINES);
+        distanceLines.update();
+        FrameTrace.end(Span.DISTANCE_LINES);
+    }
+
+    private void followHelicopter(WorldSnapshot snapshot) {
+        camera.follow(snapshot.getHeliX(), snapshot.getHeliY());
+        setTranslateX(-camera.getLeft());
+        setTranslateY(-camera.getBottom());
+        if (camera.getLeft() != backgroundLeft
+                || camera.getBottom() != backgroundBottom)
+            redrawBackground();
+    }
+
+    private void redrawBackground() {
+        backgroundLeft = camera.getLeft();
+        backgroundBottom = camera.getBottom();
+        background.setTranslateX(backgroundLeft);
+        background.setTranslateY(backgroundBottom);
+        backgroundGraphics.save();
+        backgroundGraphics.translate(-backgroundLeft, -backgroundBottom);
+        backgroundTiles.drawOnto(backgroundGraphics, camera);
+        backgroundGraphics.restore();
+    }
+
+    private void cleanupDeadObjects() {
+        markForDeletionBoundsOfDeadObjects();
+        markForDeletionDistanceLinesOfDeadClouds();
+    }
+
+    private void markForDeletionDistanceLinesOfDeadClouds() {
+        for (DistanceLine d : distanceLines)
+            if (d.getDynamicEndpoint() instanceof Cloud cloud
+                    && cloud.isDead())
+                distanceLines.markForDeletion(d);
+    }
+
+    private void markForDeletionBoundsOfDeadObjects() {
+        for (Bound b : bounds) {
+            GameObject gameObject = b.getBoundedObject();
+            if (gameObject instanceof Blimp blimp
+                    && blimp.isDead())
+                bounds.markForDeletion(b);
+            else if (gameObject instanceof Cloud cloud
+                    && cloud.isDead())
+                bounds.markForDeletion(b);
+        }
+    }
+
+    @Override
+    public void toggleBounds() {
+        bounds.toggleVisibility();
+    }
+
+    @Override
+    public void toggleDistanceLines() {
+        distanceLines.toggleVisibility();
+    }
+
+    @Override
+    public void dispose() {
+        blimps.dispose();
+    }
+
+    /**
+     * BezierOvals are node-cached, so a miss here is a frame where a cloud or
+     * pond changed enough for JavaFX to redraw its cached bitmap.
+     */
+    @Override
+    public RasterCacheStats getCacheStats() {
+        return cacheStats;
+    }
+
+    @Override
+    public int getNumberOf(ViewKind kind) {
+        return switch (kind) {
+            case CLOUDS -> clouds.getNumberOf();
+            case BLIMPS -> blimps.getNumberOf();
+            case BOUNDS -> bounds.getNumberOf();
+            case DISTANCE_LINES -> distanceLines.getNumberOf();
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package rainmaker.rendering;
+
+/**
+ * The kinds of per-entity view a Renderer may keep, for counting them.
+ */
+public enum ViewKind {
+    CLOUDS,
+    BLIMPS,
+    BOUNDS,
+    DISTANCE_LINES
+}
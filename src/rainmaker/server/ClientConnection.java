@@ -0,0 +1,170 @@
+package rainmaker.server;
+
+import rainmaker.simulation.Input;
+import rainmaker.simulation.WorldSnapshot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Serves one client of a GameServer, a command per line and a reply line
+ * per command:
+ * <pre>
+ * NEW [seed]          SESSION id
+ * INPUT id input      OK            (input is an Input name, e.g. SEED)
+ * STATE id            STATE id tick outcome heli_x heli_y heading speed
+ *                           fuel heli_state capacity clouds blimps
+ * STATS id            STATS id ticks mean_tick_ms max_tick_ms
+ *                           allocated_bytes allocated_bytes_per_tick
+ *                           held_bytes
+ * LIST                SESSIONS id...
+ * CLOSE id            OK
+ * SPECTATE id         SPECTATING id
+ * QUIT                BYE
+ * </pre>
+ * Anything that can't be carried out gets "ERROR reason" instead. After
+ * SPECTATING the connection turns into a binary SpectatorStream for the
+ * rest of its life; a spectator must wait for that reply before sending its
+ * first acknowledgement. A client
+ * may drive any number of sessions, and a session outlives the connection
+ * that opened it until it is closed.
+ */
+public class ClientConnection implements Runnable {
+    private final Socket socket;
+    private final GameServer server;
+
+    public ClientConnection(Socket socket, GameServer server) {
+        this.socket = socket;
+        this.server = server;
+    }
+
+    @Override
+    public void run() {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(
+                     socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(),
+                     true, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] words = line.trim().split("\\s+");
+                if (words[0].equalsIgnoreCase("QUIT")) {
+                    out.println("BYE");
+                    return;
+                }
+                if (words[0].equalsIgnoreCase("SPECTATE")
+                        && spectate(words, out))
+                    return;
+                out.println(reply(words));
+            }
+        } catch (IOException e) {
+            System.err.println("Client " + socket.getRemoteSocketAddress()
+                    + " dropped: " + e);
+        }
+    }
+
+    /**
+     * Returns whether the connection was handed over to a SpectatorStream,
+     * which only returns once spectating is over.
+     */
+    private boolean spectate(String[] words, PrintWriter out)
+            throws IOException {
+        Session session;
+        try {
+            session = session(words);
+        } catch (IllegalArgumentException e) {
+            out.println("ERROR " + e.getMessage());
+            return false;
+        }
+        out.println("SPECTATING " + session.getId());
+        new SpectatorStream(socket, session).run();
+        return true;
+    }
+
+    private String reply(String[] words) {
+        try {
+            switch (words[0].toUpperCase(Locale.ROOT)) {
+                case "NEW":
+                    return "SESSION " + server.openSession(words.length > 1
+                            ? Long.parseLong(words[1])
+                            : System.nanoTime()).getId();
+                case "INPUT":
+                    session(words).submit(input(argument(words, 2)));
+                    return "OK";
+                case "STATE":
+                    return state(session(words));
+                case "STATS":
+                    return stats(session(words));
+                case "LIST":
+                    return list();
+                case "CLOSE":
+                    return server.closeSession(id(words)) ? "OK"
+                            : "ERROR no session " + id(words);
+                default:
+                    return "ERROR unknown command " + words[0];
+            }
+        } catch (IllegalArgumentException e) {
+            return "ERROR " + e.getMessage();
+        }
+    }
+
+    private Session session(String[] words) {
+        Session session = server.getSession(id(words));
+        if (session == null)
+            throw new IllegalArgumentException("no session " + words[1]);
+        return session;
+    }
+
+    private static Input input(String name) {
+        for (Input input : Input.values())
+            if (input.name().equalsIgnoreCase(name))
+                return input;
+        throw new IllegalArgumentException("unknown input " + name);
+    }
+
+    private static int id(String[] words) {
+        return Integer.parseInt(argument(words, 1));
+    }
+
+    private static String argument(String[] words, int i) {
+        if (words.length <= i)
+            throw new IllegalArgumentException("missing argument to "
+                    + words[0]);
+        return words[i];
+    }
+
+    private static String state(Session session) {
+        synchronized (session) {
+            WorldSnapshot s = session.latest();
+            return String.format(Locale.ROOT,
+                    "STATE %d %d %s %.1f %.1f %.1f %.1f %.0f %s %.3f %d %d",
+                    session.getId(), s.getTick(), s.getOutcome(),
+                    s.getHeliX(), s.getHeliY(), s.getHeliHeading(),
+                    s.getHeliSpeed(), s.getHeliFuel(), s.getHeliState(),
+                    s.getTotalPondCapacity(), s.getNumClouds(),
+                    s.getNumBlimps());
+        }
+    }
+
+    private static String stats(Session session) {
+        SessionStats stats = session.getStats();
+        return String.format(Locale.ROOT,
+                "STATS %d %d %.3f %.3f %d %.0f %d",
+                session.getId(), stats.getTicks(),
+                stats.getMeanTickMillis(), stats.getMaxTickMillis(),
+                stats.getAllocatedBytes(), stats.getAllocatedBytesPerTick(),
+                stats.getHeldBytes());
+    }
+
+    private String list() {
+        StringBuilder reply = new StringBuilder("SESSIONS");
+        for (Session session : server.getSessions())
+            reply.append(' ').append(session.getId());
+        return reply.toString();
+    }
+}
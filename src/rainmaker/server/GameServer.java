@@ -0,0 +1,134 @@
+package rainmaker.server;
+
+import rainmaker.simulation.Tunables;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts many independent headless games in one JVM, each a Session driven
+ * over a line-based text protocol on a loopback socket (see
+ * ClientConnection for the commands). Sessions share a small pool of tick
+ * threads, one tick task per session at the game's fixed rate, so hundreds
+ * of sessions don't need hundreds of threads; each client connection gets
+ * a thread of its own for its blocking reads.
+ * <pre>
+ * java rainmaker.server.GameServer --port=7878 --tick-threads=4
+ * </pre>
+ */
+public class GameServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 7878;
+
+    private final ServerSocket serverSocket;
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService connections;
+    private final Map<Integer, Session> sessions;
+    private final AtomicInteger nextId;
+    private volatile boolean isRunning;
+
+    public GameServer(int port, int tickThreads) throws IOException {
+        serverSocket = new ServerSocket(port, 0,
+                InetAddress.getLoopbackAddress());
+        ticker = Executors.newScheduledThreadPool(tickThreads,
+                namedDaemons("rainmaker-tick-"));
+        connections = Executors.newCachedThreadPool(
+                namedDaemons("rainmaker-client-"));
+        sessions = new ConcurrentHashMap<>();
+        nextId = new AtomicInteger();
+    }
+
+    private static ThreadFactory namedDaemons(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task,
+                    prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        int tickThreads = Runtime.getRuntime().availableProcessors();
+        for (String arg : args)
+            if (arg.startsWith("--port="))
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            else if (arg.startsWith("--tick-threads="))
+                tickThreads = Integer.parseInt(
+                        arg.substring("--tick-threads=".length()));
+        try (GameServer server = new GameServer(port, tickThreads)) {
+            System.out.println("Serving RainMaker sessions on "
+                    + server.serverSocket.getLocalSocketAddress());
+            server.serve();
+        }
+    }
+
+    /**
+     * Accepts clients until closed.
+     */
+    public void serve() throws IOException {
+        isRunning = true;
+        while (isRunning) {
+            Socket client;
+            try {
+                client = serverSocket.accept();
+            } catch (IOException e) {
+                if (!isRunning)
+                    return;
+                throw e;
+            }
+            connections.execute(new ClientConnection(client, this));
+        }
+    }
+
+    public Session openSession(long seed) {
+        Session session = new Session(nextId.incrementAndGet(), seed,
+                new Tunables());
+        sessions.put(session.getId(), session);
+        session.start(ticker);
+        return session;
+    }
+
+    /**
+     * The session with the given id, or null if there is none.
+     */
+    public Session getSession(int id) {
+        return sessions.get(id);
+    }
+
+    public Collection<Session> getSessions() {
+        return sessions.values();
+    }
+
+    public boolean closeSession(int id) {
+        Session session = sessions.remove(id);
+        if (session == null)
+            return false;
+        session.close();
+        return true;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        isRunning = false;
+        serverSocket.close();
+        sessions.values().forEach(Session::close);
+        sessions.clear();
+        ticker.shutdownNow();
+        connections.shutdownNow();
+    }
+}
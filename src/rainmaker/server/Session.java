@@ -0,0 +1,130 @@
+package rainmaker.server;
+
+import rainmaker.simulation.Input;
+import rainmaker.simulation.Outcome;
+import rainmaker.simulation.SaveGame;
+import rainmaker.simulation.SimulationThread;
+import rainmaker.simulation.SnapshotExchange;
+import rainmaker.simulation.Tunables;
+import rainmaker.simulation.World;
+import rainmaker.simulation.WorldSnapshot;
+import rainmaker.telemetry.AllocationCounter;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One hosted game: a World of its own, ticked at the game's fixed rate by a
+ * shared scheduler and publishing a snapshot after every tick the same way
+ * a SimulationThread does. The scheduler never runs two ticks of a session
+ * at once, so the World stays confined to one tick at a time even though
+ * successive ticks may land on different threads. Ticking stops once the
+ * game is won or lost.
+ */
+public class Session {
+    private final int id;
+    private final long seed;
+    private final World world;
+    private final SnapshotExchange<WorldSnapshot> snapshots;
+    private final SessionStats stats;
+    private final SpectatorFeed feed;
+    private WorldSnapshot latest;
+    private volatile ScheduledFuture<?> ticking;
+
+    public Session(int id, long seed, Tunables tunables) {
+        this.id = id;
+        this.seed = seed;
+        world = new World(seed, tunables);
+        snapshots = new SnapshotExchange<>(WorldSnapshot::new);
+        stats = new SessionStats();
+        feed = new SpectatorFeed();
+        publishSnapshot();
+    }
+
+    public void start(ScheduledExecutorService ticker) {
+        ticking = ticker.scheduleAtFixedRate(this::tick,
+                SimulationThread.TICK_PERIOD_NANOS,
+                SimulationThread.TICK_PERIOD_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    private void tick() {
+        if (world.getOutcome() != Outcome.PLAYING) {
+            ticking.cancel(false);
+            return;
+        }
+        long allocatedBefore = AllocationCounter.currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        world.tick();
+        long tickNanos = System.nanoTime() - start;
+        long allocated = AllocationCounter.isAvailable()
+                ? AllocationCounter.currentThreadAllocatedBytes()
+                        - allocatedBefore : -1;
+        publishSnapshot();
+        feed.publish(world);
+        stats.recordTick(tickNanos, allocated, estimateHeldBytes());
+    }
+
+    /**
+     * The world's state as a save would encode it, plus the snapshots kept
+     * for the exchange and for spectators. Object headers and the
+     * references between entities aren't counted, so this is an estimate.
+     */
+    private long estimateHeldBytes() {
+        return SaveGame.maxEncodedSize(world)
+                + SnapshotExchange.NUM_BUFFERS
+                * snapshots.getBackBuffer().getHeldBytes()
+                + feed.getHeldBytes();
+    }
+
+    private void publishSnapshot() {
+        world.writeTo(snapshots.getBackBuffer());
+        snapshots.publish();
+    }
+
+    /**
+     * Safe to call from any thread; applied at the start of the next tick.
+     */
+    public void submit(Input input) {
+        world.submit(input);
+    }
+
+    /**
+     * The newest snapshot. Callers share the exchange's one reader side, so
+     * it is only valid until the next call; hold the session's lock while
+     * reading it.
+     */
+    public synchronized WorldSnapshot latest() {
+        WorldSnapshot fresh = snapshots.acquire();
+        if (fresh != null)
+            latest = fresh;
+        return latest;
+    }
+
+    public void close() {
+        ScheduledFuture<?> ticking = this.ticking;
+        if (ticking != null)
+            ticking.cancel(false);
+    }
+
+    public boolean isTicking() {
+        ScheduledFuture<?> ticking = this.ticking;
+        return ticking != null && !ticking.isDone();
+    }
+
+    public SpectatorFeed getFeed() {
+        return feed;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public SessionStats getStats() {
+        return stats;
+    }
+}
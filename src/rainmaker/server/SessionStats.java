@@ -0,0 +1,77 @@
+package rainmaker.server;
+
+import rainmaker.telemetry.LatencyHistogram;
+
+/**
+ * What one Session's ticks have cost, recorded by whichever tick thread ran
+ * the tick and safe to read from any thread. Allocation is counted on the
+ * ticking thread around the tick itself, so sessions sharing tick threads
+ * are still told apart; it is -1 where the JVM doesn't count allocation.
+ * Allocation is churn, not memory held, so the session's estimate of what
+ * it is holding on to is recorded alongside.
+ */
+public class SessionStats {
+    public static final double SMOOTHING = 0.05;
+
+    private volatile long ticks;
+    private volatile double meanTickNanos;
+    private volatile long maxTickNanos;
+    private volatile long allocatedBytes;
+    private volatile double allocatedBytesPerTick;
+    private volatile long heldBytes;
+
+    public SessionStats() {
+        allocatedBytes = -1;
+        allocatedBytesPerTick = -1;
+    }
+
+    /**
+     * Must only be called by one thread at a time, which a session's
+     * scheduled tick guarantees.
+     */
+    void recordTick(long tickNanos, long tickAllocatedBytes,
+                    long heldBytes) {
+        meanTickNanos = ticks == 0 ? tickNanos
+                : meanTickNanos + SMOOTHING * (tickNanos - meanTickNanos);
+        maxTickNanos = Math.max(maxTickNanos, tickNanos);
+        if (tickAllocatedBytes >= 0) {
+            allocatedBytes = Math.max(0, allocatedBytes) + tickAllocatedBytes;
+            allocatedBytesPerTick = allocatedBytesPerTick < 0
+                    ? tickAllocatedBytes
+                    : allocatedBytesPerTick + SMOOTHING
+                            * (tickAllocatedBytes - allocatedBytesPerTick);
+        }
+        this.heldBytes = heldBytes;
+        ticks++;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public double getMeanTickMillis() {
+        return meanTickNanos / LatencyHistogram.NANOS_PER_MILLI;
+    }
+
+    public double getMaxTickMillis() {
+        return maxTickNanos / LatencyHistogram.NANOS_PER_MILLI;
+    }
+
+    /**
+     * Total bytes allocated by this session's ticks, or -1.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public double getAllocatedBytesPerTick() {
+        return allocatedBytesPerTick;
+    }
+
+    /**
+     * Roughly how many bytes the session holds as of its last tick.
+     */
+    public long getHeldBytes() {
+        return heldBytes;
+    }
+}
@@ -0,0 +1,93 @@
+package rainmaker.server;
+
+import rainmaker.simulation.SnapshotCodec;
+import rainmaker.simulation.WorldSnapshot;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The viewer's end of a SpectatorStream: decodes each frame against the
+ * snapshot it was encoded from and acknowledges it, keeping the last
+ * SpectatorFeed.HISTORY snapshots for later frames to build on.
+ */
+public class SpectatorClient implements AutoCloseable {
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final SnapshotCodec codec;
+    private final WorldSnapshot[] history;
+    private byte[] frame;
+    private long bytesReceived;
+
+    public SpectatorClient(int port, int sessionId) throws IOException {
+        socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        in = new DataInputStream(new BufferedInputStream(
+                socket.getInputStream()));
+        out = new DataOutputStream(socket.getOutputStream());
+        codec = new SnapshotCodec();
+        history = new WorldSnapshot[SpectatorFeed.HISTORY];
+        frame = new byte[SpectatorFeed.INITIAL_FRAME_CAPACITY];
+        out.write(("SPECTATE " + sessionId + "\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        String reply = readLine();
+        if (!reply.startsWith("SPECTATING"))
+            throw new IOException("Could not spectate: " + reply);
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\n') {
+            if (c < 0)
+                throw new IOException("Connection closed");
+            line.append((char) c);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Blocks for the next frame and returns it decoded. The snapshot is
+     * kept as a baseline, so treat it as read-only.
+     */
+    public WorldSnapshot next() throws IOException {
+        int length = in.readInt();
+        if (frame.length < length)
+            frame = new byte[Math.max(length, frame.length * 2)];
+        in.readFully(frame, 0, length);
+        bytesReceived += Integer.BYTES + length;
+
+        ByteBuffer buffer = ByteBuffer.wrap(frame, 0, length);
+        long tick = SnapshotCodec.peekTick(buffer);
+        long baselineTick = SnapshotCodec.peekBaselineTick(buffer);
+        WorldSnapshot baseline = null;
+        if (baselineTick >= 0) {
+            baseline = history[(int) (baselineTick % history.length)];
+            if (baseline == null || baseline.getTick() != baselineTick)
+                throw new IOException("Missing baseline " + baselineTick);
+        }
+        int slot = (int) (tick % history.length);
+        if (history[slot] == null)
+            history[slot] = new WorldSnapshot();
+        codec.decode(buffer, baseline, history[slot]);
+        out.writeLong(tick);
+        out.flush();
+        return history[slot];
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
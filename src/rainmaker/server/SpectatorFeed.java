@@ -0,0 +1,155 @@
+package rainmaker.server;
+
+import rainmaker.simulation.SnapshotCodec;
+import rainmaker.simulation.World;
+import rainmaker.simulation.WorldSnapshot;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The snapshots of one Session that its spectators are sent, as
+ * SnapshotCodec frames. The last HISTORY ticks are kept so each spectator
+ * can be sent a delta against the newest tick it has acknowledged, or a
+ * full frame if that has aged out. Frames for the newest tick are cached by
+ * baseline, and spectators keeping up all acknowledge much the same ticks,
+ * so encoding cost grows with how far apart spectators are rather than how
+ * many there are. Nothing is copied while no one is watching.
+ */
+public class SpectatorFeed {
+    public static final int HISTORY = 64;
+    public static final int CACHED_FRAMES = 4;
+    public static final int INITIAL_FRAME_CAPACITY = 4096;
+
+    private final WorldSnapshot[] history;
+    private final SnapshotCodec codec;
+    private final long[] cachedBaselines;
+    private final Frame[] cachedFrames;
+    private ByteBuffer scratch;
+    private int numCached, nextToEvict;
+    private long newestTick;
+    private int spectators;
+
+    public SpectatorFeed() {
+        history = new WorldSnapshot[HISTORY];
+        codec = new SnapshotCodec();
+        cachedBaselines = new long[CACHED_FRAMES];
+        cachedFrames = new Frame[CACHED_FRAMES];
+        scratch = ByteBuffer.allocate(INITIAL_FRAME_CAPACITY);
+        newestTick = -1;
+    }
+
+    /**
+     * Called by the session after every tick.
+     */
+    synchronized void publish(World world) {
+        if (spectators == 0)
+            return;
+        int slot = (int) (world.getTicks() % HISTORY);
+        if (history[slot] == null)
+            history[slot] = new WorldSnapshot();
+        world.writeTo(history[slot]);
+        newestTick = world.getTicks();
+        numCached = 0;
+        notifyAll();
+    }
+
+    synchronized void join() {
+        spectators++;
+    }
+
+    synchronized void leave() {
+        spectators--;
+    }
+
+    /**
+     * Waits up to timeoutMillis for a tick newer than tick and returns the
+     * newest one, which is tick itself if none came.
+     */
+    synchronized long awaitNewerThan(long tick, long timeoutMillis)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining = timeoutMillis;
+        while (newestTick <= tick && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        return Math.max(tick, newestTick);
+    }
+
+    /**
+     * An encoded tick and the tick it holds, which may be newer than the one
+     * the caller last waited for.
+     */
+    static final class Frame {
+        private final long tick;
+        private final byte[] bytes;
+
+        private Frame(long tick, byte[] bytes) {
+            this.tick = tick;
+            this.bytes = bytes;
+        }
+
+        long getTick() {
+            return tick;
+        }
+
+        /**
+         * Shared between spectators; don't modify it.
+         */
+        byte[] getBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * The newest tick encoded against ackedTick, or as a full frame if that
+     * tick is no longer kept (or is -1).
+     */
+    synchronized Frame frameFor(long ackedTick) {
+        WorldSnapshot baseline = snapshotAt(ackedTick);
+        long key = baseline == null ? -1 : ackedTick;
+        for (int i = 0; i < numCached; i++)
+            if (cachedBaselines[i] == key)
+                return cachedFrames[i];
+        Frame frame = new Frame(newestTick,
+                encode(snapshotAt(newestTick), baseline));
+        int i = numCached < CACHED_FRAMES ? numCached++
+                : nextToEvict++ % CACHED_FRAMES;
+        cachedBaselines[i] = key;
+        cachedFrames[i] = frame;
+        return frame;
+    }
+
+    /**
+     * Roughly how many bytes of snapshots and frames are kept for
+     * spectators.
+     */
+    synchronized long getHeldBytes() {
+        long held = scratch.capacity();
+        for (WorldSnapshot snapshot : history)
+            if (snapshot != null)
+                held += snapshot.getHeldBytes();
+        for (int i = 0; i < numCached; i++)
+            held += cachedFrames[i].getBytes().length;
+        return held;
+    }
+
+    private WorldSnapshot snapshotAt(long tick) {
+        if (tick < 0 || tick > newestTick || newestTick - tick >= HISTORY)
+            return null;
+        WorldSnapshot snapshot = history[(int) (tick % HISTORY)];
+        return snapshot != null && snapshot.getTick() == tick ? snapshot
+                : null;
+    }
+
+    private byte[] encode(WorldSnapshot current, WorldSnapshot baseline) {
+        int size = SnapshotCodec.maxEncodedSize(current, baseline);
+        if (scratch.capacity() < size)
+            scratch = ByteBuffer.allocate(Math.max(size,
+                    scratch.capacity() * 2));
+        scratch.clear();
+        codec.encode(current, baseline, scratch);
+        return Arrays.copyOf(scratch.array(), scratch.position());
+    }
+}
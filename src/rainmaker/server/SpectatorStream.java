@@ -0,0 +1,66 @@
+package rainmaker.server;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * Sends one spectator a frame for every tick of a Session: a 4-byte length
+ * then a SnapshotCodec frame, delta-encoded against the newest tick the
+ * spectator has acknowledged by sending it back as an 8-byte long. Acks are
+ * read as they arrive between frames, so a spectator that never
+ * acknowledges anything simply gets full frames.
+ */
+public class SpectatorStream {
+    public static final long IDLE_CHECK_MILLIS = 500;
+
+    private final Socket socket;
+    private final Session session;
+    private long bytesSent;
+
+    public SpectatorStream(Socket socket, Session session) {
+        this.socket = socket;
+        this.session = session;
+    }
+
+    /**
+     * Streams until the spectator disconnects or the session stops.
+     */
+    public void run() throws IOException {
+        DataInputStream acks = new DataInputStream(socket.getInputStream());
+        DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(socket.getOutputStream()));
+        SpectatorFeed feed = session.getFeed();
+        feed.join();
+        try {
+            long sent = -1, acked = -1;
+            while (!socket.isClosed()) {
+                long tick = feed.awaitNewerThan(sent, IDLE_CHECK_MILLIS);
+                if (tick == sent) {
+                    if (!session.isTicking())
+                        return;
+                    continue;
+                }
+                SpectatorFeed.Frame frame = feed.frameFor(acked);
+                byte[] bytes = frame.getBytes();
+                out.writeInt(bytes.length);
+                out.write(bytes);
+                out.flush();
+                bytesSent += Integer.BYTES + bytes.length;
+                sent = frame.getTick();
+                while (acks.available() >= Long.BYTES)
+                    acked = acks.readLong();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            feed.leave();
+        }
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+}
@@ -0,0 +1,98 @@
+package rainmaker.simulation;
+
+import rainmaker.Game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Saves the World every few seconds without holding up a tick. The
+ * simulation thread only encodes into a reused buffer between ticks, which
+ * takes well under a millisecond; the file write and fsync happen on a
+ * background thread. If the previous write is still going when the next
+ * save is due, that save is skipped rather than waited on. Once a game is
+ * over its save is deleted, so there is nothing left to resume.
+ */
+public class Autosave {
+    private final Path file;
+    private final long periodInTicks;
+    private final ExecutorService writer;
+    private final AtomicBoolean isWriting;
+    private ByteBuffer buffer;
+
+    public Autosave(Path file, double periodInSec) {
+        this.file = file;
+        periodInTicks = Math.max(1,
+                Math.round(periodInSec / Game.SCHEDULER_TICK_IN_SEC));
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rainmaker-autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+        isWriting = new AtomicBoolean();
+        buffer = ByteBuffer.allocate(0);
+    }
+
+    /**
+     * Call on the simulation thread after every tick.
+     */
+    public void afterTick(World world) {
+        if (world.getOutcome() != Outcome.PLAYING) {
+            discard();
+            return;
+        }
+        if (world.getTicks() % periodInTicks != 0 || isWriting.get())
+            return;
+        int size = SaveGame.maxEncodedSize(world);
+        if (buffer.capacity() < size)
+            buffer = ByteBuffer.allocate(Math.max(size,
+                    buffer.capacity() * 2));
+        buffer.clear();
+        SaveGame.encode(world, buffer);
+        buffer.flip();
+        isWriting.set(true);
+        writer.execute(this::write);
+    }
+
+    private void write() {
+        try {
+            SaveGame.write(buffer, file);
+        } catch (IOException e) {
+            System.err.println("Autosave failed: " + e);
+        } finally {
+            isWriting.set(false);
+        }
+    }
+
+    /**
+     * Deletes the save once any write in progress has finished.
+     */
+    public void discard() {
+        writer.execute(() -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Could not delete autosave: " + e);
+            }
+        });
+    }
+
+    /**
+     * The saved World, or null if there is none or it can't be read.
+     */
+    public World resume(Tunables tunables) {
+        if (!Files.exists(file))
+            return null;
+        try {
+            return SaveGame.read(file, tunables);
+        } catch (IOException e) {
+            System.err.println("Could not resume autosave: " + e);
+            return null;
+        }
+    }
+}
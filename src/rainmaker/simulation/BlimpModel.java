@@ -0,0 +1,58 @@
+package rainmaker.simulation;
+
+public class BlimpModel extends TransientModel {
+    public static final double BODY_WIDTH = 200;
+    public static final double BODY_HEIGHT = 68;
+
+    private BlimpState state;
+    private double fuel;
+
+    public BlimpModel(int id, double x, double y, double speed,
+                      double speedOffset, double fuel) {
+        super(id, x, y, BODY_WIDTH, speed, speedOffset);
+        this.fuel = fuel;
+        state = BlimpState.CREATED;
+    }
+
+    @Override
+    public void update() {
+        super.update();
+        state = state.update(this);
+    }
+
+    /**
+     * Gives up to maxFuel of the blimp's fuel, if it is in view.
+     */
+    public double extractFuel(double maxFuel) {
+        return state.extractFuel(this, maxFuel);
+    }
+
+    void setFuel(double fuel) {
+        this.fuel = fuel;
+    }
+
+    void setState(BlimpState state) {
+        this.state = state;
+    }
+
+    @Override
+    public boolean isDead() {
+        return state == BlimpState.DEAD;
+    }
+
+    public boolean isInView() {
+        return state == BlimpState.IN_VIEW;
+    }
+
+    public BlimpState getState() {
+        return state;
+    }
+
+    public double getFuel() {
+        return fuel;
+    }
+
+    public double getHeight() {
+        return BODY_HEIGHT;
+    }
+}
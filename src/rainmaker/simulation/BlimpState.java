@@ -0,0 +1,47 @@
+package rainmaker.simulation;
+
+import rainmaker.Game;
+
+/**
+ * Stateless behaviors for a BlimpModel, which keeps its own fuel.
+ */
+public enum BlimpState {
+    CREATED {
+        @Override
+        BlimpState update(BlimpModel blimp) {
+            if (blimp.getX() + (blimp.getWidth() / 2) > 0)
+                return IN_VIEW;
+            return this;
+        }
+    },
+    IN_VIEW {
+        @Override
+        BlimpState update(BlimpModel blimp) {
+            if (blimp.getX() - (blimp.getWidth() / 2) > Game.WORLD_WIDTH) {
+                blimp.setFuel(0);
+                return DEAD;
+            }
+            return this;
+        }
+
+        @Override
+        double extractFuel(BlimpModel blimp, double maxFuel) {
+            double extracted = Math.min(blimp.getFuel(), maxFuel);
+            blimp.setFuel(blimp.getFuel() - extracted);
+            return extracted;
+        }
+    },
+    DEAD {
+        @Override
+        BlimpState update(BlimpModel blimp) {
+            return this;
+        }
+    };
+
+    abstract BlimpState update(BlimpModel blimp);
+
+    double extractFuel(BlimpModel blimp, double maxFuel) {
+        /* impossible */
+        return 0;
+    }
+}
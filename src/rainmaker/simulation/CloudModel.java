@@ -0,0 +1,89 @@
+package rainmaker.simulation;
+
+/**
+ * Simulation side of a Cloud. The outline drawn for it is generated from
+ * shapeSeed, so the seed is all that needs to be shared for every view of the
+ * cloud to look the same.
+ */
+public class CloudModel extends TransientModel {
+    public static final double CONTROL_POINT_STRENGTH = 1.2;
+
+    private final double majorAxisRadius, minorAxisRadius;
+    private final long shapeSeed;
+    private CloudState state;
+    private double saturation;
+    private boolean isRaining;
+
+    public CloudModel(int id, double x, double y, double majorAxisRadius,
+                      double minorAxisRadius, double speed,
+                      double speedOffset, long shapeSeed) {
+        super(id, x, y, 2 * majorAxisRadius * CONTROL_POINT_STRENGTH, speed,
+                speedOffset);
+        this.majorAxisRadius = majorAxisRadius;
+        this.minorAxisRadius = minorAxisRadius;
+        this.shapeSeed = shapeSeed;
+        state = CloudState.CREATED;
+    }
+
+    @Override
+    public void update() {
+        super.update();
+        state = state.update(this);
+        if (isDead())
+            isRaining = false;
+    }
+
+    public void seed() {
+        state.seed(this);
+    }
+
+    public boolean tryToRain() {
+        isRaining = state.tryToRain(this);
+        return isRaining;
+    }
+
+    void setSaturation(double saturation) {
+        this.saturation = saturation;
+    }
+
+    void setState(CloudState state) {
+        this.state = state;
+    }
+
+    void setRaining(boolean isRaining) {
+        this.isRaining = isRaining;
+    }
+
+    @Override
+    public boolean isDead() {
+        return state == CloudState.DEAD;
+    }
+
+    public CloudState getState() {
+        return state;
+    }
+
+    public boolean isRaining() {
+        return isRaining;
+    }
+
+    public double getSaturation() {
+        return saturation;
+    }
+
+    public double getHeight() {
+        return 2 * minorAxisRadius * CONTROL_POINT_STRENGTH;
+    }
+
+    public double getMajorAxisRadius() {
+        return majorAxisRadius;
+    }
+
+    public double getMinorAxisRadius() {
+        return minorAxisRadius;
+    }
+
+    public long getShapeSeed() {
+        return shapeSeed;
+    }
+}
@@ -0,0 +1,59 @@
+package rainmaker.simulation;
+
+import rainmaker.Game;
+
+/**
+ * Stateless behaviors for a CloudModel, which keeps its own saturation.
+ */
+public enum CloudState {
+    CREATED {
+        @Override
+        CloudState update(CloudModel cloud) {
+            if (cloud.getX() + (cloud.getWidth() / 2) > 0)
+                return IN_VIEW;
+            return this;
+        }
+    },
+    IN_VIEW {
+        @Override
+        CloudState update(CloudModel cloud) {
+            if (cloud.getX() - (cloud.getWidth() / 2) > Game.WORLD_WIDTH) {
+                cloud.setSaturation(0);
+                return DEAD;
+            }
+            return this;
+        }
+
+        @Override
+        void seed(CloudModel cloud) {
+            if (cloud.getSaturation() < Game.HUNDRED_PERCENT)
+                cloud.setSaturation(cloud.getSaturation() + 1);
+        }
+
+        @Override
+        boolean tryToRain(CloudModel cloud) {
+            if (cloud.getSaturation() >= Game.MIN_CLOUD_SATURATION_TO_RAIN) {
+                cloud.setSaturation(cloud.getSaturation() - 1);
+                return true;
+            }
+            return false;
+        }
+    },
+    DEAD {
+        @Override
+        CloudState update(CloudModel cloud) {
+            return this;
+        }
+    };
+
+    abstract CloudState update(CloudModel cloud);
+
+    void seed(CloudModel cloud) {
+        /* impossible */
+    }
+
+    boolean tryToRain(CloudModel cloud) {
+        /* impossible */
+        return false;
+    }
+}
@@ -0,0 +1,120 @@
+package rainmaker.simulation;
+
+import rainmaker.Game;
+
+/**
+ * The helicopter's ignition cycle as stateless behaviors over the
+ * HelicopterModel's own fuel, heading and speed. Also published in snapshots
+ * so the UI can follow the cycle for engine audio.
+ */
+public enum HeliState {
+    OFF {
+        @Override
+        HeliState toggleIgnition(HelicopterModel helicopter) {
+            helicopter.spinUp();
+            return STARTING;
+        }
+    },
+    STARTING {
+        @Override
+        HeliState toggleIgnition(HelicopterModel helicopter) {
+            helicopter.spinDown();
+            return STOPPING;
+        }
+
+        @Override
+        HeliState update(HelicopterModel helicopter) {
+            helicopter.burnFuel(helicopter.getBaseFuelConsumption());
+            if (helicopter.isRotorUpToSpeed())
+                return READY;
+            return this;
+        }
+    },
+    READY {
+        @Override
+        HeliState toggleIgnition(HelicopterModel helicopter) {
+            helicopter.setSpeed(0);
+            helicopter.spinDown();
+            return STOPPING;
+        }
+
+        @Override
+        HeliState update(HelicopterModel helicopter) {
+            updatePosition(helicopter);
+            helicopter.burnFuel(Math.abs(helicopter.getSpeed())
+                    + helicopter.getBaseFuelConsumption());
+            return this;
+        }
+
+        private void updatePosition(HelicopterModel helicopter) {
+            helicopter.moveTo(
+                    helicopter.getX() + (helicopter.getDirectionX()
+                            * helicopter.getSpeed()),
+                    helicopter.getY() + (helicopter.getDirectionY()
+                            * helicopter.getSpeed()));
+        }
+
+        @Override
+        void increaseSpeed(HelicopterModel helicopter) {
+            if (helicopter.getSpeed() < Game.HELICOPTER_MAX_SPEED)
+                helicopter.setSpeed(helicopter.getSpeed()
+                        + HelicopterModel.SPEED_ADJUSTMENT);
+        }
+
+        @Override
+        void decreaseSpeed(HelicopterModel helicopter) {
+            if (helicopter.getSpeed() > Game.HELICOPTER_MIN_SPEED)
+                helicopter.setSpeed(helicopter.getSpeed()
+                        - HelicopterModel.SPEED_ADJUSTMENT);
+        }
+
+        @Override
+        void turnLeft(HelicopterModel helicopter) {
+            if (Math.abs(helicopter.getSpeed()) > Game.EFFECTIVELY_ZERO)
+                helicopter.turnBy(-HelicopterModel.HEADING_ADJUSTMENT);
+        }
+
+        @Override
+        void turnRight(HelicopterModel helicopter) {
+            if (Math.abs(helicopter.getSpeed()) > Game.EFFECTIVELY_ZERO)
+                helicopter.turnBy(HelicopterModel.HEADING_ADJUSTMENT);
+        }
+
+        @Override
+        void refuelBy(HelicopterModel helicopter, double fuel) {
+            helicopter.addFuel(fuel);
+        }
+    },
+    STOPPING {
+        @Override
+        HeliState toggleIgnition(HelicopterModel helicopter) {
+            helicopter.spinUp();
+            return STARTING;
+        }
+
+        @Override
+        HeliState update(HelicopterModel helicopter) {
+            if (!helicopter.isRotorRotating())
+                return OFF;
+            return this;
+        }
+    };
+
+    abstract HeliState toggleIgnition(HelicopterModel helicopter);
+
+    HeliState update(HelicopterModel helicopter) {
+        return this;
+    }
+
+    void increaseSpeed(HelicopterModel helicopter) { /* impossible */ }
+
+    void decreaseSpeed(HelicopterModel helicopter) { /* impossible */ }
+
+    void turnLeft(HelicopterModel helicopter) { /* impossible */ }
+
+    void turnRight(HelicopterModel helicopter) { /* impossible */ }
+
+    void refuelBy(HelicopterModel helicopter, double fuel) {
+        /* impossible */
+    }
+}
@@ -0,0 +1,220 @@
+package rainmaker.simulation;
+
+import rainmaker.Game;
+
+/**
+ * Simulation side of the Helicopter, including the rotor's spin-up and
+ * spin-down since the ignition cycle waits on it.
+ */
+public class HelicopterModel {
+    public static final int ROTOR_LENGTH = 80;
+    public static final double SPEED_ADJUSTMENT = 0.1;
+    public static final double HEADING_ADJUSTMENT = 15;
+    public static final double ROTOR_ACCELERATION = 0.075;
+    public static final int ROTOR_MAX_SPEED = 15;
+    public static final int ROTOR_MIN_SPEED = 0;
+
+    private double x, y;
+    private double fuel, heading, speed;
+    private double directionX, directionY;
+    private double rotorSpeed;
+    private double baseFuelConsumption;
+    private boolean isRotorSpinning;
+    private HeliState state;
+    private Runnable onEngineOff, onFuelEmpty;
+
+    public HelicopterModel(double x, double y, double fuel) {
+        this.x = x;
+        this.y = y;
+        this.fuel = fuel;
+        baseFuelConsumption = Game.BASE_FUEL_CONSUMPTION_RATE;
+        turnBy(0);
+        state = HeliState.OFF;
+        onEngineOff = () -> { };
+        onFuelEmpty = () -> { };
+    }
+
+    /**
+     * Runs whenever the engine goes from running to off or stopping, the
+     * only time the helicopter can newly satisfy the win conditions.
+     */
+    public void setOnEngineOff(Runnable listener) {
+        onEngineOff = listener;
+    }
+
+    public void setOnFuelEmpty(Runnable listener) {
+        onFuelEmpty = listener;
+    }
+
+    /**
+     * Fuel burned every tick the engine runs, on top of what speed burns.
+     */
+    public void setBaseFuelConsumption(double baseFuelConsumption) {
+        this.baseFuelConsumption = baseFuelConsumption;
+    }
+
+    public void update() {
+        updateRotorSpeed();
+        changeStateTo(state.update(this));
+    }
+
+    private void changeStateTo(HeliState next) {
+        boolean wasEngineOff = isEngineOff();
+        state = next;
+        if (!wasEngineOff && isEngineOff())
+            onEngineOff.run();
+    }
+
+    private void updateRotorSpeed() {
+        if (isRotorSpinning && rotorSpeed < ROTOR_MAX_SPEED)
+            rotorSpeed += ROTOR_ACCELERATION;
+        else if (!isRotorSpinning && rotorSpeed > ROTOR_MIN_SPEED)
+            rotorSpeed = (rotorSpeed - ROTOR_ACCELERATION >= 0) ?
+                    (rotorSpeed - ROTOR_ACCELERATION) : 0;
+    }
+
+    public void toggleIgnition() {
+        changeStateTo(state.toggleIgnition(this));
+    }
+
+    public void turnLeft() {
+        state.turnLeft(this);
+    }
+
+    public void turnRight() {
+        state.turnRight(this);
+    }
+
+    public void increaseSpeed() {
+        state.increaseSpeed(this);
+    }
+
+    public void decreaseSpeed() {
+        state.decreaseSpeed(this);
+    }
+
+    public void refuelBy(double fuel) {
+        state.refuelBy(this, fuel);
+    }
+
+    void moveTo(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    void burnFuel(double amount) {
+        if (fuel <= 0)
+            return;
+        double remainingFuel = fuel - amount;
+        fuel = remainingFuel > 0 ? remainingFuel : 0;
+        if (fuel == 0)
+            onFuelEmpty.run();
+    }
+
+    void addFuel(double amount) {
+        fuel += amount;
+    }
+
+    void setSpeed(double speed) {
+        this.speed = speed;
+    }
+
+    /**
+     * Heading only changes a step at a time, so the unit vector it points
+     * along is worked out here rather than on every move. Heading is measured
+     * clockwise from straight up.
+     */
+    void turnBy(double degrees) {
+        heading += degrees;
+        directionX = Trig.sin(heading);
+        directionY = Trig.cos(heading);
+    }
+
+    /**
+     * Puts back the state a save holds beyond position, heading and speed,
+     * without running any listener.
+     */
+    void restore(double fuel, double rotorSpeed, boolean isRotorSpinning,
+                 HeliState state) {
+        this.fuel = fuel;
+        this.rotorSpeed = rotorSpeed;
+        this.isRotorSpinning = isRotorSpinning;
+        this.state = state;
+    }
+
+    void spinUp() {
+        isRotorSpinning = true;
+    }
+
+    void spinDown() {
+        isRotorSpinning = false;
+    }
+
+    boolean isRotorSpinning() {
+        return isRotorSpinning;
+    }
+
+    boolean isRotorUpToSpeed() {
+        return rotorSpeed >= ROTOR_MAX_SPEED;
+    }
+
+    boolean isRotorRotating() {
+        return Math.abs(rotorSpeed) > Game.EFFECTIVELY_ZERO;
+    }
+
+    public boolean hasFuel() {
+        return fuel > 0;
+    }
+
+    public boolean isEngineOff() {
+        return state == HeliState.OFF || state == HeliState.STOPPING;
+    }
+
+    public boolean isStationary() {
+        return Math.abs(speed) < Game.EFFECTIVELY_ZERO;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getBoundRadius() {
+        return ROTOR_LENGTH / 2.0;
+    }
+
+    public double getRemainingFuel() {
+        return fuel;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public double getHeading() {
+        return heading;
+    }
+
+    double getDirectionX() {
+        return directionX;
+    }
+
+    double getDirectionY() {
+        return directionY;
+    }
+
+    double getBaseFuelConsumption() {
+        return baseFuelConsumption;
+    }
+
+    public double getRotorSpeed() {
+        return rotorSpeed;
+    }
+
+    public HeliState getState() {
+        return state;
+    }
+}
@@ -0,0 +1,19 @@
+package rainmaker.simulation;
+
+/**
+ * Player commands handed from the UI thread to the simulation. Each constant
+ * also has a bit so the inputs applied during a tick can be recorded as a
+ * single int.
+ */
+public enum Input {
+    TURN_LEFT,
+    TURN_RIGHT,
+    SPEED_UP,
+    SLOW_DOWN,
+    SEED,
+    IGNITION;
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+}
@@ -0,0 +1,7 @@
+package rainmaker.simulation;
+
+public enum Outcome {
+    PLAYING,
+    WON,
+    LOST
+}
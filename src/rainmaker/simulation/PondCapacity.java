@@ -0,0 +1,47 @@
+package rainmaker.simulation;
+
+import rainmaker.Game;
+
+/**
+ * Running total of how full all the ponds are. Each PondModel reports the
+ * change in its own percentage as it fills, so the total is never summed, and
+ * the listener is told once when the total first reaches the capacity needed
+ * to win.
+ */
+public class PondCapacity {
+    private final double capacityToWin;
+    private int totalPercentFull;
+    private Runnable onCapacityToWinReached;
+
+    public PondCapacity(double capacityToWin) {
+        this.capacityToWin = capacityToWin;
+        onCapacityToWinReached = () -> { };
+    }
+
+    public void setOnCapacityToWinReached(Runnable listener) {
+        onCapacityToWinReached = listener;
+    }
+
+    void add(int percentFullChange) {
+        boolean wasReached = hasReachedCapacityToWin();
+        totalPercentFull += percentFullChange;
+        if (!wasReached && hasReachedCapacityToWin())
+            onCapacityToWinReached.run();
+    }
+
+    public boolean hasReachedCapacityToWin() {
+        return getTotal() >= capacityToWin;
+    }
+
+    public double getCapacityToWin() {
+        return capacityToWin;
+    }
+
+    /**
+     * Sum of every pond's fill as a fraction, e.g. three half-full ponds give
+     * 1.5.
+     */
+    public double getTotal() {
+        return ((double) totalPercentFull) / Game.HUNDRED_PERCENT;
+    }
+}
@@ -0,0 +1,86 @@
+package rainmaker.simulation;
+
+import rainmaker.Game;
+
+public class PondModel {
+    public static final double ONE_PERCENT = 0.01;
+
+    private final int id;
+    private final double x, y;
+    private final double maxRadius, maxArea;
+    private final long shapeSeed;
+    private final PondCapacity capacity;
+    private double currentRadius, currentArea;
+    private int percentFull;
+
+    public PondModel(int id, double x, double y, double maxRadius,
+                     double currentRadius, long shapeSeed,
+                     PondCapacity capacity) {
+        this.id = id;
+        this.x = x;
+        this.y = y;
+        this.maxRadius = maxRadius;
+        this.shapeSeed = shapeSeed;
+        this.capacity = capacity;
+        maxArea = Math.PI * Math.pow(maxRadius, 2);
+        this.currentRadius = currentRadius;
+        currentArea = Math.PI * Math.pow(currentRadius, 2);
+        percentFull = (int) ((currentArea / maxArea) * Game.HUNDRED_PERCENT);
+        capacity.add(percentFull);
+    }
+
+    public void fillByIncrement(double multiplier) {
+        currentArea += (maxArea * ONE_PERCENT) * multiplier;
+        if (currentArea > maxArea)
+            currentArea = maxArea;
+
+        currentRadius = Math.sqrt((currentArea / Math.PI));
+        int oldPercentFull = percentFull;
+        percentFull = (int) (currentArea / maxArea * Game.HUNDRED_PERCENT);
+        if (percentFull != oldPercentFull)
+            capacity.add(percentFull - oldPercentFull);
+    }
+
+    /**
+     * Puts back a saved area exactly, since recomputing it from the radius
+     * can be off by a rounding error.
+     */
+    void restoreArea(double currentArea) {
+        this.currentArea = currentArea;
+        int oldPercentFull = percentFull;
+        percentFull = (int) (currentArea / maxArea * Game.HUNDRED_PERCENT);
+        capacity.add(percentFull - oldPercentFull);
+    }
+
+    double getCurrentArea() {
+        return currentArea;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getMaxRadius() {
+        return maxRadius;
+    }
+
+    public double getCurrentRadius() {
+        return currentRadius;
+    }
+
+    public int getPercentFull() {
+        return percentFull;
+    }
+
+    public long getShapeSeed() {
+        return shapeSeed;
+    }
+}
@@ -0,0 +1,438 @@
+package rainmaker.simulation;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Versioned binary saves of a whole World: the random generator's state, the
+ * wind field, every pond, cloud and blimp (dormant ones included) with their
+ * states, the helicopter, the counters, and the timing wheel slot by slot so
+ * timed events come due on the same ticks, in the same order, as if the game
+ * had never stopped. A cloud's outline is rebuilt from its shape seed and
+ * radii, so those are all that is kept of it.
+ * <pre>
+ * save:   magic, version, ticks, next id, outcome, outcome stale,
+ *         seedings, refuelings, thunder claps,
+ *         random state, has spare gaussian, spare gaussian,
+ *         capacity to win, wind columns, rows and field,
+ *         helicopter, ponds, clouds, blimps, dormant objects,
+ *         current tick, events
+ * </pre>
+ * Every field is fixed-size and big-endian. Encoding is a few dozen bytes an
+ * entity plus the wind grid, quick enough for the simulation thread to do
+ * between ticks and leave the file writing to another thread.
+ * Pending inputs are not saved, and a restored World reads every tunable but
+ * capacity to win, fuel consumption and rain frequency (which are saved)
+ * from the Tunables it is given.
+ */
+public class SaveGame {
+    public static final int MAGIC = 0x524D4B53;
+    public static final short VERSION = 1;
+    public static final int HEADER_BYTES = 4 + 2 + 8 + 4 + 1 + 1 + 3 * 4
+            + 8 + 1 + 8 + 8 + 2 * 4;
+    public static final int HELICOPTER_BYTES = 7 * 8 + 1 + 1;
+    public static final int POND_BYTES = 4 + 5 * 8 + 8;
+    public static final int TRANSIENT_BYTES = 4 + 5 * 8 + 1;
+    public static final int CLOUD_BYTES = TRANSIENT_BYTES + 2 * 8 + 8 + 1
+            + 8 + 1;
+    public static final int BLIMP_BYTES = TRANSIENT_BYTES + 1 + 8;
+    public static final int DORMANT_BYTES = 1 + 8
+            + Math.max(CLOUD_BYTES, BLIMP_BYTES);
+    public static final int EVENT_BYTES = 1 + 1 + 1 + 4 + 8 + 8;
+
+    private static final byte CLOUD = 0, BLIMP = 1;
+    private static final byte WAKE = 3;
+    private static final Outcome[] OUTCOMES = Outcome.values();
+    private static final HeliState[] HELI_STATES = HeliState.values();
+    private static final TransientState[] TRANSIENT_STATES =
+            TransientState.values();
+    private static final CloudState[] CLOUD_STATES = CloudState.values();
+    private static final BlimpState[] BLIMP_STATES = BlimpState.values();
+
+    private SaveGame() {
+    }
+
+    /**
+     * The most bytes encoding world can take.
+     */
+    public static int maxEncodedSize(World world) {
+        return HEADER_BYTES + world.getWind().getEncodedSize()
+                + HELICOPTER_BYTES
+                + 4 + world.getPonds().size() * POND_BYTES
+                + 4 + world.getClouds().size() * CLOUD_BYTES
+                + 4 + world.getBlimps().size() * BLIMP_BYTES
+                + 4 + world.getNumDormant() * DORMANT_BYTES
+                + 8 + 4 + world.getScheduler().getNumScheduled()
+                * EVENT_BYTES;
+    }
+
+    /**
+     * Writes world at out's position, which must have at least
+     * maxEncodedSize() bytes remaining. Call on the thread ticking world,
+     * between ticks.
+     */
+    public static void encode(World world, ByteBuffer out) {
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+        out.putLong(world.getTicks());
+        out.putInt(world.getNextId());
+        out.put((byte) world.getOutcome().ordinal());
+        putBoolean(out, world.isOutcomeStale());
+        out.putInt(world.getSeedings());
+        out.putInt(world.getRefuelings());
+        out.putInt(world.getThunderClaps());
+        SaveableRandom random = world.getRandom();
+        out.putLong(random.getState());
+        putBoolean(out, random.hasNextNextGaussian());
+        out.putDouble(random.getNextNextGaussian());
+        out.putDouble(world.getPondCapacity().getCapacityToWin());
+        WindField wind = world.getWind();
+        out.putInt(wind.getColumns());
+        out.putInt(wind.getRows());
+        wind.writeTo(out);
+        encodeHelicopter(world.getHelicopter(), out);
+
+        out.putInt(world.getPonds().size());
+        for (PondModel p : world.getPonds())
+            encodePond(p, out);
+        out.putInt(world.getClouds().size());
+        for (CloudModel c : world.getClouds())
+            encodeCloud(c, out);
+        out.putInt(world.getBlimps().size());
+        for (BlimpModel b : world.getBlimps())
+            encodeBlimp(b, out);
+        out.putInt(world.getDormant().size());
+        for (World.Dormant d : world.getDormant()) {
+            out.putLong(d.getSince());
+            if (d.getObject() instanceof CloudModel c) {
+                out.put(CLOUD);
+                encodeCloud(c, out);
+            } else {
+                out.put(BLIMP);
+                encodeBlimp((BlimpModel) d.getObject(), out);
+            }
+        }
+        encodeSchedule(world, out);
+    }
+
+    private static void encodeHelicopter(HelicopterModel heli,
+                                         ByteBuffer out) {
+        out.putDouble(heli.getX());
+        out.putDouble(heli.getY());
+        out.putDouble(heli.getRemainingFuel());
+        out.putDouble(heli.getHeading());
+        out.putDouble(heli.getSpeed());
+        out.putDouble(heli.getRotorSpeed());
+        out.putDouble(heli.getBaseFuelConsumption());
+        putBoolean(out, heli.isRotorSpinning());
+        out.put((byte) heli.getState().ordinal());
+    }
+
+    private static void encodePond(PondModel pond, ByteBuffer out) {
+        out.putInt(pond.getId());
+        out.putDouble(pond.getX());
+        out.putDouble(pond.getY());
+        out.putDouble(pond.getMaxRadius());
+        out.putDouble(pond.getCurrentRadius());
+        out.putDouble(pond.getCurrentArea());
+        out.putLong(pond.getShapeSeed());
+    }
+
+    private static void encodeTransient(TransientModel object,
+                                        ByteBuffer out) {
+        out.putInt(object.getId());
+        out.putDouble(object.getX());
+        out.putDouble(object.getY());
+        out.putDouble(object.getSpeed());
+        out.putDouble(object.getDrift());
+        out.putDouble(object.getSpeedOffset());
+        out.put((byte) object.getTransientState().ordinal());
+    }
+
+    private static void encodeCloud(CloudModel cloud, ByteBuffer out) {
+        encodeTransient(cloud, out);
+        out.putDouble(cloud.getMajorAxisRadius());
+        out.putDouble(cloud.getMinorAxisRadius());
+        out.putLong(cloud.getShapeSeed());
+        out.put((byte) cloud.getState().ordinal());
+        out.putDouble(cloud.getSaturation());
+        putBoolean(out, cloud.isRaining());
+    }
+
+    private static void encodeBlimp(BlimpModel blimp, ByteBuffer out) {
+        encodeTransient(blimp, out);
+        out.put((byte) blimp.getState().ordinal());
+        out.putDouble(blimp.getFuel());
+    }
+
+    /**
+     * Walks every slot of every level in order, so appending the events
+     * back in the same order rebuilds each slot's list as it was.
+     */
+    private static void encodeSchedule(World world, ByteBuffer out) {
+        TimingWheel scheduler = world.getScheduler();
+        out.putLong(scheduler.getCurrentTick());
+        int countAt = out.position();
+        out.putInt(0);
+        int count = 0;
+        for (int level = 0; level < TimingWheel.LEVELS; level++)
+            for (int index = 0; index < TimingWheel.SLOTS_PER_LEVEL;
+                 index++)
+                for (ScheduledEvent e = scheduler.getSlot(level, index);
+                     e != null; e = e.next)
+                    if (!e.isCancelled()) {
+                        encodeEvent(world, e, level, index, out);
+                        count++;
+                    }
+        out.putInt(countAt, count);
+    }
+
+    private static void encodeEvent(World world, ScheduledEvent event,
+                                    int level, int index, ByteBuffer out) {
+        out.put((byte) level);
+        out.put((byte) index);
+        int dormantIndex = world.getDormant().indexOf(event.getAction());
+        if (dormantIndex >= 0) {
+            out.put(WAKE);
+            out.putInt(dormantIndex);
+        } else {
+            out.put(timedActionIndex(world, event.getAction()));
+            out.putInt(-1);
+        }
+        out.putLong(event.getDeadline());
+        out.putLong(event.getPeriodInTicks());
+    }
+
+    private static byte timedActionIndex(World world, Runnable action) {
+        Runnable[] actions = world.getTimedActions();
+        for (byte i = 0; i < actions.length; i++)
+            if (actions[i] == action)
+                return i;
+        throw new IllegalStateException("Scheduled event isn't one a save "
+                + "can hold");
+    }
+
+    /**
+     * Encodes and writes world to file in one go. Call on the thread ticking
+     * world, between ticks.
+     */
+    public static void write(World world, Path file) throws IOException {
+        ByteBuffer out = ByteBuffer.allocate(maxEncodedSize(world));
+        encode(world, out);
+        write(out.flip(), file);
+    }
+
+    /**
+     * Writes the remaining bytes of an encoded save to file. They go to a
+     * temporary file that is forced to disk and then moved over file, so a
+     * crash mid-write leaves the previous save intact. Safe to call from any
+     * thread.
+     */
+    public static void write(ByteBuffer encoded, Path file)
+            throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (encoded.hasRemaining())
+                channel.write(encoded);
+            channel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static World read(Path file, Tunables tunables)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IOException("Save is too large");
+            ByteBuffer in = ByteBuffer.allocate((int) size);
+            while (in.hasRemaining())
+                if (channel.read(in) < 0)
+                    throw new IOException("Save is truncated");
+            return decode(in.flip(), tunables);
+        }
+    }
+
+    /**
+     * Reads a World back from in's position, using tunables for everything
+     * the save doesn't hold.
+     */
+    public static World decode(ByteBuffer in, Tunables tunables)
+            throws IOException {
+        try {
+            return decodeWorld(in, tunables);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Save is truncated", e);
+        }
+    }
+
+    private static World decodeWorld(ByteBuffer in, Tunables tunables)
+            throws IOException {
+        if (in.getInt() != MAGIC)
+            throw new IOException("Not a save");
+        short version = in.getShort();
+        if (version != VERSION)
+            throw new IOException("Unsupported save version " + version);
+        long ticks = in.getLong();
+        int nextId = in.getInt();
+        Outcome outcome = at(OUTCOMES, in.get());
+        boolean isOutcomeStale = getBoolean(in);
+        int seedings = in.getInt();
+        int refuelings = in.getInt();
+        int thunderClaps = in.getInt();
+        long randomState = in.getLong();
+        boolean hasNextNextGaussian = getBoolean(in);
+        double nextNextGaussian = in.getDouble();
+
+        World world = new World(0, tunables, in.getDouble());
+        world.getRandom().restore(randomState, hasNextNextGaussian,
+                nextNextGaussian);
+        WindField wind = world.getWind();
+        if (in.getInt() != wind.getColumns() || in.getInt() != wind.getRows())
+            throw new IOException("Save has a different wind grid");
+        wind.readFrom(in);
+        decodeHelicopter(world.getHelicopter(), in);
+
+        for (int i = count(in); i > 0; i--)
+            world.addPond(decodePond(world.getPondCapacity(), in));
+        for (int i = count(in); i > 0; i--)
+            world.addActive(decodeCloud(in));
+        for (int i = count(in); i > 0; i--)
+            world.addActive(decodeBlimp(in));
+        for (int i = count(in); i > 0; i--) {
+            long since = in.getLong();
+            byte kind = in.get();
+            world.addDormant(kind == CLOUD ? decodeCloud(in)
+                    : decodeBlimp(in), since);
+        }
+        decodeSchedule(world, in);
+        world.finishRestore(ticks, nextId, outcome, isOutcomeStale,
+                seedings, refuelings, thunderClaps);
+        return world;
+    }
+
+    private static void decodeHelicopter(HelicopterModel heli,
+                                         ByteBuffer in) throws IOException {
+        heli.moveTo(in.getDouble(), in.getDouble());
+        double fuel = in.getDouble();
+        heli.turnBy(in.getDouble() - heli.getHeading());
+        heli.setSpeed(in.getDouble());
+        double rotorSpeed = in.getDouble();
+        heli.setBaseFuelConsumption(in.getDouble());
+        boolean isRotorSpinning = getBoolean(in);
+        heli.restore(fuel, rotorSpeed, isRotorSpinning,
+                at(HELI_STATES, in.get()));
+    }
+
+    private static PondModel decodePond(PondCapacity capacity,
+                                        ByteBuffer in) {
+        int id = in.getInt();
+        double x = in.getDouble();
+        double y = in.getDouble();
+        double maxRadius = in.getDouble();
+        double currentRadius = in.getDouble();
+        double currentArea = in.getDouble();
+        PondModel pond = new PondModel(id, x, y, maxRadius, currentRadius,
+                in.getLong(), capacity);
+        pond.restoreArea(currentArea);
+        return pond;
+    }
+
+    private static CloudModel decodeCloud(ByteBuffer in) throws IOException {
+        int id = in.getInt();
+        double x = in.getDouble();
+        double y = in.getDouble();
+        double speed = in.getDouble();
+        double drift = in.getDouble();
+        double speedOffset = in.getDouble();
+        TransientState transientState = at(TRANSIENT_STATES, in.get());
+        double majorAxisRadius = in.getDouble();
+        double minorAxisRadius = in.getDouble();
+        CloudModel cloud = new CloudModel(id, x, y, majorAxisRadius,
+                minorAxisRadius, speed, speedOffset, in.getLong());
+        cloud.setVelocity(speed, drift);
+        cloud.setTransientState(transientState);
+        cloud.setState(at(CLOUD_STATES, in.get()));
+        cloud.setSaturation(in.getDouble());
+        cloud.setRaining(getBoolean(in));
+        return cloud;
+    }
+
+    private static BlimpModel decodeBlimp(ByteBuffer in) throws IOException {
+        int id = in.getInt();
+        double x = in.getDouble();
+        double y = in.getDouble();
+        double speed = in.getDouble();
+        double drift = in.getDouble();
+        double speedOffset = in.getDouble();
+        TransientState transientState = at(TRANSIENT_STATES, in.get());
+        BlimpState state = at(BLIMP_STATES, in.get());
+        BlimpModel blimp = new BlimpModel(id, x, y, speed, speedOffset,
+                in.getDouble());
+        blimp.setVelocity(speed, drift);
+        blimp.setTransientState(transientState);
+        blimp.setState(state);
+        return blimp;
+    }
+
+    private static void decodeSchedule(World world, ByteBuffer in)
+            throws IOException {
+        TimingWheel scheduler = world.getScheduler();
+        scheduler.restart(in.getLong());
+        List<World.Dormant> dormant = world.getDormant();
+        Runnable[] timedActions = world.getTimedActions();
+        for (int i = count(in); i > 0; i--) {
+            int level = in.get();
+            int index = in.get();
+            byte kind = in.get();
+            int dormantIndex = in.getInt();
+            long deadline = in.getLong();
+            long periodInTicks = in.getLong();
+            if (level < 0 || level >= TimingWheel.LEVELS || index < 0
+                    || index >= TimingWheel.SLOTS_PER_LEVEL)
+                throw new IOException("Save has a bad timer slot");
+            Runnable action = kind == WAKE ? at(dormant, dormantIndex)
+                    : at(timedActions, kind);
+            scheduler.append(level, index,
+                    new ScheduledEvent(action, deadline, periodInTicks));
+        }
+    }
+
+    private static int count(ByteBuffer in) throws IOException {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining())
+            throw new IOException("Save has a bad count");
+        return count;
+    }
+
+    private static <T> T at(T[] values, int ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= values.length)
+            throw new IOException("Save has an unknown state " + ordinal);
+        return values[ordinal];
+    }
+
+    private static <T> T at(List<T> values, int index) throws IOException {
+        if (index < 0 || index >= values.size())
+            throw new IOException("Save has a bad dormant index " + index);
+        return values.get(index);
+    }
+
+    private static void putBoolean(ByteBuffer out, boolean value) {
+        out.put((byte) (value ? 1 : 0));
+    }
+
+    private static boolean getBoolean(ByteBuffer in) {
+        return in.get() != 0;
+    }
+}
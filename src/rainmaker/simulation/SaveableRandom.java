@@ -0,0 +1,77 @@
+package rainmaker.simulation;
+
+import java.util.Random;
+
+/**
+ * The same generator as java.util.Random, so a seed gives the same game it
+ * always has, but with its state readable and restorable for saves, which
+ * Random keeps private. Not thread-safe; a World only draws from it on the
+ * thread ticking it.
+ */
+public class SaveableRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state;
+    private double nextNextGaussian;
+    private boolean haveNextNextGaussian;
+
+    public SaveableRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        state = (seed ^ MULTIPLIER) & MASK;
+        haveNextNextGaussian = false;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * The polar method exactly as Random implements it, since Random keeps
+     * the spare value of each pair where a subclass can't save it.
+     */
+    @Override
+    public double nextGaussian() {
+        if (haveNextNextGaussian) {
+            haveNextNextGaussian = false;
+            return nextNextGaussian;
+        }
+        double v1, v2, s;
+        do {
+            v1 = 2 * nextDouble() - 1;
+            v2 = 2 * nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+        nextNextGaussian = v2 * multiplier;
+        haveNextNextGaussian = true;
+        return v1 * multiplier;
+    }
+
+    void restore(long state, boolean haveNextNextGaussian,
+                 double nextNextGaussian) {
+        this.state = state & MASK;
+        this.haveNextNextGaussian = haveNextNextGaussian;
+        this.nextNextGaussian = nextNextGaussian;
+    }
+
+    long getState() {
+        return state;
+    }
+
+    boolean hasNextNextGaussian() {
+        return haveNextNextGaussian;
+    }
+
+    double getNextNextGaussian() {
+        return nextNextGaussian;
+    }
+}
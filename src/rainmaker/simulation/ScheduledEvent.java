@@ -0,0 +1,54 @@
+package rainmaker.simulation;
+
+/**
+ * Handle to a callback registered with a TimingWheel. Doubles as the node of
+ * the intrusive list that makes up each wheel slot, so scheduling and
+ * cancelling never allocate beyond the event itself.
+ */
+public class ScheduledEvent {
+    private final Runnable action;
+    private final long periodInTicks;
+    private long deadline;
+    private boolean isCancelled;
+    ScheduledEvent previous, next;
+    ScheduledEvent[] slotOwner;
+    int slotIndex;
+
+    ScheduledEvent(Runnable action, long deadline, long periodInTicks) {
+        this.action = action;
+        this.deadline = deadline;
+        this.periodInTicks = periodInTicks;
+    }
+
+    public void cancel() {
+        isCancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return isCancelled;
+    }
+
+    public boolean isPeriodic() {
+        return periodInTicks > 0;
+    }
+
+    public long getDeadline() {
+        return deadline;
+    }
+
+    public long getPeriodInTicks() {
+        return periodInTicks;
+    }
+
+    Runnable getAction() {
+        return action;
+    }
+
+    void fire() {
+        action.run();
+    }
+
+    void advanceDeadline() {
+        deadline += periodInTicks;
+    }
+}
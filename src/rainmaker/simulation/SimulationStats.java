@@ -0,0 +1,110 @@
+package rainmaker.simulation;
+
+import rainmaker.Game;
+import rainmaker.telemetry.AllocationCounter;
+import rainmaker.telemetry.TickEvent;
+
+/**
+ * Figures about a running simulation, recorded by its SimulationThread after
+ * every tick and safe to read from any thread. Rates are smoothed over
+ * roughly the last second of ticks, as are the times the World spends in
+ * each phase of a tick. Allocation is measured with the JVM's
+ * per-thread AllocationCounter and is -1 where that isn't available.
+ */
+public class SimulationStats {
+    public static final double SMOOTHING = 0.05;
+
+    private volatile long ticks;
+    private volatile int clouds, blimps, dormant;
+    private volatile double ticksPerSecond, allocatedBytesPerTick;
+    private volatile double inputNanos, cleanupNanos, updateNanos,
+            schedulerNanos, interactionNanos;
+    private long lastTickNanos, lastAllocatedBytes;
+
+    public SimulationStats() {
+        allocatedBytesPerTick = -1;
+    }
+
+    /**
+     * Must be called from the thread doing the ticking.
+     */
+    void recordTick(World world) {
+        long now = System.nanoTime();
+        if (lastTickNanos != 0)
+            ticksPerSecond = smooth(ticksPerSecond,
+                    Game.NANOS_PER_SEC / Math.max(1, now - lastTickNanos));
+        lastTickNanos = now;
+        if (AllocationCounter.isAvailable()) {
+            long allocatedBytes =
+                    AllocationCounter.currentThreadAllocatedBytes();
+            if (lastAllocatedBytes != 0)
+                allocatedBytesPerTick = smooth(
+                        Math.max(0, allocatedBytesPerTick),
+                        allocatedBytes - lastAllocatedBytes);
+            lastAllocatedBytes = allocatedBytes;
+        }
+        ticks = world.getTicks();
+        clouds = world.getClouds().size();
+        blimps = world.getBlimps().size();
+        dormant = world.getNumDormant();
+    }
+
+    /**
+     * Called by the World at the end of each tick with its phase timings.
+     */
+    void recordPhases(TickEvent event) {
+        inputNanos = smooth(inputNanos, event.inputNanos);
+        cleanupNanos = smooth(cleanupNanos, event.cleanupNanos);
+        updateNanos = smooth(updateNanos, event.updateNanos);
+        schedulerNanos = smooth(schedulerNanos, event.schedulerNanos);
+        interactionNanos = smooth(interactionNanos, event.interactionNanos);
+    }
+
+    private static double smooth(double average, double sample) {
+        return average + SMOOTHING * (sample - average);
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public int getClouds() {
+        return clouds;
+    }
+
+    public int getBlimps() {
+        return blimps;
+    }
+
+    public int getDormant() {
+        return dormant;
+    }
+
+    public double getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    public double getAllocatedBytesPerTick() {
+        return allocatedBytesPerTick;
+    }
+
+    public double getInputNanos() {
+        return inputNanos;
+    }
+
+    public double getCleanupNanos() {
+        return cleanupNanos;
+    }
+
+    public double getUpdateNanos() {
+        return updateNanos;
+    }
+
+    public double getSchedulerNanos() {
+        return schedulerNanos;
+    }
+
+    public double getInteractionNanos() {
+        return interactionNanos;
+    }
+}
@@ -0,0 +1,127 @@
+package rainmaker.simulation;
+
+import rainmaker.Game;
+import rainmaker.telemetry.LatencyHistogram;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ticks a World at a fixed rate on its own thread and publishes a snapshot
+ * after every tick, so a slow tick never holds up a JavaFX pulse and a slow
+ * pulse never holds up the simulation. If the thread falls more than a few
+ * ticks behind (e.g. after a long GC pause) it resynchronizes instead of
+ * trying to catch up in a burst.
+ */
+public class SimulationThread {
+    public static final long TICK_PERIOD_NANOS =
+            (long) (Game.NANOS_PER_SEC * Game.SCHEDULER_TICK_IN_SEC);
+    public static final int MAX_TICKS_BEHIND = 5;
+
+    private final World world;
+    private final SnapshotExchange<WorldSnapshot> snapshots;
+    private final Thread thread;
+    private final SimulationStats stats;
+    private volatile LatencyHistogram tickTimes;
+    private volatile Autosave autosave;
+    private volatile boolean isRunning;
+
+    public SimulationThread(World world,
+                            SnapshotExchange<WorldSnapshot> snapshots) {
+        this.world = world;
+        this.snapshots = snapshots;
+        stats = new SimulationStats();
+        world.setStats(stats);
+        thread = new Thread(this::run, "rainmaker-simulation");
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        isRunning = true;
+        thread.start();
+    }
+
+    /**
+     * Blocks until the simulation thread has finished its current tick and
+     * exited.
+     */
+    public void stop() {
+        isRunning = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        publishSnapshot();
+        long nextTick = System.nanoTime() + TICK_PERIOD_NANOS;
+        while (isRunning && world.getOutcome() == Outcome.PLAYING) {
+            waitUntil(nextTick);
+            if (!isRunning)
+                break;
+            tick();
+            publishSnapshot();
+            stats.recordTick(world);
+            Autosave autosave = this.autosave;
+            if (autosave != null)
+                autosave.afterTick(world);
+            nextTick = scheduleNextTick(nextTick);
+        }
+    }
+
+    private void tick() {
+        LatencyHistogram tickTimes = this.tickTimes;
+        if (tickTimes == null) {
+            world.tick();
+            return;
+        }
+        long start = System.nanoTime();
+        world.tick();
+        tickTimes.record(System.nanoTime() - start);
+    }
+
+    private void waitUntil(long deadline) {
+        long remaining;
+        while (isRunning && (remaining = deadline - System.nanoTime()) > 0)
+            LockSupport.parkNanos(remaining);
+    }
+
+    private long scheduleNextTick(long lastTick) {
+        long nextTick = lastTick + TICK_PERIOD_NANOS;
+        long now = System.nanoTime();
+        if (now - nextTick > MAX_TICKS_BEHIND * TICK_PERIOD_NANOS)
+            nextTick = now;
+        return nextTick;
+    }
+
+    private void publishSnapshot() {
+        world.writeTo(snapshots.getBackBuffer());
+        snapshots.publish();
+    }
+
+    /**
+     * Records how long every tick takes from then on; must be set before
+     * start(), and only read once the thread has stopped.
+     */
+    public void setTickTimes(LatencyHistogram tickTimes) {
+        this.tickTimes = tickTimes;
+    }
+
+    /**
+     * Saves the world through autosave as it plays; must be set before
+     * start().
+     */
+    public void setAutosave(Autosave autosave) {
+        this.autosave = autosave;
+    }
+
+    public SimulationStats getStats() {
+        return stats;
+    }
+
+    public boolean isRunning() {
+        return isRunning;
+    }
+}
@@ -0,0 +1,659 @@
+package rainmaker.simulation;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Binary encoding of WorldSnapshots for remote viewers, as a delta against a
+ * baseline snapshot the viewer already has (or against nothing, for a full
+ * frame). Only what changed is sent: the ids of entities that died, and for
+ * each entity that spawned or changed a mask of its changed fields followed
+ * by just those fields. Ids ascend in every snapshot, so both sides line
+ * entities up with a merge walk, and ids travel as gaps from the previous
+ * one. Real values travel as floats and are compared as floats, so a decoded
+ * snapshot holds exactly the rounded values and later deltas stay exact.
+ * <pre>
+ * frame:  version, tick, baseline (0 for a full frame, otherwise one more
+ *         than the ticks since the baseline),
+ *         globals mask and fields, helicopter mask and fields,
+ *         then for each of ponds, clouds and blimps:
+ *         removed count, removed id gaps, changed count,
+ *         per changed entity: id gap, mask, fields
+ * </pre>
+ * Counts, gaps, ticks and small integers are unsigned varints. A codec
+ * keeps scratch space for its merge walks, so encoding allocates nothing;
+ * use one per thread.
+ */
+public class SnapshotCodec {
+    public static final byte VERSION = 1;
+    public static final int MAX_VARINT_BYTES = 10;
+    public static final int MAX_HEADER_BYTES = 1 + 2 * MAX_VARINT_BYTES;
+    public static final int MAX_GLOBALS_BYTES = 1 + 1 + 2 * 4
+            + 3 * MAX_VARINT_BYTES;
+    public static final int MAX_HELICOPTER_BYTES = 1 + 6 * 4 + 1;
+
+    private static final int GLOBAL_OUTCOME = 1, GLOBAL_WIND = 1 << 1,
+            GLOBAL_CAPACITY = 1 << 2, GLOBAL_SEEDINGS = 1 << 3,
+            GLOBAL_REFUELINGS = 1 << 4, GLOBAL_THUNDER = 1 << 5,
+            ALL_GLOBALS = (1 << 6) - 1;
+    private static final int HELI_X = 1, HELI_Y = 1 << 1,
+            HELI_HEADING = 1 << 2, HELI_SPEED = 1 << 3, HELI_FUEL = 1 << 4,
+            HELI_ROTOR = 1 << 5, HELI_STATE = 1 << 6,
+            ALL_HELICOPTER = (1 << 7) - 1;
+
+    private static final WorldSnapshot NOTHING = new WorldSnapshot();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+    private static final HeliState[] HELI_STATES = HeliState.values();
+
+    private int[] removedIds = new int[WorldSnapshot.INITIAL_CAPACITY];
+    private int[] changedIndices = new int[WorldSnapshot.INITIAL_CAPACITY];
+    private int[] changedMasks = new int[WorldSnapshot.INITIAL_CAPACITY];
+
+    /**
+     * The most bytes encoding current against baseline (which may be null)
+     * can take.
+     */
+    public static int maxEncodedSize(WorldSnapshot current,
+                                     WorldSnapshot baseline) {
+        int size = MAX_HEADER_BYTES + MAX_GLOBALS_BYTES
+                + MAX_HELICOPTER_BYTES;
+        for (EntityKind kind : EntityKind.KINDS)
+            size += 2 * MAX_VARINT_BYTES
+                    + (baseline == null ? 0
+                            : kind.count(baseline) * MAX_VARINT_BYTES)
+                    + kind.count(current) * (MAX_VARINT_BYTES + 1
+                            + kind.maxFieldBytes());
+        return size;
+    }
+
+    /**
+     * Writes current as a delta against baseline, or as a full frame if
+     * baseline is null, at out's position. out must have at least
+     * maxEncodedSize() bytes remaining.
+     */
+    public void encode(WorldSnapshot current, WorldSnapshot baseline,
+                       ByteBuffer out) {
+        out.put(VERSION);
+        putVarint(out, current.tick);
+        putVarint(out, baseline == null ? 0
+                : current.tick - baseline.tick + 1);
+        encodeGlobals(current, baseline, out);
+        encodeHelicopter(current, baseline, out);
+        for (EntityKind kind : EntityKind.KINDS)
+            encodeEntities(kind, current, baseline, out);
+    }
+
+    private static void encodeGlobals(WorldSnapshot s, WorldSnapshot base,
+                                      ByteBuffer out) {
+        int mask = base == null ? ALL_GLOBALS
+                : (s.outcome != base.outcome ? GLOBAL_OUTCOME : 0)
+                | differs(s.windSpeed, base.windSpeed, GLOBAL_WIND)
+                | differs(s.totalPondCapacity, base.totalPondCapacity,
+                        GLOBAL_CAPACITY)
+                | (s.seedings != base.seedings ? GLOBAL_SEEDINGS : 0)
+                | (s.refuelings != base.refuelings ? GLOBAL_REFUELINGS : 0)
+                | (s.thunderClaps != base.thunderClaps ? GLOBAL_THUNDER : 0);
+        out.put((byte) mask);
+        if ((mask & GLOBAL_OUTCOME) != 0)
+            out.put((byte) s.outcome.ordinal());
+        putFloat(out, mask, GLOBAL_WIND, s.windSpeed);
+        putFloat(out, mask, GLOBAL_CAPACITY, s.totalPondCapacity);
+        putVarint(out, mask, GLOBAL_SEEDINGS, s.seedings);
+        putVarint(out, mask, GLOBAL_REFUELINGS, s.refuelings);
+        putVarint(out, mask, GLOBAL_THUNDER, s.thunderClaps);
+    }
+
+    private static void encodeHelicopter(WorldSnapshot s, WorldSnapshot base,
+                                         ByteBuffer out) {
+        int mask = base == null ? ALL_HELICOPTER
+                : differs(s.heliX, base.heliX, HELI_X)
+                | differs(s.heliY, base.heliY, HELI_Y)
+                | differs(s.heliHeading, base.heliHeading, HELI_HEADING)
+                | differs(s.heliSpeed, base.heliSpeed, HELI_SPEED)
+                | differs(s.heliFuel, base.heliFuel, HELI_FUEL)
+                | differs(s.rotorSpeed, base.rotorSpeed, HELI_ROTOR)
+                | (s.heliState != base.heliState ? HELI_STATE : 0);
+        out.put((byte) mask);
+        putFloat(out, mask, HELI_X, s.heliX);
+        putFloat(out, mask, HELI_Y, s.heliY);
+        putFloat(out, mask, HELI_HEADING, s.heliHeading);
+        putFloat(out, mask, HELI_SPEED, s.heliSpeed);
+        putFloat(out, mask, HELI_FUEL, s.heliFuel);
+        putFloat(out, mask, HELI_ROTOR, s.rotorSpeed);
+        if ((mask & HELI_STATE) != 0)
+            out.put((byte) s.heliState.ordinal());
+    }
+
+    /**
+     * One merge walk finds the dead and the changed; they are written once
+     * both counts are known.
+     */
+    private void encodeEntities(EntityKind kind, WorldSnapshot current,
+                                WorldSnapshot baseline, ByteBuffer out) {
+        int count = kind.count(current);
+        int baseCount = baseline == null ? 0 : kind.count(baseline);
+        ensureScratchCapacity(Math.max(count, baseCount));
+        int removed = 0, changed = 0, j = 0;
+        for (int i = 0; i < count; i++) {
+            int id = kind.id(current, i);
+            while (j < baseCount && kind.id(baseline, j) < id)
+                removedIds[removed++] = kind.id(baseline, j++);
+            int mask;
+            if (j < baseCount && kind.id(baseline, j) == id)
+                mask = kind.diff(current, i, baseline, j++);
+            else
+                mask = kind.allFields();
+            if (mask != 0) {
+                changedIndices[changed] = i;
+                changedMasks[changed++] = mask;
+            }
+        }
+        while (j < baseCount)
+            removedIds[removed++] = kind.id(baseline, j++);
+
+        putVarint(out, removed);
+        int previousId = -1;
+        for (int r = 0; r < removed; r++) {
+            putVarint(out, removedIds[r] - previousId - 1);
+            previousId = removedIds[r];
+        }
+        putVarint(out, changed);
+        previousId = -1;
+        for (int c = 0; c < changed; c++) {
+            int id = kind.id(current, changedIndices[c]);
+            putVarint(out, id - previousId - 1);
+            previousId = id;
+            out.put((byte) changedMasks[c]);
+            kind.write(out, current, changedIndices[c], changedMasks[c]);
+        }
+    }
+
+    private void ensureScratchCapacity(int count) {
+        if (count <= removedIds.length)
+            return;
+        int capacity = Math.max(count, removedIds.length * 2);
+        removedIds = Arrays.copyOf(removedIds, capacity);
+        changedIndices = Arrays.copyOf(changedIndices, capacity);
+        changedMasks = Arrays.copyOf(changedMasks, capacity);
+    }
+
+    /**
+     * The tick of the frame at in's position, without consuming anything.
+     */
+    public static long peekTick(ByteBuffer in) {
+        ByteBuffer header = in.duplicate();
+        checkVersion(header);
+        return getVarint(header);
+    }
+
+    /**
+     * The tick of the baseline the frame at in's position was encoded
+     * against, or -1 for a full frame, without consuming anything.
+     */
+    public static long peekBaselineTick(ByteBuffer in) {
+        ByteBuffer header = in.duplicate();
+        checkVersion(header);
+        long tick = getVarint(header);
+        return baselineTick(tick, getVarint(header));
+    }
+
+    private static long baselineTick(long tick, long baseline) {
+        return baseline == 0 ? -1 : tick - baseline + 1;
+    }
+
+    /**
+     * Reads the frame at in's position into into, taking anything it leaves
+     * out from baseline, which must be the snapshot it was encoded against
+     * (and may be null for a full frame). into must not be baseline.
+     */
+    public void decode(ByteBuffer in, WorldSnapshot baseline,
+                       WorldSnapshot into) {
+        checkVersion(in);
+        long tick = getVarint(in);
+        long baselineTick = baselineTick(tick, getVarint(in));
+        if (baselineTick < 0)
+            baseline = null;
+        else if (baseline == null || baseline.tick != baselineTick)
+            throw new IllegalArgumentException("Frame for tick " + tick
+                    + " needs the snapshot of tick " + baselineTick);
+        into.tick = tick;
+        WorldSnapshot base = baseline == null ? NOTHING : baseline;
+        decodeGlobals(in, base, into);
+        decodeHelicopter(in, base, into);
+        for (EntityKind kind : EntityKind.KINDS)
+            decodeEntities(kind, in, base, into);
+    }
+
+    private static void checkVersion(ByteBuffer in) {
+        byte version = in.get();
+        if (version != VERSION)
+            throw new IllegalArgumentException(
+                    "Unknown snapshot format version " + version);
+    }
+
+    /**
+     * Fields left out of a frame come from base, which is NOTHING for a
+     * full frame, so a full frame must leave nothing out.
+     */
+    private static int readMask(ByteBuffer in, WorldSnapshot base,
+                                int allFields) {
+        int mask = in.get() & 0xFF;
+        if (base == NOTHING && mask != allFields)
+            throw new IllegalArgumentException("Full frame missing fields");
+        return mask;
+    }
+
+    private static void decodeGlobals(ByteBuffer in, WorldSnapshot base,
+                                      WorldSnapshot s) {
+        int mask = readMask(in, base, ALL_GLOBALS);
+        s.outcome = (mask & GLOBAL_OUTCOME) != 0 ? OUTCOMES[in.get()]
+                : base.outcome;
+        s.windSpeed = getFloat(in, mask, GLOBAL_WIND, base.windSpeed);
+        s.totalPondCapacity = getFloat(in, mask, GLOBAL_CAPACITY,
+                base.totalPondCapacity);
+        s.seedings = getInt(in, mask, GLOBAL_SEEDINGS, base.seedings);
+        s.refuelings = getInt(in, mask, GLOBAL_REFUELINGS, base.refuelings);
+        s.thunderClaps = getInt(in, mask, GLOBAL_THUNDER, base.thunderClaps);
+    }
+
+    private static void decodeHelicopter(ByteBuffer in, WorldSnapshot base,
+                                         WorldSnapshot s) {
+        int mask = readMask(in, base, ALL_HELICOPTER);
+        s.heliX = getFloat(in, mask, HELI_X, base.heliX);
+        s.heliY = getFloat(in, mask, HELI_Y, base.heliY);
+        s.heliHeading = getFloat(in, mask, HELI_HEADING, base.heliHeading);
+        s.heliSpeed = getFloat(in, mask, HELI_SPEED, base.heliSpeed);
+        s.heliFuel = getFloat(in, mask, HELI_FUEL, base.heliFuel);
+        s.rotorSpeed = getFloat(in, mask, HELI_ROTOR, base.rotorSpeed);
+        s.heliState = (mask & HELI_STATE) != 0 ? HELI_STATES[in.get()]
+                : base.heliState;
+    }
+
+    /**
+     * Merges the baseline's entities with the frame's removed and changed
+     * ones, all in id order, into a fresh list.
+     */
+    private void decodeEntities(EntityKind kind, ByteBuffer in,
+                                WorldSnapshot base, WorldSnapshot into) {
+        int baseCount = kind.count(base);
+        int removed = (int) getVarint(in);
+        ensureScratchCapacity(removed);
+        int previousId = -1;
+        for (int r = 0; r < removed; r++) {
+            previousId += (int) getVarint(in) + 1;
+            removedIds[r] = previousId;
+        }
+        int changed = (int) getVarint(in);
+        kind.ensureCapacity(into, baseCount + changed);
+
+        int j = 0, k = 0, id = -1;
+        for (int c = 0; c < changed; c++) {
+            id += (int) getVarint(in) + 1;
+            int mask = in.get() & 0xFF;
+            while (j < baseCount && kind.id(base, j) < id)
+                k = keepUnlessRemoved(kind, base, j++, into, k, removed);
+            boolean isUpdate = j < baseCount && kind.id(base, j) == id;
+            if (!isUpdate && mask != kind.allFields())
+                throw new IllegalArgumentException("Spawned entity " + id
+                        + " is missing fields");
+            kind.setId(into, k, id);
+            kind.read(in, mask, into, k++, base, isUpdate ? j++ : -1);
+        }
+        while (j < baseCount)
+            k = keepUnlessRemoved(kind, base, j++, into, k, removed);
+        kind.setCount(into, k);
+    }
+
+    private int keepUnlessRemoved(EntityKind kind, WorldSnapshot base, int j,
+                                  WorldSnapshot into, int k, int removed) {
+        int id = kind.id(base, j);
+        if (Arrays.binarySearch(removedIds, 0, removed, id) >= 0)
+            return k;
+        kind.setId(into, k, id);
+        kind.read(null, 0, into, k, base, j);
+        return k + 1;
+    }
+
+    static int differs(double value, double base, int bit) {
+        return Float.floatToIntBits((float) value)
+                != Float.floatToIntBits((float) base) ? bit : 0;
+    }
+
+    static void putFloat(ByteBuffer out, int mask, int bit, double value) {
+        if ((mask & bit) != 0)
+            out.putFloat((float) value);
+    }
+
+    static void putVarint(ByteBuffer out, int mask, int bit, long value) {
+        if ((mask & bit) != 0)
+            putVarint(out, value);
+    }
+
+    static double getFloat(ByteBuffer in, int mask, int bit,
+                           double base) {
+        return (mask & bit) != 0 ? in.getFloat() : base;
+    }
+
+    static int getInt(ByteBuffer in, int mask, int bit, int base) {
+        return (mask & bit) != 0 ? (int) getVarint(in) : base;
+    }
+
+    static long getLong(ByteBuffer in, int mask, int bit, long base) {
+        return (mask & bit) != 0 ? in.getLong() : base;
+    }
+
+    static boolean getBoolean(ByteBuffer in, int mask, int bit,
+                              boolean base) {
+        return (mask & bit) != 0 ? in.get() != 0 : base;
+    }
+
+    static void putLong(ByteBuffer out, int mask, int bit, long value) {
+        if ((mask & bit) != 0)
+            out.putLong(value);
+    }
+
+    static void putBoolean(ByteBuffer out, int mask, int bit,
+                           boolean value) {
+        if ((mask & bit) != 0)
+            out.put((byte) (value ? 1 : 0));
+    }
+
+    static void putVarint(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static long getVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
+
+/**
+ * How SnapshotCodec reads, writes and compares each kind of entity. read()
+ * takes any field not in mask from base[j]; with a null in and a zero mask
+ * it just copies the entity over.
+ */
+enum EntityKind {
+    PONDS {
+        static final int X = 1, Y = 1 << 1, MAX_RADIUS = 1 << 2,
+                RADIUS = 1 << 3, PERCENT_FULL = 1 << 4, SHAPE_SEED = 1 << 5;
+
+        @Override
+        int count(WorldSnapshot s) {
+            return s.numPonds;
+        }
+
+        @Override
+        int id(WorldSnapshot s, int i) {
+            return s.pondIds[i];
+        }
+
+        @Override
+        int allFields() {
+            return (1 << 6) - 1;
+        }
+
+        @Override
+        int maxFieldBytes() {
+            return 4 * 4 + SnapshotCodec.MAX_VARINT_BYTES + 8;
+        }
+
+        @Override
+        int diff(WorldSnapshot s, int i, WorldSnapshot base, int j) {
+            return SnapshotCodec.differs(s.pondX[i], base.pondX[j], X)
+                    | SnapshotCodec.differs(s.pondY[i], base.pondY[j], Y)
+                    | SnapshotCodec.differs(s.pondMaxRadius[i],
+                            base.pondMaxRadius[j], MAX_RADIUS)
+                    | SnapshotCodec.differs(s.pondRadius[i],
+                            base.pondRadius[j], RADIUS)
+                    | (s.pondPercentFull[i] != base.pondPercentFull[j]
+                            ? PERCENT_FULL : 0)
+                    | (s.pondShapeSeeds[i] != base.pondShapeSeeds[j]
+                            ? SHAPE_SEED : 0);
+        }
+
+        @Override
+        void write(ByteBuffer out, WorldSnapshot s, int i, int mask) {
+            SnapshotCodec.putFloat(out, mask, X, s.pondX[i]);
+            SnapshotCodec.putFloat(out, mask, Y, s.pondY[i]);
+            SnapshotCodec.putFloat(out, mask, MAX_RADIUS, s.pondMaxRadius[i]);
+            SnapshotCodec.putFloat(out, mask, RADIUS, s.pondRadius[i]);
+            SnapshotCodec.putVarint(out, mask, PERCENT_FULL,
+                    s.pondPercentFull[i]);
+            SnapshotCodec.putLong(out, mask, SHAPE_SEED, s.pondShapeSeeds[i]);
+        }
+
+        @Override
+        void read(ByteBuffer in, int mask, WorldSnapshot s, int k,
+                  WorldSnapshot base, int j) {
+            boolean isNew = j < 0;
+            s.pondX[k] = SnapshotCodec.getFloat(in, mask, X,
+                    isNew ? 0 : base.pondX[j]);
+            s.pondY[k] = SnapshotCodec.getFloat(in, mask, Y,
+                    isNew ? 0 : base.pondY[j]);
+            s.pondMaxRadius[k] = SnapshotCodec.getFloat(in, mask, MAX_RADIUS,
+                    isNew ? 0 : base.pondMaxRadius[j]);
+            s.pondRadius[k] = SnapshotCodec.getFloat(in, mask, RADIUS,
+                    isNew ? 0 : base.pondRadius[j]);
+            s.pondPercentFull[k] = SnapshotCodec.getInt(in, mask,
+                    PERCENT_FULL, isNew ? 0 : base.pondPercentFull[j]);
+            s.pondShapeSeeds[k] = SnapshotCodec.getLong(in, mask, SHAPE_SEED,
+                    isNew ? 0 : base.pondShapeSeeds[j]);
+        }
+
+        @Override
+        void setId(WorldSnapshot s, int k, int id) {
+            s.pondIds[k] = id;
+        }
+
+        @Override
+        void ensureCapacity(WorldSnapshot s, int count) {
+            s.ensurePondCapacity(count);
+        }
+
+        @Override
+        void setCount(WorldSnapshot s, int count) {
+            s.numPonds = count;
+        }
+    },
+    CLOUDS {
+        static final int X = 1, Y = 1 << 1, MAJOR_RADIUS = 1 << 2,
+                MINOR_RADIUS = 1 << 3, SATURATION = 1 << 4, SPEED = 1 << 5,
+                RAINING = 1 << 6, SHAPE_SEED = 1 << 7;
+
+        @Override
+        int count(WorldSnapshot s) {
+            return s.numClouds;
+        }
+
+        @Override
+        int id(WorldSnapshot s, int i) {
+            return s.cloudIds[i];
+        }
+
+        @Override
+        int allFields() {
+            return (1 << 8) - 1;
+        }
+
+        @Override
+        int maxFieldBytes() {
+            return 6 * 4 + 1 + 8;
+        }
+
+        @Override
+        int diff(WorldSnapshot s, int i, WorldSnapshot base, int j) {
+            return SnapshotCodec.differs(s.cloudX[i], base.cloudX[j], X)
+                    | SnapshotCodec.differs(s.cloudY[i], base.cloudY[j], Y)
+                    | SnapshotCodec.differs(s.cloudMajorRadius[i],
+                            base.cloudMajorRadius[j], MAJOR_RADIUS)
+                    | SnapshotCodec.differs(s.cloudMinorRadius[i],
+                            base.cloudMinorRadius[j], MINOR_RADIUS)
+                    | SnapshotCodec.differs(s.cloudSaturation[i],
+                            base.cloudSaturation[j], SATURATION)
+                    | SnapshotCodec.differs(s.cloudSpeed[i],
+                            base.cloudSpeed[j], SPEED)
+                    | (s.cloudRaining[i] != base.cloudRaining[j]
+                            ? RAINING : 0)
+                    | (s.cloudShapeSeeds[i] != base.cloudShapeSeeds[j]
+                            ? SHAPE_SEED : 0);
+        }
+
+        @Override
+        void write(ByteBuffer out, WorldSnapshot s, int i, int mask) {
+            SnapshotCodec.putFloat(out, mask, X, s.cloudX[i]);
+            SnapshotCodec.putFloat(out, mask, Y, s.cloudY[i]);
+            SnapshotCodec.putFloat(out, mask, MAJOR_RADIUS,
+                    s.cloudMajorRadius[i]);
+            SnapshotCodec.putFloat(out, mask, MINOR_RADIUS,
+                    s.cloudMinorRadius[i]);
+            SnapshotCodec.putFloat(out, mask, SATURATION,
+                    s.cloudSaturation[i]);
+            SnapshotCodec.putFloat(out, mask, SPEED, s.cloudSpeed[i]);
+            SnapshotCodec.putBoolean(out, mask, RAINING, s.cloudRaining[i]);
+            SnapshotCodec.putLong(out, mask, SHAPE_SEED,
+                    s.cloudShapeSeeds[i]);
+        }
+
+        @Override
+        void read(ByteBuffer in, int mask, WorldSnapshot s, int k,
+                  WorldSnapshot base, int j) {
+            boolean isNew = j < 0;
+            s.cloudX[k] = SnapshotCodec.getFloat(in, mask, X,
+                    isNew ? 0 : base.cloudX[j]);
+            s.cloudY[k] = SnapshotCodec.getFloat(in, mask, Y,
+                    isNew ? 0 : base.cloudY[j]);
+            s.cloudMajorRadius[k] = SnapshotCodec.getFloat(in, mask,
+                    MAJOR_RADIUS, isNew ? 0 : base.cloudMajorRadius[j]);
+            s.cloudMinorRadius[k] = SnapshotCodec.getFloat(in, mask,
+                    MINOR_RADIUS, isNew ? 0 : base.cloudMinorRadius[j]);
+            s.cloudSaturation[k] = SnapshotCodec.getFloat(in, mask,
+                    SATURATION, isNew ? 0 : base.cloudSaturation[j]);
+            s.cloudSpeed[k] = SnapshotCodec.getFloat(in, mask, SPEED,
+                    isNew ? 0 : base.cloudSpeed[j]);
+            s.cloudRaining[k] = SnapshotCodec.getBoolean(in, mask, RAINING,
+                    !isNew && base.cloudRaining[j]);
+            s.cloudShapeSeeds[k] = SnapshotCodec.getLong(in, mask,
+                    SHAPE_SEED, isNew ? 0 : base.cloudShapeSeeds[j]);
+        }
+
+        @Override
+        void setId(WorldSnapshot s, int k, int id) {
+            s.cloudIds[k] = id;
+        }
+
+        @Override
+        void ensureCapacity(WorldSnapshot s, int count) {
+            s.ensureCloudCapacity(count);
+        }
+
+        @Override
+        void setCount(WorldSnapshot s, int count) {
+            s.numClouds = count;
+        }
+    },
+    BLIMPS {
+        static final int X = 1, Y = 1 << 1, FUEL = 1 << 2,
+                IN_VIEW = 1 << 3;
+
+        @Override
+        int count(WorldSnapshot s) {
+            return s.numBlimps;
+        }
+
+        @Override
+        int id(WorldSnapshot s, int i) {
+            return s.blimpIds[i];
+        }
+
+        @Override
+        int allFields() {
+            return (1 << 4) - 1;
+        }
+
+        @Override
+        int maxFieldBytes() {
+            return 3 * 4 + 1;
+        }
+
+        @Override
+        int diff(WorldSnapshot s, int i, WorldSnapshot base, int j) {
+            return SnapshotCodec.differs(s.blimpX[i], base.blimpX[j], X)
+                    | SnapshotCodec.differs(s.blimpY[i], base.blimpY[j], Y)
+                    | SnapshotCodec.differs(s.blimpFuel[i],
+                            base.blimpFuel[j], FUEL)
+                    | (s.blimpInView[i] != base.blimpInView[j]
+                            ? IN_VIEW : 0);
+        }
+
+        @Override
+        void write(ByteBuffer out, WorldSnapshot s, int i, int mask) {
+            SnapshotCodec.putFloat(out, mask, X, s.blimpX[i]);
+            SnapshotCodec.putFloat(out, mask, Y, s.blimpY[i]);
+            SnapshotCodec.putFloat(out, mask, FUEL, s.blimpFuel[i]);
+            SnapshotCodec.putBoolean(out, mask, IN_VIEW, s.blimpInView[i]);
+        }
+
+        @Override
+        void read(ByteBuffer in, int mask, WorldSnapshot s, int k,
+                  WorldSnapshot base, int j) {
+            boolean isNew = j < 0;
+            s.blimpX[k] = SnapshotCodec.getFloat(in, mask, X,
+                    isNew ? 0 : base.blimpX[j]);
+            s.blimpY[k] = SnapshotCodec.getFloat(in, mask, Y,
+                    isNew ? 0 : base.blimpY[j]);
+            s.blimpFuel[k] = SnapshotCodec.getFloat(in, mask, FUEL,
+                    isNew ? 0 : base.blimpFuel[j]);
+            s.blimpInView[k] = SnapshotCodec.getBoolean(in, mask, IN_VIEW,
+                    !isNew && base.blimpInView[j]);
+        }
+
+        @Override
+        void setId(WorldSnapshot s, int k, int id) {
+            s.blimpIds[k] = id;
+        }
+
+        @Override
+        void ensureCapacity(WorldSnapshot s, int count) {
+            s.ensureBlimpCapacity(count);
+        }
+
+        @Override
+        void setCount(WorldSnapshot s, int count) {
+            s.numBlimps = count;
+        }
+    };
+
+    static final EntityKind[] KINDS = values();
+
+    abstract int count(WorldSnapshot s);
+
+    abstract int id(WorldSnapshot s, int i);
+
+    abstract int allFields();
+
+    abstract int maxFieldBytes();
+
+    abstract int diff(WorldSnapshot s, int i, WorldSnapshot base, int j);
+
+    abstract void write(ByteBuffer out, WorldSnapshot s, int i, int mask);
+
+    abstract void read(ByteBuffer in, int mask, WorldSnapshot s, int k,
+                       WorldSnapshot base, int j);
+
+    abstract void setId(WorldSnapshot s, int k, int id);
+
+    abstract void ensureCapacity(WorldSnapshot s, int count);
+
+    abstract void setCount(WorldSnapshot s, int count);
+}
@@ -0,0 +1,59 @@
+package rainmaker.simulation;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free hand-off of snapshots from one writer thread to one reader
+ * thread using three recycled buffers: the writer fills its back buffer, the
+ * reader holds its front buffer, and the third sits in a shared middle slot.
+ * Publishing and acquiring are each a single atomic swap of the middle slot's
+ * index, so neither side ever waits on the other and the reader always gets
+ * the most recently completed snapshot (older unread ones are overwritten).
+ */
+public class SnapshotExchange<T> {
+    public static final int NUM_BUFFERS = 3;
+
+    private static final int FRESH = 1 << 2;
+    private static final int INDEX_MASK = FRESH - 1;
+
+    private final Object[] buffers = new Object[NUM_BUFFERS];
+    private final AtomicInteger middle;
+    private int backIndex, frontIndex;
+
+    public SnapshotExchange(Supplier<T> factory) {
+        for (int i = 0; i < buffers.length; i++)
+            buffers[i] = factory.get();
+        backIndex = 0;
+        middle = new AtomicInteger(1);
+        frontIndex = 2;
+    }
+
+    /**
+     * Writer side: the buffer to fill before the next publish.
+     */
+    @SuppressWarnings("unchecked")
+    public T getBackBuffer() {
+        return (T) buffers[backIndex];
+    }
+
+    /**
+     * Writer side: makes the back buffer the newest snapshot and takes the
+     * previous middle buffer as the new back buffer.
+     */
+    public void publish() {
+        backIndex = middle.getAndSet(backIndex | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Reader side: the newest published snapshot, or null if nothing has been
+     * published since the last call.
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((middle.get() & FRESH) == 0)
+            return null;
+        frontIndex = middle.getAndSet(frontIndex) & INDEX_MASK;
+        return (T) buffers[frontIndex];
+    }
+}
@@ -0,0 +1,199 @@
+package rainmaker.simulation;
+
+import rainmaker.telemetry.TickEvent;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A crash-proof flight recorder for the simulation: one fixed-size record
+ * per tick written into a ring in a memory-mapped file. The mapping belongs
+ * to the OS, so whatever was written survives the process dying, and the
+ * last capacity ticks can be decoded afterwards with
+ * <pre>
+ * java rainmaker.simulation.TickLog rainmaker-ticks.bin &gt; ticks.csv
+ * </pre>
+ * Recording a tick is a handful of absolute stores into the mapping and no
+ * allocation or system call. The count of records written is stored last,
+ * so a record is complete before it is counted. Opening a log moves any
+ * existing file aside to a ".prev" sibling first, so a crashed session's log
+ * isn't overwritten by the next launch.
+ * <pre>
+ * header: magic, version, record size, capacity, records written
+ * record: tick, heli x, y, speed, heading, fuel, pond capacity,
+ *         clouds, blimps, dormant, input bits, heli state, outcome,
+ *         input, cleanup, update, scheduler and interaction nanos
+ * </pre>
+ * Only the thread ticking the World may record.
+ */
+public class TickLog {
+    public static final int MAGIC = 0x524D4B54;
+    public static final short VERSION = 1;
+    public static final int HEADER_BYTES = 64;
+    public static final int RECORD_BYTES = 64;
+
+    private static final int WRITTEN = 16;
+    private static final int TICK = 0, HELI_X = 8, HELI_Y = 12,
+            HELI_SPEED = 16, HELI_HEADING = 20, HELI_FUEL = 24,
+            CAPACITY = 28, CLOUDS = 32, BLIMPS = 34, DORMANT = 36,
+            INPUTS = 38, HELI_STATE = 39, OUTCOME = 40, INPUT_NANOS = 44,
+            CLEANUP_NANOS = 48, UPDATE_NANOS = 52, SCHEDULER_NANOS = 56,
+            INTERACTION_NANOS = 60;
+    private static final Input[] INPUTS_BY_ORDINAL = Input.values();
+    private static final HeliState[] HELI_STATES = HeliState.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private long written;
+
+    private TickLog(MappedByteBuffer buffer, int capacity) {
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates a log at file holding the last capacity ticks.
+     */
+    public static TickLog open(Path file, int capacity) throws IOException {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive");
+        if (Files.exists(file))
+            Files.move(file, file.resolveSibling(file.getFileName()
+                    + ".prev"), StandardCopyOption.REPLACE_EXISTING);
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(
+                    FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_BYTES + (long) capacity * RECORD_BYTES);
+            buffer.putInt(0, MAGIC);
+            buffer.putShort(4, VERSION);
+            buffer.putShort(6, (short) RECORD_BYTES);
+            buffer.putInt(8, capacity);
+            buffer.putLong(WRITTEN, 0);
+            return new TickLog(buffer, capacity);
+        }
+    }
+
+    /**
+     * Writes the tick world just finished, with its phase timings from event
+     * and the inputs applied during it.
+     */
+    void record(World world, TickEvent event, int inputBits) {
+        int at = HEADER_BYTES + (int) (written % capacity) * RECORD_BYTES;
+        HelicopterModel heli = world.getHelicopter();
+        buffer.putLong(at + TICK, world.getTicks());
+        buffer.putFloat(at + HELI_X, (float) heli.getX());
+        buffer.putFloat(at + HELI_Y, (float) heli.getY());
+        buffer.putFloat(at + HELI_SPEED, (float) heli.getSpeed());
+        buffer.putFloat(at + HELI_HEADING, (float) heli.getHeading());
+        buffer.putFloat(at + HELI_FUEL, (float) heli.getRemainingFuel());
+        buffer.putFloat(at + CAPACITY, (float) world.getTotalPondCapacity());
+        buffer.putShort(at + CLOUDS, (short) world.getClouds().size());
+        buffer.putShort(at + BLIMPS, (short) world.getBlimps().size());
+        buffer.putShort(at + DORMANT, (short) world.getNumDormant());
+        buffer.put(at + INPUTS, (byte) inputBits);
+        buffer.put(at + HELI_STATE, (byte) heli.getState().ordinal());
+        buffer.putInt(at + OUTCOME, world.getOutcome().ordinal());
+        buffer.putInt(at + INPUT_NANOS, clamp(event.inputNanos));
+        buffer.putInt(at + CLEANUP_NANOS, clamp(event.cleanupNanos));
+        buffer.putInt(at + UPDATE_NANOS, clamp(event.updateNanos));
+        buffer.putInt(at + SCHEDULER_NANOS, clamp(event.schedulerNanos));
+        buffer.putInt(at + INTERACTION_NANOS,
+                clamp(event.interactionNanos));
+        buffer.putLong(WRITTEN, ++written);
+    }
+
+    private static int clamp(long nanos) {
+        return (int) Math.min(nanos, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Flushes the mapping to the file, only needed to survive the machine
+     * itself going down.
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1)
+            throw new IllegalArgumentException("Expected a tick log file");
+        PrintWriter out = new PrintWriter(System.out);
+        dump(Path.of(args[0]), out);
+        out.flush();
+    }
+
+    /**
+     * Writes the records in a log file as CSV, oldest first.
+     */
+    public static void dump(Path file, PrintWriter out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY,
+                    0, channel.size());
+            if (channel.size() < HEADER_BYTES || in.getInt(0) != MAGIC)
+                throw new IOException("Not a tick log");
+            if (in.getShort(4) != VERSION
+                    || in.getShort(6) != RECORD_BYTES)
+                throw new IOException("Unsupported tick log version "
+                        + in.getShort(4));
+            int capacity = in.getInt(8);
+            long written = in.getLong(WRITTEN);
+            if (capacity <= 0 || channel.size()
+                    < HEADER_BYTES + (long) capacity * RECORD_BYTES)
+                throw new IOException("Tick log is truncated");
+            out.println("tick,heli_x,heli_y,heli_speed,heli_heading,"
+                    + "heli_fuel,pond_capacity,clouds,blimps,dormant,"
+                    + "inputs,heli_state,outcome,input_nanos,"
+                    + "cleanup_nanos,update_nanos,scheduler_nanos,"
+                    + "interaction_nanos");
+            for (long i = Math.max(0, written - capacity); i < written; i++)
+                dumpRecord(in, HEADER_BYTES
+                        + (int) (i % capacity) * RECORD_BYTES, out);
+        }
+    }
+
+    private static void dumpRecord(MappedByteBuffer in, int at,
+                                   PrintWriter out) {
+        out.printf("%d,%.2f,%.2f,%.3f,%.1f,%.1f,%.2f,%d,%d,%d,%s,%s,%s,"
+                        + "%d,%d,%d,%d,%d%n",
+                in.getLong(at + TICK), in.getFloat(at + HELI_X),
+                in.getFloat(at + HELI_Y), in.getFloat(at + HELI_SPEED),
+                in.getFloat(at + HELI_HEADING), in.getFloat(at + HELI_FUEL),
+                in.getFloat(at + CAPACITY), in.getShort(at + CLOUDS),
+                in.getShort(at + BLIMPS), in.getShort(at + DORMANT),
+                inputNames(in.get(at + INPUTS)),
+                nameAt(HELI_STATES, in.get(at + HELI_STATE)),
+                nameAt(OUTCOMES, in.getInt(at + OUTCOME)),
+                in.getInt(at + INPUT_NANOS), in.getInt(at + CLEANUP_NANOS),
+                in.getInt(at + UPDATE_NANOS),
+                in.getInt(at + SCHEDULER_NANOS),
+                in.getInt(at + INTERACTION_NANOS));
+    }
+
+    private static String inputNames(int bits) {
+        StringBuilder names = new StringBuilder();
+        for (Input input : INPUTS_BY_ORDINAL)
+            if ((bits & input.bit()) != 0)
+                names.append(names.length() == 0 ? "" : "+")
+                        .append(input.name());
+        return names.toString();
+    }
+
+    private static String nameAt(Enum<?>[] values, int ordinal) {
+        return ordinal >= 0 && ordinal < values.length
+                ? values[ordinal].name() : "?" + ordinal;
+    }
+}
@@ -0,0 +1,217 @@
+package rainmaker.simulation;
+
+/**
+ * Hierarchical timing wheel driven by simulated time. Each level has
+ * SLOTS_PER_LEVEL slots, with a slot on level n spanning SLOTS_PER_LEVEL^n
+ * ticks. Events land on the lowest level whose span covers their deadline and
+ * cascade down a level whenever the level below wraps around, so a tick only
+ * ever touches the events that are actually due (plus the occasional cascade)
+ * rather than polling every registered timer.
+ * Events further out than the top level can represent are parked in its
+ * furthest slot and re-placed each time they cascade.
+ */
+public class TimingWheel {
+    public static final int LEVELS = 4;
+    public static final int SLOT_BITS = 6;
+    public static final int SLOTS_PER_LEVEL = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS_PER_LEVEL - 1;
+
+    private final double tickDurationInSec;
+    private final ScheduledEvent[][] wheels;
+    private long currentTick;
+    private double unprocessedTime;
+    private int numScheduled;
+
+    public TimingWheel(double tickDurationInSec) {
+        if (tickDurationInSec <= 0)
+            throw new IllegalArgumentException("Tick duration must be " +
+                    "positive");
+        this.tickDurationInSec = tickDurationInSec;
+        wheels = new ScheduledEvent[LEVELS][SLOTS_PER_LEVEL];
+    }
+
+    public ScheduledEvent schedule(double delayInSec, Runnable action) {
+        ScheduledEvent event = new ScheduledEvent(action,
+                currentTick + toTicks(delayInSec), 0);
+        insert(event);
+        return event;
+    }
+
+    public ScheduledEvent scheduleAtFixedRate(double periodInSec,
+                                              Runnable action) {
+        long periodInTicks = toTicks(periodInSec);
+        ScheduledEvent event = new ScheduledEvent(action,
+                currentTick + periodInTicks, periodInTicks);
+        insert(event);
+        return event;
+    }
+
+    /**
+     * Moves simulated time forward, firing every event that comes due along
+     * the way in deadline order. Leftover time smaller than one tick carries
+     * over to the next call.
+     */
+    public void advance(double deltaInSec) {
+        unprocessedTime += deltaInSec;
+        while (unprocessedTime >= tickDurationInSec) {
+            unprocessedTime -= tickDurationInSec;
+            tick();
+        }
+    }
+
+    public void tick() {
+        currentTick++;
+        int index = (int) (currentTick & SLOT_MASK);
+        if (index == 0)
+            cascadeFrom(1);
+        fireSlot(wheels[0], index);
+    }
+
+    private void cascadeFrom(int level) {
+        if (level >= LEVELS)
+            return;
+        int index = (int) ((currentTick >>> (level * SLOT_BITS)) & SLOT_MASK);
+        if (index == 0)
+            cascadeFrom(level + 1);
+
+        ScheduledEvent event = detachSlot(wheels[level], index);
+        while (event != null) {
+            ScheduledEvent next = event.next;
+            event.next = null;
+            numScheduled--;
+            if (!event.isCancelled())
+                insert(event);
+            event = next;
+        }
+    }
+
+    private void fireSlot(ScheduledEvent[] wheel, int index) {
+        ScheduledEvent event = detachSlot(wheel, index);
+        while (event != null) {
+            ScheduledEvent next = event.next;
+            event.next = null;
+            numScheduled--;
+            if (!event.isCancelled()) {
+                event.fire();
+                if (event.isPeriodic() && !event.isCancelled()) {
+                    event.advanceDeadline();
+                    insert(event);
+                }
+            }
+            event = next;
+        }
+    }
+
+    private ScheduledEvent detachSlot(ScheduledEvent[] wheel, int index) {
+        ScheduledEvent head = wheel[index];
+        wheel[index] = null;
+        for (ScheduledEvent e = head; e != null; e = e.next) {
+            e.slotOwner = null;
+            e.previous = null;
+        }
+        return head;
+    }
+
+    private void insert(ScheduledEvent event) {
+        long ticksUntilDue = Math.max(event.getDeadline() - currentTick, 0);
+        int level = 0;
+        while (level < LEVELS - 1
+                && ticksUntilDue >= (1L << ((level + 1) * SLOT_BITS)))
+            level++;
+
+        long slotTick = event.getDeadline();
+        long span = 1L << ((level + 1) * SLOT_BITS);
+        if (ticksUntilDue >= span)
+            slotTick = currentTick + span - 1;
+        int index = (int) ((slotTick >>> (level * SLOT_BITS)) & SLOT_MASK);
+        link(wheels[level], index, event);
+        numScheduled++;
+    }
+
+    private static void link(ScheduledEvent[] wheel, int index,
+                             ScheduledEvent event) {
+        event.slotOwner = wheel;
+        event.slotIndex = index;
+        event.previous = null;
+        event.next = wheel[index];
+        if (wheel[index] != null)
+            wheel[index].previous = event;
+        wheel[index] = event;
+    }
+
+    /**
+     * Cancels the event and unlinks it from its slot straight away instead
+     * of waiting for its slot to come around.
+     */
+    public void cancel(ScheduledEvent event) {
+        event.cancel();
+        if (event.slotOwner == null)
+            return;
+        if (event.previous != null)
+            event.previous.next = event.next;
+        else
+            event.slotOwner[event.slotIndex] = event.next;
+        if (event.next != null)
+            event.next.previous = event.previous;
+        event.slotOwner = null;
+        event.previous = event.next = null;
+        numScheduled--;
+    }
+
+    public void clear() {
+        for (ScheduledEvent[] wheel : wheels)
+            for (int i = 0; i < wheel.length; i++)
+                detachSlot(wheel, i);
+        numScheduled = 0;
+        unprocessedTime = 0;
+    }
+
+    /**
+     * Empties the wheel and sets its clock, ready for a saved schedule to be
+     * put back slot by slot with append.
+     */
+    void restart(long currentTick) {
+        clear();
+        this.currentTick = currentTick;
+    }
+
+    /**
+     * Links the event at the end of the given slot, so appending a saved
+     * slot's events in order rebuilds it exactly, firing order included.
+     */
+    void append(int level, int index, ScheduledEvent event) {
+        ScheduledEvent[] wheel = wheels[level];
+        ScheduledEvent tail = wheel[index];
+        while (tail != null && tail.next != null)
+            tail = tail.next;
+        event.slotOwner = wheel;
+        event.slotIndex = index;
+        event.previous = tail;
+        event.next = null;
+        if (tail == null)
+            wheel[index] = event;
+        else
+            tail.next = event;
+        numScheduled++;
+    }
+
+    ScheduledEvent getSlot(int level, int index) {
+        return wheels[level][index];
+    }
+
+    private long toTicks(double timeInSec) {
+        return Math.max(1, Math.round(timeInSec / tickDurationInSec));
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public double getTickDurationInSec() {
+        return tickDurationInSec;
+    }
+
+    public int getNumScheduled() {
+        return numScheduled;
+    }
+}
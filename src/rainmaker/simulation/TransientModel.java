@@ -0,0 +1,105 @@
+package rainmaker.simulation;
+
+import rainmaker.Game;
+
+/**
+ * Simulation side of anything that drifts across the map with the wind and
+ * dies once it has left the far side (clouds and blimps). Position is treated
+ * as the center of the object, as with GameObject.
+ */
+public abstract class TransientModel {
+    private final int id;
+    private final double width;
+    private final double speedOffset;
+    private double x, y;
+    private double speed, drift;
+    private TransientState state;
+
+    public TransientModel(int id, double x, double y, double width,
+                          double speed, double speedOffset) {
+        this.id = id;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.speed = speed;
+        this.speedOffset = speedOffset;
+        state = TransientState.CREATED;
+    }
+
+    public void update() {
+        state = state.update(this);
+    }
+
+    public void impartVelocity(double windX, double windY) {
+        state.impartVelocity(this, windX, windY);
+    }
+
+    /**
+     * Whole ticks until the object's leading edge crosses into view at its
+     * current velocity: 0 if it already has, -1 if it never will.
+     */
+    public long ticksUntilInView() {
+        double distance = -(x + width / 2);
+        if (distance < 0)
+            return 0;
+        if (speed < Game.EFFECTIVELY_ZERO)
+            return -1;
+        return (long) Math.ceil(distance / speed);
+    }
+
+    /**
+     * Moves the object to where the given number of ticks at its current
+     * velocity would have taken it, in one step.
+     */
+    void advanceBy(long ticks) {
+        moveBy(speed * ticks, drift * ticks);
+    }
+
+    void moveBy(double dx, double dy) {
+        x += dx;
+        y += dy;
+    }
+
+    void setVelocity(double speed, double drift) {
+        this.speed = speed;
+        this.drift = drift;
+    }
+
+    void setTransientState(TransientState state) {
+        this.state = state;
+    }
+
+    double getDrift() {
+        return drift;
+    }
+
+    double getSpeedOffset() {
+        return speedOffset;
+    }
+
+    public abstract boolean isDead();
+
+    public TransientState getTransientState() {
+        return state;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+}
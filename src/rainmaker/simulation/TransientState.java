@@ -0,0 +1,50 @@
+package rainmaker.simulation;
+
+import rainmaker.Game;
+
+/**
+ * Stateless behaviors shared by every TransientModel; the velocity they act
+ * on lives in the model itself, so moving between states allocates nothing.
+ */
+public enum TransientState {
+    CREATED {
+        @Override
+        TransientState update(TransientModel object) {
+            object.moveBy(object.getSpeed(), object.getDrift());
+
+            if (object.getX() + (object.getWidth() / 2) > 0)
+                return IN_VIEW;
+            return this;
+        }
+    },
+    IN_VIEW {
+        @Override
+        TransientState update(TransientModel object) {
+            object.moveBy(object.getSpeed(), object.getDrift());
+
+            if (object.getX() - (object.getWidth() / 2) > Game.WORLD_WIDTH) {
+                object.setVelocity(0, 0);
+                return DEAD;
+            }
+            return this;
+        }
+    },
+    DEAD {
+        @Override
+        TransientState update(TransientModel object) {
+            return this;
+        }
+
+        @Override
+        void impartVelocity(TransientModel object, double windX,
+                            double windY) {
+            /* pointless */
+        }
+    };
+
+    abstract TransientState update(TransientModel object);
+
+    void impartVelocity(TransientModel object, double windX, double windY) {
+        object.setVelocity(windX + object.getSpeedOffset(), windY);
+    }
+}
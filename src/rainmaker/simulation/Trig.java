@@ -0,0 +1,41 @@
+package rainmaker.simulation;
+
+/**
+ * Sine and cosine looked up from tables by angle in degrees, quantized to
+ * 1/STEPS_PER_DEGREE of a degree. Angles in [0, 360) that are whole multiples
+ * of the step come back exactly as Math would give them. Angles outside that
+ * range (headings are never wrapped, so they often are) are wrapped into it
+ * first, so they match Math for the wrapped angle, which can differ from
+ * Math for the original in the last bits. Any other angle is off by at most
+ * half a step, far below a pixel at the radii outlines are drawn at.
+ */
+public final class Trig {
+    public static final int STEPS_PER_DEGREE = 8;
+    public static final int TABLE_SIZE = 360 * STEPS_PER_DEGREE;
+
+    private static final double[] SIN = new double[TABLE_SIZE];
+    private static final double[] COS = new double[TABLE_SIZE];
+
+    static {
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            double radians = Math.toRadians((double) i / STEPS_PER_DEGREE);
+            SIN[i] = Math.sin(radians);
+            COS[i] = Math.cos(radians);
+        }
+    }
+
+    private Trig() { }
+
+    public static double sin(double degrees) {
+        return SIN[indexOf(degrees)];
+    }
+
+    public static double cos(double degrees) {
+        return COS[indexOf(degrees)];
+    }
+
+    private static int indexOf(double degrees) {
+        return (int) Math.floorMod(Math.round(degrees * STEPS_PER_DEGREE),
+                (long) TABLE_SIZE);
+    }
+}
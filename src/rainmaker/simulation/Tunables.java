@@ -0,0 +1,161 @@
+package rainmaker.simulation;
+
+import rainmaker.Game;
+
+/**
+ * Spawning knobs that can be turned while a game runs (e.g. over JMX). The
+ * World reads them each time it uses them, so a change takes effect on the
+ * next tick; they start out at the Game constants. The number of ponds, the
+ * capacity to win, the fuel consumption rate and the rain frequency are only
+ * read when a World is built.
+ */
+public class Tunables {
+    private volatile int numPonds;
+    private volatile double capacityToWin;
+    private volatile int minBlimps;
+    private volatile int minClouds;
+    private volatile int maxClouds;
+    private volatile int cloudRespawnChancePercent;
+    private volatile int blimpRespawnChancePercent;
+    private volatile double refuelRate;
+    private volatile double fuelConsumptionRate;
+    private volatile double rainFrequency;
+
+    public Tunables() {
+        numPonds = Game.NUM_PONDS;
+        capacityToWin = Game.TOTAL_POND_CAPACITY_TO_WIN;
+        minClouds = Game.MIN_CLOUDS;
+        maxClouds = Game.MAX_CLOUDS;
+        cloudRespawnChancePercent = Game.CLOUD_RESPAWN_CHANCE_PERCENT;
+        blimpRespawnChancePercent = Game.BLIMP_RESPAWN_CHANCE_PERCENT;
+        refuelRate = Game.REFUEL_RATE;
+        fuelConsumptionRate = Game.BASE_FUEL_CONSUMPTION_RATE;
+        rainFrequency = Game.RAIN_FREQUENCY;
+    }
+
+    public int getNumPonds() {
+        return numPonds;
+    }
+
+    public void setNumPonds(int numPonds) {
+        if (numPonds < 0)
+            throw new IllegalArgumentException("numPonds must be positive");
+        this.numPonds = numPonds;
+    }
+
+    public double getCapacityToWin() {
+        return capacityToWin;
+    }
+
+    /**
+     * Infinity makes a game that can't be won, e.g. for stress runs.
+     */
+    public void setCapacityToWin(double capacityToWin) {
+        if (!(capacityToWin > 0))
+            throw new IllegalArgumentException(
+                    "capacityToWin must be positive");
+        this.capacityToWin = capacityToWin;
+    }
+
+    /**
+     * Blimps are topped up to this many straight away, on top of their
+     * chance of spawning.
+     */
+    public int getMinBlimps() {
+        return minBlimps;
+    }
+
+    public void setMinBlimps(int minBlimps) {
+        if (minBlimps < 0)
+            throw new IllegalArgumentException("minBlimps must be positive");
+        this.minBlimps = minBlimps;
+    }
+
+    public int getMinClouds() {
+        return minClouds;
+    }
+
+    public void setMinClouds(int minClouds) {
+        if (minClouds < 0 || minClouds > maxClouds)
+            throw new IllegalArgumentException(
+                    "minClouds must be between 0 and maxClouds");
+        this.minClouds = minClouds;
+    }
+
+    public int getMaxClouds() {
+        return maxClouds;
+    }
+
+    public void setMaxClouds(int maxClouds) {
+        if (maxClouds < minClouds)
+            throw new IllegalArgumentException(
+                    "maxClouds must be at least minClouds");
+        this.maxClouds = maxClouds;
+    }
+
+    public int getCloudRespawnChancePercent() {
+        return cloudRespawnChancePercent;
+    }
+
+    public void setCloudRespawnChancePercent(int percent) {
+        cloudRespawnChancePercent = checkPercent(percent);
+    }
+
+    public int getBlimpRespawnChancePercent() {
+        return blimpRespawnChancePercent;
+    }
+
+    public void setBlimpRespawnChancePercent(int percent) {
+        blimpRespawnChancePercent = checkPercent(percent);
+    }
+
+    /**
+     * The most fuel a blimp gives up per tick of refueling.
+     */
+    public double getRefuelRate() {
+        return refuelRate;
+    }
+
+    public void setRefuelRate(double refuelRate) {
+        if (!(refuelRate >= 0))
+            throw new IllegalArgumentException(
+                    "refuelRate must be positive");
+        this.refuelRate = refuelRate;
+    }
+
+    /**
+     * Fuel burned per tick while the engine runs, before any burned for
+     * speed.
+     */
+    public double getFuelConsumptionRate() {
+        return fuelConsumptionRate;
+    }
+
+    public void setFuelConsumptionRate(double fuelConsumptionRate) {
+        if (!(fuelConsumptionRate >= 0))
+            throw new IllegalArgumentException(
+                    "fuelConsumptionRate must be positive");
+        this.fuelConsumptionRate = fuelConsumptionRate;
+    }
+
+    /**
+     * Seconds between chances for saturated clouds to rain.
+     */
+    public double getRainFrequency() {
+        return rainFrequency;
+    }
+
+    public void setRainFrequency(double rainFrequency) {
+        if (!(rainFrequency > 0))
+            throw new IllegalArgumentException(
+                    "rainFrequency must be positive");
+        this.rainFrequency = rainFrequency;
+    }
+
+    private static int checkPercent(int percent) {
+        if (percent < 0 || percent > Game.HUNDRED_PERCENT)
+            throw new IllegalArgumentException(
+                    "Chance must be between 0 and 100 percent");
+        return percent;
+    }
+}
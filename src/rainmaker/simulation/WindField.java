@@ -0,0 +1,148 @@
+package rainmaker.simulation;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Wind as a coarse grid of velocity vectors rather than one speed shared by
+ * everything. Each shift picks a new target vector per grid node around a
+ * randomly drawn mean; every evolve step eases the current vectors toward
+ * their targets so gusts roll in instead of snapping. Positions are sampled
+ * with bilinear interpolation between the four surrounding nodes.
+ * All state lives in flat primitive arrays indexed row-major so sampling a
+ * whole batch of entities is one tight loop with no allocation.
+ */
+public class WindField {
+    public static final double CELL_SPEED_STD_DEV = 0.1;
+    public static final double VERTICAL_STD_DEV = 0.04;
+    public static final double EASING_PER_EVOLVE = 0.01;
+
+    private final int columns, rows;
+    private final double cellSize;
+    private final float[] velocityX, velocityY;
+    private final float[] targetX, targetY;
+    private final Random random;
+    private double meanSpeed;
+
+    public WindField(double width, double height, double cellSize,
+                     Random random) {
+        this.cellSize = cellSize;
+        this.random = random;
+        columns = (int) Math.ceil(width / cellSize) + 1;
+        rows = (int) Math.ceil(height / cellSize) + 1;
+        velocityX = new float[columns * rows];
+        velocityY = new float[columns * rows];
+        targetX = new float[columns * rows];
+        targetY = new float[columns * rows];
+    }
+
+    /**
+     * Draws a new prevailing speed and new per-node targets around it.
+     */
+    public void shift(double mean, double stdDev) {
+        /* how to use nextGaussian(): https://stackoverflow.com/a/6012014 */
+        meanSpeed = random.nextGaussian() * stdDev + mean;
+        for (int i = 0; i < targetX.length; i++) {
+            targetX[i] = (float) (meanSpeed
+                    + random.nextGaussian() * CELL_SPEED_STD_DEV);
+            targetY[i] = (float) (random.nextGaussian() * VERTICAL_STD_DEV);
+        }
+    }
+
+    /**
+     * Jumps straight to the targets, used right after the first shift so the
+     * field doesn't start out calm.
+     */
+    public void settle() {
+        System.arraycopy(targetX, 0, velocityX, 0, targetX.length);
+        System.arraycopy(targetY, 0, velocityY, 0, targetY.length);
+    }
+
+    public void evolve() {
+        for (int i = 0; i < velocityX.length; i++) {
+            velocityX[i] = (float) (velocityX[i]
+                    + (targetX[i] - velocityX[i]) * EASING_PER_EVOLVE);
+            velocityY[i] = (float) (velocityY[i]
+                    + (targetY[i] - velocityY[i]) * EASING_PER_EVOLVE);
+        }
+    }
+
+    /**
+     * Writes the wind velocity at each of the first count positions into the
+     * matching output slots. Positions outside the field are clamped to its
+     * edge.
+     */
+    public void sample(float[] xs, float[] ys, float[] outX, float[] outY,
+                       int count) {
+        for (int i = 0; i < count; i++) {
+            double gridX = clamp(xs[i] / cellSize, columns - 1);
+            double gridY = clamp(ys[i] / cellSize, rows - 1);
+            int column = Math.min((int) gridX, columns - 2);
+            int row = Math.min((int) gridY, rows - 2);
+            float fracX = (float) (gridX - column);
+            float fracY = (float) (gridY - row);
+
+            int lowerLeft = row * columns + column;
+            int upperLeft = lowerLeft + columns;
+            outX[i] = interpolate(velocityX, lowerLeft, upperLeft,
+                    fracX, fracY);
+            outY[i] = interpolate(velocityY, lowerLeft, upperLeft,
+                    fracX, fracY);
+        }
+    }
+
+    private static float interpolate(float[] grid, int lowerLeft,
+                                     int upperLeft, float fracX,
+                                     float fracY) {
+        float lower = grid[lowerLeft]
+                + (grid[lowerLeft + 1] - grid[lowerLeft]) * fracX;
+        float upper = grid[upperLeft]
+                + (grid[upperLeft + 1] - grid[upperLeft]) * fracX;
+        return lower + (upper - lower) * fracY;
+    }
+
+    private static double clamp(double value, double max) {
+        return value < 0 ? 0 : Math.min(value, max);
+    }
+
+    /**
+     * Writes the mean speed and every node's current and target vector, the
+     * whole of the field's state.
+     */
+    void writeTo(ByteBuffer out) {
+        out.putDouble(meanSpeed);
+        for (int i = 0; i < velocityX.length; i++) {
+            out.putFloat(velocityX[i]).putFloat(velocityY[i]);
+            out.putFloat(targetX[i]).putFloat(targetY[i]);
+        }
+    }
+
+    void readFrom(ByteBuffer in) {
+        meanSpeed = in.getDouble();
+        for (int i = 0; i < velocityX.length; i++) {
+            velocityX[i] = in.getFloat();
+            velocityY[i] = in.getFloat();
+            targetX[i] = in.getFloat();
+            targetY[i] = in.getFloat();
+        }
+    }
+
+    /**
+     * Bytes writeTo takes.
+     */
+    int getEncodedSize() {
+        return Double.BYTES + 4 * Float.BYTES * velocityX.length;
+    }
+
+    public double getMeanSpeed() {
+        return meanSpeed;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+}
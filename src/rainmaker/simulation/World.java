@@ -0,0 +1,708 @@
+package rainmaker.simulation;
+
+import rainmaker.Game;
+
+import rainmaker.telemetry.DespawnEvent;
+import rainmaker.telemetry.RainFillEvent;
+import rainmaker.telemetry.RefuelEvent;
+import rainmaker.telemetry.SeedEvent;
+import rainmaker.telemetry.SpawnEvent;
+import rainmaker.telemetry.TickEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The game's rules and entities with no JavaFX in sight: spawning, wind,
+ * seeding, refueling, rain and the win/lose conditions all advance one fixed
+ * tick at a time here, and the scene graph only ever sees the result through
+ * WorldSnapshots. All randomness comes from one seeded SaveableRandom so a
+ * World can be replayed, and everything else is plain state SaveGame can
+ * write out and read back.
+ * Only compile-time constants are read from Game, which the compiler inlines,
+ * so using a World never initializes any JavaFX class.
+ */
+public class World {
+    public static final double HELIPAD_SIZE = 100;
+    public static final double HELIPAD_X = Game.WORLD_WIDTH / 2;
+    public static final double HELIPAD_Y =
+            (Game.GAME_HEIGHT / 25) + (HELIPAD_SIZE / 2);
+    public static final int INITIAL_WIND_BATCH_CAPACITY = 16;
+
+    private final SaveableRandom random;
+    private final TimingWheel scheduler;
+    private final WindField wind;
+    private final Queue<Input> pendingInputs;
+    private final List<PondModel> ponds;
+    private final List<CloudModel> clouds;
+    private final List<BlimpModel> blimps;
+    private final List<Dormant> dormant;
+    private final HelicopterModel helicopter;
+    private final PondCapacity pondCapacity;
+    private final Tunables tunables;
+    private final Runnable[] timedActions;
+    private TickLog tickLog;
+    private SimulationStats stats;
+    private float[] windXs, windYs, windVelocityX, windVelocityY;
+    private int nextId;
+    private long ticks;
+    private Outcome outcome;
+    private boolean isOutcomeStale;
+    private boolean isHelicopterTryingToSeed;
+    private int seedings, refuelings, thunderClaps;
+
+    public World(long seed) {
+        this(seed, new Tunables());
+    }
+
+    public World(long seed, Tunables tunables) {
+        this(seed, tunables, tunables.getCapacityToWin());
+        wind.shift(Game.MEAN_WIND_SPEED, Game.STD_DEV_WIND_SPEED);
+        wind.settle();
+        initPonds();
+        initClouds();
+        initBlimps();
+        helicopter.setBaseFuelConsumption(tunables.getFuelConsumptionRate());
+        watchForOutcomeChanges();
+        scheduleTimedEvents();
+    }
+
+    /**
+     * An empty world with nothing spawned or scheduled, for SaveGame to fill.
+     */
+    World(long seed, Tunables tunables, double capacityToWin) {
+        this.tunables = tunables;
+        random = new SaveableRandom(seed);
+        scheduler = new TimingWheel(Game.SCHEDULER_TICK_IN_SEC);
+        wind = new WindField(Game.WORLD_WIDTH, Game.WORLD_HEIGHT,
+                Game.WIND_GRID_CELL_SIZE, random);
+        allocateWindBatch(INITIAL_WIND_BATCH_CAPACITY);
+        pendingInputs = new ConcurrentLinkedQueue<>();
+        ponds = new ArrayList<>();
+        clouds = new ArrayList<>();
+        blimps = new ArrayList<>();
+        dormant = new ArrayList<>();
+        outcome = Outcome.PLAYING;
+        pondCapacity = new PondCapacity(capacityToWin);
+        helicopter = new HelicopterModel(HELIPAD_X, HELIPAD_Y,
+                Game.STARTING_FUEL);
+        timedActions = new Runnable[] {
+                () -> wind.shift(Game.MEAN_WIND_SPEED,
+                        Game.STD_DEV_WIND_SPEED),
+                this::fillPondsWithRain,
+                this::trySpawningBlimp
+        };
+    }
+
+    /**
+     * The outcome can only change when the ponds first fill enough, the
+     * engine shuts off or the fuel runs out, so it is only re-evaluated after
+     * one of those rather than every tick.
+     */
+    private void watchForOutcomeChanges() {
+        Runnable markOutcomeStale = () -> isOutcomeStale = true;
+        pondCapacity.setOnCapacityToWinReached(markOutcomeStale);
+        helicopter.setOnEngineOff(markOutcomeStale);
+        helicopter.setOnFuelEmpty(markOutcomeStale);
+        isOutcomeStale = true;
+    }
+
+    private void initPonds() {
+        for (int i = 0; i < tunables.getNumPonds(); i++)
+            ponds.add(new PondModel(nextId++,
+                    randomInRange(0, Game.WORLD_WIDTH),
+                    randomInRange(Game.WORLD_HEIGHT * Game.MAP_BOTTON_THIRD,
+                            Game.WORLD_HEIGHT),
+                    Game.MAX_POND_RADIUS,
+                    randomInRange(Game.MIN_POND_RADIUS,
+                            Game.MAX_STARTING_POND_RADIUS),
+                    random.nextLong(), pondCapacity));
+    }
+
+    private void initClouds() {
+        for (int i = 0; i < randomInRange(tunables.getMinClouds() - 1,
+                tunables.getMaxClouds()); i++)
+            spawnCloud(randomInRange(0, Game.WORLD_WIDTH));
+    }
+
+    private void initBlimps() {
+        for (int i = 0; i < tunables.getMinBlimps(); i++)
+            spawnBlimp(randomInRange(0, Game.WORLD_WIDTH));
+    }
+
+    /**
+     * Periodic behavior registers here rather than keeping its own
+     * time-since-last counter in the tick. The actions are kept in
+     * timedActions so a saved schedule can be matched back up with them.
+     */
+    private void scheduleTimedEvents() {
+        scheduler.scheduleAtFixedRate(Game.WIND_UPDATE_FREQ_IN_SEC,
+                timedActions[0]);
+        scheduler.scheduleAtFixedRate(tunables.getRainFrequency(),
+                timedActions[1]);
+        scheduler.scheduleAtFixedRate(Game.BLIMP_RESPAWN_ATTEMPT_FREQ_SEC,
+                timedActions[2]);
+    }
+
+    /**
+     * Records every tick from then on into log; set it before ticking
+     * starts, or from the ticking thread.
+     */
+    public void setTickLog(TickLog log) {
+        tickLog = log;
+    }
+
+    /**
+     * Times the phases of every tick from then on into stats; set it before
+     * ticking starts, or from the ticking thread.
+     */
+    public void setStats(SimulationStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Safe to call from any thread; the input is applied at the start of the
+     * next tick.
+     */
+    public void submit(Input input) {
+        pendingInputs.add(input);
+    }
+
+    public void tick() {
+        if (outcome != Outcome.PLAYING)
+            return;
+        TickEvent event = new TickEvent();
+        event.start(tickLog != null || stats != null);
+        ticks++;
+        int inputBits = applyPendingInputs();
+        event.inputNanos = event.lap();
+        removeDeadObjects();
+        event.cleanupNanos = event.lap();
+        updateObjects();
+        event.updateNanos = event.lap();
+        scheduler.tick();
+        event.schedulerNanos = event.lap();
+        refuelIfNearBlimp();
+        seedIfNearCloud();
+        tryRespawningClouds();
+        tryRespawningBlimps();
+        event.interactionNanos = event.lap();
+        if (isOutcomeStale)
+            evaluateOutcome();
+        commit(event);
+        if (stats != null)
+            stats.recordPhases(event);
+        if (tickLog != null)
+            tickLog.record(this, event, inputBits);
+    }
+
+    private void commit(TickEvent event) {
+        if (!event.shouldCommit())
+            return;
+        event.tick = ticks;
+        event.clouds = clouds.size();
+        event.blimps = blimps.size();
+        event.dormant = dormant.size();
+        event.commit();
+    }
+
+    /**
+     * Returns the bits of the inputs applied.
+     */
+    private int applyPendingInputs() {
+        int inputBits = 0;
+        Input input;
+        while ((input = pendingInputs.poll()) != null) {
+            inputBits |= input.bit();
+            switch (input) {
+                case TURN_LEFT -> helicopter.turnLeft();
+                case TURN_RIGHT -> helicopter.turnRight();
+                case SPEED_UP -> helicopter.increaseSpeed();
+                case SLOW_DOWN -> helicopter.decreaseSpeed();
+                case SEED -> isHelicopterTryingToSeed = true;
+                case IGNITION -> tryTogglingIgnition();
+            }
+        }
+        return inputBits;
+    }
+
+    private void tryTogglingIgnition() {
+        if (helicopter.isStationary() && isHelicopterWithinHelipad())
+            helicopter.toggleIgnition();
+    }
+
+    private void removeDeadObjects() {
+        clouds.removeIf(World::despawnIfDead);
+        blimps.removeIf(World::despawnIfDead);
+    }
+
+    private static boolean despawnIfDead(TransientModel object) {
+        if (!object.isDead())
+            return false;
+        DespawnEvent.emit(object.getClass(), object.getId());
+        return true;
+    }
+
+    private void updateObjects() {
+        wind.evolve();
+        blowWind();
+        for (BlimpModel b : blimps)
+            b.update();
+        helicopter.update();
+        for (CloudModel c : clouds)
+            c.update();
+    }
+
+    /**
+     * Packs every cloud and blimp position into primitive arrays and samples
+     * the wind field for all of them in one pass.
+     */
+    private void blowWind() {
+        int count = clouds.size() + blimps.size();
+        if (count > windXs.length)
+            allocateWindBatch(Math.max(count, windXs.length * 2));
+
+        int i = 0;
+        for (CloudModel c : clouds) {
+            windXs[i] = (float) c.getX();
+            windYs[i++] = (float) c.getY();
+        }
+        for (BlimpModel b : blimps) {
+            windXs[i] = (float) b.getX();
+            windYs[i++] = (float) b.getY();
+        }
+        wind.sample(windXs, windYs, windVelocityX, windVelocityY, count);
+
+        i = 0;
+        for (CloudModel c : clouds)
+            c.impartVelocity(windVelocityX[i], windVelocityY[i++]);
+        for (BlimpModel b : blimps)
+            b.impartVelocity(windVelocityX[i], windVelocityY[i++]);
+    }
+
+    private void allocateWindBatch(int capacity) {
+        windXs = new float[capacity];
+        windYs = new float[capacity];
+        windVelocityX = new float[capacity];
+        windVelocityY = new float[capacity];
+    }
+
+    private void refuelIfNearBlimp() {
+        for (BlimpModel b : blimps)
+            if (isRefuelingPossible(b)) {
+                double extractedFuel =
+                        b.extractFuel(tunables.getRefuelRate());
+                helicopter.refuelBy(extractedFuel);
+                if (extractedFuel > 0) {
+                    refuelings++;
+                    RefuelEvent.emit(b.getId(), extractedFuel,
+                            helicopter.getRemainingFuel());
+                }
+            }
+    }
+
+    private boolean isRefuelingPossible(BlimpModel blimp) {
+        boolean isColliding = isHelicopterTouching(blimp.getX(),
+                blimp.getY(), blimp.getWidth(), blimp.getHeight());
+        boolean isSpeedMatching = Math.abs(helicopter.getSpeed()
+                - blimp.getSpeed()) < Game.REFUELING_SPEED_DIFF_MARGIN;
+        return isColliding && isSpeedMatching;
+    }
+
+    private void seedIfNearCloud() {
+        if (isHelicopterTryingToSeed)
+            for (CloudModel c : clouds)
+                if (isHelicopterTouching(c.getX(), c.getY(), c.getWidth(),
+                        c.getHeight())) {
+                    c.seed();
+                    seedings++;
+                    SeedEvent.emit(c.getId(), c.getSaturation());
+                }
+        isHelicopterTryingToSeed = false;
+    }
+
+    private void tryRespawningClouds() {
+        int numClouds = clouds.size() + countDormant(CloudModel.class);
+        if (numClouds < tunables.getMinClouds())
+            respawnCloud();
+        else if (numClouds < tunables.getMaxClouds()) {
+            int randomNumIn100 =
+                    (int) (random.nextDouble() * Game.HUNDRED_PERCENT);
+            if (randomNumIn100 < tunables.getCloudRespawnChancePercent())
+                respawnCloud();
+        }
+    }
+
+    private void respawnCloud() {
+        spawnCloud(-Game.MAX_CLOUD_MAJOR_RADIUS * 2);
+    }
+
+    private void spawnCloud(double x) {
+        admit(new CloudModel(nextId++, x,
+                randomInRange(Game.WORLD_HEIGHT * Game.MAP_BOTTON_THIRD,
+                        Game.WORLD_HEIGHT),
+                randomInRange(Game.MIN_CLOUD_MAJOR_RADIUS,
+                        Game.MAX_CLOUD_MAJOR_RADIUS),
+                randomInRange(Game.MIN_CLOUD_MINOR_RADIUS,
+                        Game.MAX_CLOUD_MINOR_RADIUS),
+                Game.MEAN_WIND_SPEED,
+                randomInRange(0, Game.MAX_CLOUD_SPEED_OFFSET),
+                random.nextLong()), clouds);
+    }
+
+    private void trySpawningBlimp() {
+        int chance = (int) randomInRange(0, Game.HUNDRED_PERCENT);
+        if (chance <= tunables.getBlimpRespawnChancePercent())
+            spawnBlimp(-BlimpModel.BODY_WIDTH / 2);
+    }
+
+    private void tryRespawningBlimps() {
+        if (blimps.size() + countDormant(BlimpModel.class)
+                < tunables.getMinBlimps())
+            spawnBlimp(-BlimpModel.BODY_WIDTH / 2);
+    }
+
+    private void spawnBlimp(double x) {
+        admit(new BlimpModel(nextId++, x,
+                randomInRange(0, Game.WORLD_HEIGHT),
+                randomInRange(Game.BLIMP_MIN_SPEED, Game.BLIMP_MAX_SPEED),
+                randomInRange(Game.BLIMP_MIN_SPEED_OFFSET,
+                        Game.BLIMP_MAX_SPEED_OFFSET),
+                randomInRange(Game.BLIMP_MIN_FUEL, Game.BLIMP_MAX_FUEL)),
+                blimps);
+    }
+
+    /**
+     * Culls objects spawned out of view: rather than being stepped, blown on
+     * and drawn every tick until they drift in, they are held dormant out of
+     * every per-tick loop (and so out of snapshots and the scene graph). Their
+     * velocity is sampled from the wind once, and a one-shot event wakes them
+     * on the tick they would have come into view, moving them there in one
+     * step.
+     */
+    private <T extends TransientModel> void admit(T object, List<T> active) {
+        blowWindOn(object);
+        long ticksUntilInView = object.ticksUntilInView();
+        SpawnEvent.emit(object.getClass(), object.getId(), object.getX(),
+                object.getY(), ticksUntilInView > 0);
+        if (ticksUntilInView <= 0) {
+            insertById(active, object);
+            return;
+        }
+        scheduler.schedule(ticksUntilInView * Game.SCHEDULER_TICK_IN_SEC,
+                addDormant(object, scheduler.getCurrentTick()));
+    }
+
+    Dormant addDormant(TransientModel object, long since) {
+        Dormant d = new Dormant(object, since);
+        dormant.add(d);
+        return d;
+    }
+
+    /**
+     * A culled object and the tick it went dormant on. It is itself the
+     * action of the one-shot event that wakes it.
+     */
+    final class Dormant implements Runnable {
+        private final TransientModel object;
+        private final long since;
+
+        private Dormant(TransientModel object, long since) {
+            this.object = object;
+            this.since = since;
+        }
+
+        @Override
+        public void run() {
+            object.advanceBy(scheduler.getCurrentTick() - since);
+            dormant.remove(this);
+            addActive(object);
+        }
+
+        TransientModel getObject() {
+            return object;
+        }
+
+        long getSince() {
+            return since;
+        }
+    }
+
+    void addActive(TransientModel object) {
+        if (object instanceof CloudModel c)
+            insertById(clouds, c);
+        else
+            insertById(blimps, (BlimpModel) object);
+    }
+
+    private void blowWindOn(TransientModel object) {
+        windXs[0] = (float) object.getX();
+        windYs[0] = (float) object.getY();
+        wind.sample(windXs, windYs, windVelocityX, windVelocityY, 1);
+        object.impartVelocity(windVelocityX[0], windVelocityY[0]);
+    }
+
+    /**
+     * Keeps the lists in id order, which snapshots rely on, even when a later
+     * spawn wakes before an earlier one.
+     */
+    private static <T extends TransientModel> void insertById(List<T> list,
+                                                              T object) {
+        int i = list.size();
+        while (i > 0 && list.get(i - 1).getId() > object.getId())
+            i--;
+        list.add(i, object);
+    }
+
+    private int countDormant(Class<? extends TransientModel> type) {
+        int count = 0;
+        for (Dormant d : dormant)
+            if (type.isInstance(d.object))
+                count++;
+        return count;
+    }
+
+    private void fillPondsWithRain() {
+        for (PondModel p : ponds)
+            for (CloudModel c : clouds)
+                fillPondRelativeToCloudDistance(p, c);
+    }
+
+    private void fillPondRelativeToCloudDistance(PondModel pond,
+                                                 CloudModel cloud) {
+        double pondDiameter = 2 * pond.getMaxRadius();
+        double pondCloudDistance = Math.hypot(cloud.getX() - pond.getX(),
+                cloud.getY() - pond.getY());
+        double rainRange = Game.MAX_RANGE_RAIN_MULTIPLIER * pondDiameter;
+        if (pondCloudDistance <= rainRange) {
+            boolean hasRained = cloud.tryToRain();
+            if (hasRained) {
+                pond.fillByIncrement(1 - (pondCloudDistance / rainRange));
+                RainFillEvent.emit(pond.getId(), cloud.getId(),
+                        pondCloudDistance, pond.getPercentFull());
+                if (random.nextDouble() < Game.THUNDER_CHANCE)
+                    thunderClaps++;
+            }
+        }
+    }
+
+    private void evaluateOutcome() {
+        isOutcomeStale = false;
+        if (!helicopter.hasFuel())
+            outcome = Outcome.LOST;
+        else if (hasMetWinConditions())
+            outcome = Outcome.WON;
+    }
+
+    private boolean hasMetWinConditions() {
+        return pondCapacity.hasReachedCapacityToWin()
+                && helicopter.hasFuel()
+                && helicopter.isEngineOff()
+                && isHelicopterWithinHelipad();
+    }
+
+    /**
+     * Whether the helicopter's rotor circle overlaps the axis-aligned
+     * rectangle centered at (x, y).
+     */
+    private boolean isHelicopterTouching(double x, double y, double width,
+                                         double height) {
+        double nearestX = Math.max(x - width / 2,
+                Math.min(helicopter.getX(), x + width / 2));
+        double nearestY = Math.max(y - height / 2,
+                Math.min(helicopter.getY(), y + height / 2));
+        double dx = helicopter.getX() - nearestX;
+        double dy = helicopter.getY() - nearestY;
+        double radius = helicopter.getBoundRadius();
+        return dx * dx + dy * dy < radius * radius;
+    }
+
+    private boolean isHelicopterWithinHelipad() {
+        double radius = helicopter.getBoundRadius();
+        double halfPad = HELIPAD_SIZE / 2;
+        return HELIPAD_X - halfPad < helicopter.getX() - radius
+                && HELIPAD_X + halfPad > helicopter.getX() + radius
+                && HELIPAD_Y - halfPad < helicopter.getY() - radius
+                && HELIPAD_Y + halfPad > helicopter.getY() + radius;
+    }
+
+    private double randomInRange(double min, double max) {
+        return random.nextDouble() * (max - min) + min;
+    }
+
+    public double getTotalPondCapacity() {
+        return pondCapacity.getTotal();
+    }
+
+    /**
+     * Copies the current state of every entity into the snapshot, growing
+     * its arrays if needed.
+     */
+    public void writeTo(WorldSnapshot snapshot) {
+        snapshot.tick = ticks;
+        snapshot.outcome = outcome;
+        snapshot.windSpeed = wind.getMeanSpeed();
+        snapshot.totalPondCapacity = getTotalPondCapacity();
+        snapshot.seedings = seedings;
+        snapshot.refuelings = refuelings;
+        snapshot.thunderClaps = thunderClaps;
+        writeHelicopterTo(snapshot);
+        writePondsTo(snapshot);
+        writeCloudsTo(snapshot);
+        writeBlimpsTo(snapshot);
+    }
+
+    private void writeHelicopterTo(WorldSnapshot snapshot) {
+        snapshot.heliX = helicopter.getX();
+        snapshot.heliY = helicopter.getY();
+        snapshot.heliHeading = helicopter.getHeading();
+        snapshot.heliSpeed = helicopter.getSpeed();
+        snapshot.heliFuel = helicopter.getRemainingFuel();
+        snapshot.rotorSpeed = helicopter.getRotorSpeed();
+        snapshot.heliState = helicopter.getState();
+    }
+
+    private void writePondsTo(WorldSnapshot snapshot) {
+        snapshot.ensurePondCapacity(ponds.size());
+        snapshot.numPonds = ponds.size();
+        for (int i = 0; i < ponds.size(); i++) {
+            PondModel p = ponds.get(i);
+            snapshot.pondIds[i] = p.getId();
+            snapshot.pondX[i] = p.getX();
+            snapshot.pondY[i] = p.getY();
+            snapshot.pondMaxRadius[i] = p.getMaxRadius();
+            snapshot.pondRadius[i] = p.getCurrentRadius();
+            snapshot.pondPercentFull[i] = p.getPercentFull();
+            snapshot.pondShapeSeeds[i] = p.getShapeSeed();
+        }
+    }
+
+    private void writeCloudsTo(WorldSnapshot snapshot) {
+        snapshot.ensureCloudCapacity(clouds.size());
+        snapshot.numClouds = clouds.size();
+        for (int i = 0; i < clouds.size(); i++) {
+            CloudModel c = clouds.get(i);
+            snapshot.cloudIds[i] = c.getId();
+            snapshot.cloudX[i] = c.getX();
+            snapshot.cloudY[i] = c.getY();
+            snapshot.cloudMajorRadius[i] = c.getMajorAxisRadius();
+            snapshot.cloudMinorRadius[i] = c.getMinorAxisRadius();
+            snapshot.cloudSaturation[i] = c.getSaturation();
+            snapshot.cloudSpeed[i] = c.getSpeed();
+            snapshot.cloudRaining[i] = c.isRaining();
+            snapshot.cloudShapeSeeds[i] = c.getShapeSeed();
+        }
+    }
+
+    private void writeBlimpsTo(WorldSnapshot snapshot) {
+        snapshot.ensureBlimpCapacity(blimps.size());
+        snapshot.numBlimps = blimps.size();
+        for (int i = 0; i < blimps.size(); i++) {
+            BlimpModel b = blimps.get(i);
+            snapshot.blimpIds[i] = b.getId();
+            snapshot.blimpX[i] = b.getX();
+            snapshot.blimpY[i] = b.getY();
+            snapshot.blimpFuel[i] = b.getFuel();
+            snapshot.blimpInView[i] = b.isInView();
+        }
+    }
+
+    /**
+     * Puts back the bookkeeping a save holds once SaveGame has restored the
+     * entities, then starts watching for outcome changes again.
+     */
+    void finishRestore(long ticks, int nextId, Outcome outcome,
+                       boolean isOutcomeStale, int seedings,
+                       int refuelings, int thunderClaps) {
+        this.ticks = ticks;
+        this.nextId = nextId;
+        this.outcome = outcome;
+        this.seedings = seedings;
+        this.refuelings = refuelings;
+        this.thunderClaps = thunderClaps;
+        watchForOutcomeChanges();
+        this.isOutcomeStale = isOutcomeStale;
+    }
+
+    void addPond(PondModel pond) {
+        ponds.add(pond);
+    }
+
+    SaveableRandom getRandom() {
+        return random;
+    }
+
+    WindField getWind() {
+        return wind;
+    }
+
+    PondCapacity getPondCapacity() {
+        return pondCapacity;
+    }
+
+    List<Dormant> getDormant() {
+        return dormant;
+    }
+
+    /**
+     * The wind shift, rain and blimp spawn actions, in that order.
+     */
+    Runnable[] getTimedActions() {
+        return timedActions;
+    }
+
+    int getNextId() {
+        return nextId;
+    }
+
+    boolean isOutcomeStale() {
+        return isOutcomeStale;
+    }
+
+    int getSeedings() {
+        return seedings;
+    }
+
+    int getRefuelings() {
+        return refuelings;
+    }
+
+    int getThunderClaps() {
+        return thunderClaps;
+    }
+
+    public HelicopterModel getHelicopter() {
+        return helicopter;
+    }
+
+    public List<PondModel> getPonds() {
+        return Collections.unmodifiableList(ponds);
+    }
+
+    public List<CloudModel> getClouds() {
+        return Collections.unmodifiableList(clouds);
+    }
+
+    public List<BlimpModel> getBlimps() {
+        return Collections.unmodifiableList(blimps);
+    }
+
+    public int getNumDormant() {
+        return dormant.size();
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public TimingWheel getScheduler() {
+        return scheduler;
+    }
+}
@@ -0,0 +1,272 @@
+package rainmaker.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Everything the UI needs to draw one frame of a World, copied out into
+ * primitive arrays (one array per attribute, indexed by entity) so that the
+ * simulation can keep ticking while the UI reads. Instances are recycled by a
+ * SnapshotExchange rather than allocated per tick; the arrays only grow when
+ * an entity count exceeds every count seen so far.
+ * Entity ids are in spawn order, which lets a view line its own nodes up with
+ * a snapshot with a single merge walk.
+ */
+public class WorldSnapshot {
+    public static final int INITIAL_CAPACITY = 8;
+
+    long tick;
+    Outcome outcome;
+    double windSpeed;
+    double totalPondCapacity;
+    int seedings, refuelings, thunderClaps;
+
+    double heliX, heliY, heliHeading, heliSpeed, heliFuel, rotorSpeed;
+    HeliState heliState;
+
+    int numPonds;
+    int[] pondIds = new int[INITIAL_CAPACITY];
+    double[] pondX = new double[INITIAL_CAPACITY];
+    double[] pondY = new double[INITIAL_CAPACITY];
+    double[] pondMaxRadius = new double[INITIAL_CAPACITY];
+    double[] pondRadius = new double[INITIAL_CAPACITY];
+    int[] pondPercentFull = new int[INITIAL_CAPACITY];
+    long[] pondShapeSeeds = new long[INITIAL_CAPACITY];
+
+    int numClouds;
+    int[] cloudIds = new int[INITIAL_CAPACITY];
+    double[] cloudX = new double[INITIAL_CAPACITY];
+    double[] cloudY = new double[INITIAL_CAPACITY];
+    double[] cloudMajorRadius = new double[INITIAL_CAPACITY];
+    double[] cloudMinorRadius = new double[INITIAL_CAPACITY];
+    double[] cloudSaturation = new double[INITIAL_CAPACITY];
+    double[] cloudSpeed = new double[INITIAL_CAPACITY];
+    boolean[] cloudRaining = new boolean[INITIAL_CAPACITY];
+    long[] cloudShapeSeeds = new long[INITIAL_CAPACITY];
+
+    int numBlimps;
+    int[] blimpIds = new int[INITIAL_CAPACITY];
+    double[] blimpX = new double[INITIAL_CAPACITY];
+    double[] blimpY = new double[INITIAL_CAPACITY];
+    double[] blimpFuel = new double[INITIAL_CAPACITY];
+    boolean[] blimpInView = new boolean[INITIAL_CAPACITY];
+
+    void ensurePondCapacity(int count) {
+        if (count <= pondIds.length)
+            return;
+        int capacity = Math.max(count, pondIds.length * 2);
+        pondIds = Arrays.copyOf(pondIds, capacity);
+        pondX = Arrays.copyOf(pondX, capacity);
+        pondY = Arrays.copyOf(pondY, capacity);
+        pondMaxRadius = Arrays.copyOf(pondMaxRadius, capacity);
+        pondRadius = Arrays.copyOf(pondRadius, capacity);
+        pondPercentFull = Arrays.copyOf(pondPercentFull, capacity);
+        pondShapeSeeds = Arrays.copyOf(pondShapeSeeds, capacity);
+    }
+
+    void ensureCloudCapacity(int count) {
+        if (count <= cloudIds.length)
+            return;
+        int capacity = Math.max(count, cloudIds.length * 2);
+        cloudIds = Arrays.copyOf(cloudIds, capacity);
+        cloudX = Arrays.copyOf(cloudX, capacity);
+        cloudY = Arrays.copyOf(cloudY, capacity);
+        cloudMajorRadius = Arrays.copyOf(cloudMajorRadius, capacity);
+        cloudMinorRadius = Arrays.copyOf(cloudMinorRadius, capacity);
+        cloudSaturation = Arrays.copyOf(cloudSaturation, capacity);
+        cloudSpeed = Arrays.copyOf(cloudSpeed, capacity);
+        cloudRaining = Arrays.copyOf(cloudRaining, capacity);
+        cloudShapeSeeds = Arrays.copyOf(cloudShapeSeeds, capacity);
+    }
+
+    void ensureBlimpCapacity(int count) {
+        if (count <= blimpIds.length)
+            return;
+        int capacity = Math.max(count, blimpIds.length * 2);
+        blimpIds = Arrays.copyOf(blimpIds, capacity);
+        blimpX = Arrays.copyOf(blimpX, capacity);
+        blimpY = Arrays.copyOf(blimpY, capacity);
+        blimpFuel = Arrays.copyOf(blimpFuel, capacity);
+        blimpInView = Arrays.copyOf(blimpInView, capacity);
+    }
+
+    /**
+     * Roughly how many bytes this snapshot's arrays take up, not counting
+     * object headers.
+     */
+    public long getHeldBytes() {
+        return (long) pondIds.length * (2 * Integer.BYTES + 4 * Double.BYTES
+                + Long.BYTES)
+                + (long) cloudIds.length * (Integer.BYTES + 6 * Double.BYTES
+                + 1 + Long.BYTES)
+                + (long) blimpIds.length * (Integer.BYTES + 3 * Double.BYTES
+                + 1);
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public double getWindSpeed() {
+        return windSpeed;
+    }
+
+    public double getTotalPondCapacity() {
+        return totalPondCapacity;
+    }
+
+    public int getSeedings() {
+        return seedings;
+    }
+
+    public int getRefuelings() {
+        return refuelings;
+    }
+
+    public int getThunderClaps() {
+        return thunderClaps;
+    }
+
+    public double getHeliX() {
+        return heliX;
+    }
+
+    public double getHeliY() {
+        return heliY;
+    }
+
+    public double getHeliHeading() {
+        return heliHeading;
+    }
+
+    public double getHeliSpeed() {
+        return heliSpeed;
+    }
+
+    public double getHeliFuel() {
+        return heliFuel;
+    }
+
+    public double getRotorSpeed() {
+        return rotorSpeed;
+    }
+
+    public HeliState getHeliState() {
+        return heliState;
+    }
+
+    public int getNumPonds() {
+        return numPonds;
+    }
+
+    public int getPondId(int i) {
+        return pondIds[i];
+    }
+
+    public double getPondX(int i) {
+        return pondX[i];
+    }
+
+    public double getPondY(int i) {
+        return pondY[i];
+    }
+
+    public double getPondMaxRadius(int i) {
+        return pondMaxRadius[i];
+    }
+
+    public double getPondRadius(int i) {
+        return pondRadius[i];
+    }
+
+    public int getPondPercentFull(int i) {
+        return pondPercentFull[i];
+    }
+
+    public long getPondShapeSeed(int i) {
+        return pondShapeSeeds[i];
+    }
+
+    public int getNumClouds() {
+        return numClouds;
+    }
+
+    public int getCloudId(int i) {
+        return cloudIds[i];
+    }
+
+    public double getCloudX(int i) {
+        return cloudX[i];
+    }
+
+    public double getCloudY(int i) {
+        return cloudY[i];
+    }
+
+    public double getCloudMajorRadius(int i) {
+        return cloudMajorRadius[i];
+    }
+
+    public double getCloudMinorRadius(int i) {
+        return cloudMinorRadius[i];
+    }
+
+    public double getCloudSaturation(int i) {
+        return cloudSaturation[i];
+    }
+
+    public double getCloudSpeed(int i) {
+        return cloudSpeed[i];
+    }
+
+    public boolean isCloudRaining(int i) {
+        return cloudRaining[i];
+    }
+
+    public long getCloudShapeSeed(int i) {
+        return cloudShapeSeeds[i];
+    }
+
+    /**
+     * Index of the cloud with the given id, or a negative number if it is not
+     * in this snapshot.
+     */
+    public int indexOfCloud(int id) {
+        return Arrays.binarySearch(cloudIds, 0, numClouds, id);
+    }
+
+    public int getNumBlimps() {
+        return numBlimps;
+    }
+
+    public int getBlimpId(int i) {
+        return blimpIds[i];
+    }
+
+    public double getBlimpX(int i) {
+        return blimpX[i];
+    }
+
+    public double getBlimpY(int i) {
+        return blimpY[i];
+    }
+
+    public double getBlimpFuel(int i) {
+        return blimpFuel[i];
+    }
+
+    public boolean isBlimpInView(int i) {
+        return blimpInView[i];
+    }
+
+    /**
+     * Index of the blimp with the given id, or a negative number if it is not
+     * in this snapshot.
+     */
+    public int indexOfBlimp(int id) {
+        return Arrays.binarySearch(blimpIds, 0, numBlimps, id);
+    }
+}
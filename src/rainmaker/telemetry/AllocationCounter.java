@@ -0,0 +1,35 @@
+package rainmaker.telemetry;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * The JVM's running count of bytes allocated by the current thread, where
+ * the JVM keeps one (HotSpot does by default).
+ */
+public final class AllocationCounter {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            findThreadMXBean();
+
+    private AllocationCounter() { }
+
+    private static com.sun.management.ThreadMXBean findThreadMXBean() {
+        if (ManagementFactory.getThreadMXBean()
+                instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()
+                && threads.isThreadAllocatedMemoryEnabled())
+            return threads;
+        return null;
+    }
+
+    public static boolean isAvailable() {
+        return THREADS != null;
+    }
+
+    /**
+     * Bytes allocated by the calling thread so far, or -1 if not available.
+     */
+    public static long currentThreadAllocatedBytes() {
+        return THREADS == null ? -1
+                : THREADS.getCurrentThreadAllocatedBytes();
+    }
+}
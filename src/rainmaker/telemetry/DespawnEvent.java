@@ -0,0 +1,28 @@
+package rainmaker.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("rainmaker.Despawn")
+@Label("Despawn")
+@Category({"RainMaker", "Simulation"})
+@StackTrace(false)
+public class DespawnEvent extends Event {
+    @Label("Entity Type")
+    public Class<?> entityType;
+
+    @Label("Entity Id")
+    public int entityId;
+
+    public static void emit(Class<?> entityType, int entityId) {
+        DespawnEvent event = new DespawnEvent();
+        if (!event.isEnabled())
+            return;
+        event.entityType = entityType;
+        event.entityId = entityId;
+        event.commit();
+    }
+}
@@ -0,0 +1,43 @@
+package rainmaker.telemetry;
+
+import java.util.Arrays;
+
+/**
+ * The most recent CAPACITY frame times in a preallocated ring, so recording
+ * one never allocates. Percentiles are worked out on request from a sorted
+ * copy; only one thread may record, but any thread may ask.
+ */
+public class FrameTimes {
+    public static final int CAPACITY = 600;
+    public static final double NANOS_PER_MILLI = 1e6;
+
+    private final long[] nanos = new long[CAPACITY];
+    private volatile int count;
+    private int next;
+
+    public void record(long frameNanos) {
+        nanos[next] = frameNanos;
+        next = (next + 1) % CAPACITY;
+        if (count < CAPACITY)
+            count++;
+    }
+
+    /**
+     * The frame time in milliseconds that the given percent of recent frames
+     * took no longer than, or 0 if none have been recorded.
+     */
+    public double getPercentileMillis(double percent) {
+        int n = count;
+        if (n == 0)
+            return 0;
+        long[] sorted = Arrays.copyOf(nanos, n);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percent / 100 * n) - 1;
+        return sorted[Math.max(0, Math.min(rank, n - 1))] / NANOS_PER_MILLI;
+    }
+
+    public void clear() {
+        count = 0;
+        next = 0;
+    }
+}
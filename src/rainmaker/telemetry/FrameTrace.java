@@ -0,0 +1,145 @@
+package rainmaker.telemetry;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * An optional tracer for the JavaFX thread that records begin/end spans and
+ * instants into preallocated arrays and writes them out as Chrome trace-event
+ * JSON, which Perfetto (ui.perfetto.dev) and chrome://tracing open directly,
+ * so a single slow frame can be picked apart without attaching a profiler.
+ * <p>
+ * Nothing is recorded until start(); until then each call is one static
+ * field check. Recording is a few array stores and never allocates. The
+ * buffer is a ring, so the dump holds the most recent events, with ends
+ * whose begin was overwritten dropped. Only the JavaFX thread may record;
+ * write() must run on it too.
+ */
+public final class FrameTrace {
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+    public static final double NANOS_PER_MICRO = 1e3;
+
+    /**
+     * Everything that can be traced, each with its Chrome category.
+     */
+    public enum Span {
+        FRAME("frame"), ACQUIRE("frame"), RENDER("frame"), AUDIO("frame"),
+        HUD("frame"),
+        CAMERA("render"), HELICOPTER("render"), PONDS("render"),
+        CLOUDS("render"), BLIMPS("render"), RAIN("render"),
+        BOUNDS("render"), DISTANCE_LINES("render"),
+        POND_SPAWN("spawn"), CLOUD_SPAWN("spawn"), BLIMP_SPAWN("spawn"),
+        ENGINE_AUDIO("audio"), RAIN_AUDIO("audio"), BLIMP_AUDIO("audio"),
+        LOOP_START("audio"), LOOP_STOP("audio"), AUDIO_CUES("audio");
+
+        private final String category;
+        private final String traceName;
+
+        Span(String category) {
+            this.category = category;
+            traceName = name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    private static final byte BEGIN = 'B', END = 'E', INSTANT = 'i';
+    private static final Span[] SPANS = Span.values();
+    private static FrameTrace trace;
+
+    private final long[] nanos;
+    private final byte[] spans;
+    private final byte[] phases;
+    private final int[] ids;
+    private long recorded;
+
+    private FrameTrace(int capacity) {
+        nanos = new long[capacity];
+        spans = new byte[capacity];
+        phases = new byte[capacity];
+        ids = new int[capacity];
+    }
+
+    /**
+     * Starts recording into a ring of capacity events.
+     */
+    public static void start(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive");
+        trace = new FrameTrace(capacity);
+    }
+
+    public static boolean isRecording() {
+        return trace != null;
+    }
+
+    public static void begin(Span span) {
+        if (trace != null)
+            trace.add(span, BEGIN, 0);
+    }
+
+    public static void end(Span span) {
+        if (trace != null)
+            trace.add(span, END, 0);
+    }
+
+    /**
+     * A point in time, such as a spawn, tagged with an entity id.
+     */
+    public static void instant(Span span, int id) {
+        if (trace != null)
+            trace.add(span, INSTANT, id);
+    }
+
+    private void add(Span span, byte phase, int id) {
+        int i = (int) (recorded++ % nanos.length);
+        nanos[i] = System.nanoTime();
+        spans[i] = (byte) span.ordinal();
+        phases[i] = phase;
+        ids[i] = id;
+    }
+
+    /**
+     * Writes what has been recorded so far to out, if recording.
+     */
+    public static void write(Path out) throws IOException {
+        if (trace != null)
+            trace.writeTo(out);
+    }
+
+    private void writeTo(Path path) throws IOException {
+        int capacity = nanos.length;
+        long first = Math.max(0, recorded - capacity);
+        long origin = nanos[(int) (first % capacity)];
+        int depth = 0;
+        try (PrintWriter out = new PrintWriter(
+                Files.newBufferedWriter(path))) {
+            out.print("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+            boolean isFirst = true;
+            for (long n = first; n < recorded; n++) {
+                int i = (int) (n % capacity);
+                if (phases[i] == END && depth == 0)
+                    continue;
+                depth += phases[i] == BEGIN ? 1 : phases[i] == END ? -1 : 0;
+                if (!isFirst)
+                    out.print(',');
+                isFirst = false;
+                writeEvent(out, i, origin);
+            }
+            out.println("]}");
+        }
+    }
+
+    private void writeEvent(PrintWriter out, int i, long origin) {
+        Span span = SPANS[spans[i]];
+        out.printf(Locale.ROOT, "%n{\"name\":\"%s\",\"cat\":\"%s\","
+                        + "\"ph\":\"%c\",\"ts\":%.3f,\"pid\":1,\"tid\":1",
+                span.traceName, span.category, (char) phases[i],
+                (nanos[i] - origin) / NANOS_PER_MICRO);
+        if (phases[i] == INSTANT)
+            out.printf(Locale.ROOT, ",\"s\":\"t\",\"args\":{\"id\":%d}",
+                    ids[i]);
+        out.print('}');
+    }
+}
@@ -0,0 +1,84 @@
+package rainmaker.telemetry;
+
+import java.io.PrintWriter;
+
+/**
+ * Counts of durations in fixed BUCKET_NANOS-wide buckets up to
+ * MAX_TRACKED_NANOS, with anything longer in a final overflow bucket.
+ * Recording is an array increment, so it can be done every frame or tick
+ * without skewing either. Not thread-safe: record from one thread and read
+ * once it has finished.
+ */
+public class LatencyHistogram {
+    public static final long BUCKET_NANOS = 50_000;
+    public static final long MAX_TRACKED_NANOS = 250_000_000;
+    public static final double NANOS_PER_MILLI = 1e6;
+
+    private final String name;
+    private final long[] counts;
+    private long total, sumNanos, maxNanos;
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+        counts = new long[(int) (MAX_TRACKED_NANOS / BUCKET_NANOS) + 1];
+    }
+
+    public void record(long nanos) {
+        int bucket = (int) Math.min(Math.max(0, nanos) / BUCKET_NANOS,
+                counts.length - 1);
+        counts[bucket]++;
+        total++;
+        sumNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /**
+     * The upper bound of the bucket holding the given percentile (but no more
+     * than the longest duration recorded), in milliseconds.
+     */
+    public double getPercentileMillis(double percent) {
+        if (total == 0)
+            return 0;
+        if (percent >= 100)
+            return maxNanos / NANOS_PER_MILLI;
+        long rank = (long) Math.ceil(percent / 100 * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length - 1; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return Math.min((i + 1) * BUCKET_NANOS, maxNanos)
+                        / NANOS_PER_MILLI;
+        }
+        return maxNanos / NANOS_PER_MILLI;
+    }
+
+    public double getMeanMillis() {
+        return total == 0 ? 0 : sumNanos / NANOS_PER_MILLI / total;
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    /**
+     * One summary row: name, count, mean, p50, p90, p99, p99.9 and max.
+     */
+    public void writeSummaryTo(PrintWriter out) {
+        out.printf("%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n", name, total,
+                getMeanMillis(), getPercentileMillis(50),
+                getPercentileMillis(90), getPercentileMillis(99),
+                getPercentileMillis(99.9), getPercentileMillis(100));
+    }
+
+    /**
+     * One row per non-empty bucket: name, bucket upper bound and count. The
+     * overflow bucket's bound is the longest duration recorded.
+     */
+    public void writeBucketsTo(PrintWriter out) {
+        for (int i = 0; i < counts.length; i++)
+            if (counts[i] > 0)
+                out.printf("%s,%.3f,%d%n", name, i < counts.length - 1
+                        ? (i + 1) * BUCKET_NANOS / NANOS_PER_MILLI
+                        : maxNanos / NANOS_PER_MILLI, counts[i]);
+    }
+}
@@ -0,0 +1,60 @@
+package rainmaker.telemetry;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Live counts of the resources that outlive their owners unless disposed:
+ * an AnimationTimer is held by the toolkit from start() until stop(), and a
+ * MediaPlayer keeps its native player until dispose(). Every acquire is
+ * paired with a release, so after a restart has disposed the old game the
+ * counts should be back to what the new one holds; anything above that is a
+ * leak. Counting is one atomic add per acquire or release, and the counts
+ * may be read from any thread.
+ */
+public final class LeakTracker {
+    /**
+     * What is counted.
+     */
+    public enum Resource {
+        ANIMATION_TIMER, MEDIA_PLAYER
+    }
+
+    private static final Resource[] RESOURCES = Resource.values();
+    private static final AtomicIntegerArray live =
+            new AtomicIntegerArray(RESOURCES.length);
+
+    private LeakTracker() { }
+
+    public static void acquired(Resource resource) {
+        live.incrementAndGet(resource.ordinal());
+    }
+
+    public static void released(Resource resource) {
+        live.decrementAndGet(resource.ordinal());
+    }
+
+    public static int getLive(Resource resource) {
+        return live.get(resource.ordinal());
+    }
+
+    public static int getTotalLive() {
+        int total = 0;
+        for (Resource resource : RESOURCES)
+            total += getLive(resource);
+        return total;
+    }
+
+    /**
+     * The live counts as "animation-timer=2 media-player=3".
+     */
+    public static String describe() {
+        StringBuilder description = new StringBuilder();
+        for (Resource resource : RESOURCES)
+            description.append(description.length() == 0 ? "" : " ")
+                    .append(resource.name().toLowerCase(Locale.ROOT)
+                            .replace('_', '-'))
+                    .append('=').append(getLive(resource));
+        return description.toString();
+    }
+}
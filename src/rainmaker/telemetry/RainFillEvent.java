@@ -0,0 +1,39 @@
+package rainmaker.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.StackTrace;
+
+@Name("rainmaker.RainFill")
+@Label("Rain Fill")
+@Category({"RainMaker", "Simulation"})
+@StackTrace(false)
+public class RainFillEvent extends Event {
+    @Label("Pond Id")
+    public int pondId;
+
+    @Label("Cloud Id")
+    public int cloudId;
+
+    @Label("Distance")
+    public double distance;
+
+    @Label("Pond Fullness")
+    @Percentage
+    public double pondFullness;
+
+    public static void emit(int pondId, int cloudId, double distance,
+                            int pondPercentFull) {
+        RainFillEvent event = new RainFillEvent();
+        if (!event.isEnabled())
+            return;
+        event.pondId = pondId;
+        event.cloudId = cloudId;
+        event.distance = distance;
+        event.pondFullness = pondPercentFull / 100.0;
+        event.commit();
+    }
+}
@@ -0,0 +1,33 @@
+package rainmaker.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("rainmaker.Refuel")
+@Label("Refuel")
+@Category({"RainMaker", "Simulation"})
+@StackTrace(false)
+public class RefuelEvent extends Event {
+    @Label("Blimp Id")
+    public int blimpId;
+
+    @Label("Fuel Extracted")
+    public double fuelExtracted;
+
+    @Label("Helicopter Fuel")
+    public double helicopterFuel;
+
+    public static void emit(int blimpId, double fuelExtracted,
+                            double helicopterFuel) {
+        RefuelEvent event = new RefuelEvent();
+        if (!event.isEnabled())
+            return;
+        event.blimpId = blimpId;
+        event.fuelExtracted = fuelExtracted;
+        event.helicopterFuel = helicopterFuel;
+        event.commit();
+    }
+}
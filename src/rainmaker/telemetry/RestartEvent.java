@@ -0,0 +1,29 @@
+package rainmaker.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Spans building a new game, so its duration is the cost of (re)starting.
+ */
+@Name("rainmaker.Restart")
+@Label("Restart")
+@Category({"RainMaker", "Game"})
+@Description("A new game being set up, at launch or on restart")
+@StackTrace(false)
+public class RestartEvent extends Event {
+    @Label("Previous Outcome")
+    @Description("How the replaced game ended; empty at launch")
+    public String previousOutcome;
+
+    @Label("Previous Ticks")
+    public long previousTicks;
+
+    @Label("Leaked Resources")
+    @Description("Timers and media players the replaced game left running")
+    public int leakedResources;
+}
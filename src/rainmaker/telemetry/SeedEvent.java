@@ -0,0 +1,30 @@
+package rainmaker.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.StackTrace;
+
+@Name("rainmaker.Seed")
+@Label("Cloud Seeded")
+@Category({"RainMaker", "Simulation"})
+@StackTrace(false)
+public class SeedEvent extends Event {
+    @Label("Cloud Id")
+    public int cloudId;
+
+    @Label("Saturation")
+    @Percentage
+    public double saturation;
+
+    public static void emit(int cloudId, double saturationPercent) {
+        SeedEvent event = new SeedEvent();
+        if (!event.isEnabled())
+            return;
+        event.cloudId = cloudId;
+        event.saturation = saturationPercent / 100;
+        event.commit();
+    }
+}
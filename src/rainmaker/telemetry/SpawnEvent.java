@@ -0,0 +1,41 @@
+package rainmaker.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("rainmaker.Spawn")
+@Label("Spawn")
+@Category({"RainMaker", "Simulation"})
+@StackTrace(false)
+public class SpawnEvent extends Event {
+    @Label("Entity Type")
+    public Class<?> entityType;
+
+    @Label("Entity Id")
+    public int entityId;
+
+    @Label("X")
+    public double x;
+
+    @Label("Y")
+    public double y;
+
+    @Label("Dormant")
+    public boolean isDormant;
+
+    public static void emit(Class<?> entityType, int entityId, double x,
+                            double y, boolean isDormant) {
+        SpawnEvent event = new SpawnEvent();
+        if (!event.isEnabled())
+            return;
+        event.entityType = entityType;
+        event.entityId = entityId;
+        event.x = x;
+        event.y = y;
+        event.isDormant = isDormant;
+        event.commit();
+    }
+}
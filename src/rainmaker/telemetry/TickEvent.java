@@ -0,0 +1,84 @@
+package rainmaker.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One World tick, split into its phases. Phases are timed by calling lap()
+ * after each; when the event is disabled (and nothing else wants the timings)
+ * lap() never reads the clock, and the JIT can drop the event altogether.
+ */
+@Name("rainmaker.Tick")
+@Label("Tick")
+@Category({"RainMaker", "Simulation"})
+@Description("One fixed-rate simulation tick")
+@StackTrace(false)
+public class TickEvent extends Event {
+    @Label("Tick")
+    public long tick;
+
+    @Label("Input")
+    @Timespan
+    public long inputNanos;
+
+    @Label("Cleanup")
+    @Timespan
+    public long cleanupNanos;
+
+    @Label("Update")
+    @Description("Wind, movement and state updates")
+    @Timespan
+    public long updateNanos;
+
+    @Label("Scheduler")
+    @Description("Timed events, including rain fills and spawns")
+    @Timespan
+    public long schedulerNanos;
+
+    @Label("Interactions")
+    @Description("Refueling, seeding and cloud respawns")
+    @Timespan
+    public long interactionNanos;
+
+    @Label("Clouds")
+    public int clouds;
+
+    @Label("Blimps")
+    public int blimps;
+
+    @Label("Dormant")
+    @Description("Spawned but not yet in view")
+    public int dormant;
+
+    private transient long lastLap;
+    private transient boolean isTimed;
+
+    /**
+     * Starts the event, timing its phases even while it is disabled if
+     * alwaysTimed is set.
+     */
+    public void start(boolean alwaysTimed) {
+        begin();
+        isTimed = alwaysTimed || isEnabled();
+        if (isTimed)
+            lastLap = System.nanoTime();
+    }
+
+    /**
+     * Nanoseconds since start() or the previous lap, or 0 if the event is
+     * disabled and not always timed.
+     */
+    public long lap() {
+        if (!isTimed)
+            return 0;
+        long now = System.nanoTime();
+        long lap = now - lastLap;
+        lastLap = now;
+        return lap;
+    }
+}
@@ -0,0 +1,39 @@
+package rainmaker.training;
+
+import rainmaker.simulation.Input;
+
+/**
+ * What an agent can do in one step: any single player Input, or nothing.
+ */
+public enum Action {
+    NONE(null),
+    TURN_LEFT(Input.TURN_LEFT),
+    TURN_RIGHT(Input.TURN_RIGHT),
+    SPEED_UP(Input.SPEED_UP),
+    SLOW_DOWN(Input.SLOW_DOWN),
+    SEED(Input.SEED),
+    IGNITION(Input.IGNITION);
+
+    private static final Action[] VALUES = values();
+
+    private final Input input;
+
+    Action(Input input) {
+        this.input = input;
+    }
+
+    public static Action fromIndex(int index) {
+        return VALUES[index];
+    }
+
+    public static int count() {
+        return VALUES.length;
+    }
+
+    /**
+     * The Input this action submits, or null for NONE.
+     */
+    public Input getInput() {
+        return input;
+    }
+}
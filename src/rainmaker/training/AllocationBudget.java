@@ -0,0 +1,135 @@
+package rainmaker.training;
+
+import rainmaker.simulation.Outcome;
+import rainmaker.simulation.SnapshotExchange;
+import rainmaker.simulation.Tunables;
+import rainmaker.simulation.World;
+import rainmaker.simulation.WorldSnapshot;
+import rainmaker.telemetry.AllocationCounter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A headless check that the simulation hasn't started allocating more per
+ * tick. It plays scripted games back to back (the ScriptedPilot at the
+ * controls, a new seed whenever one ends) doing what the SimulationThread
+ * does each tick: tick the World, then write and publish a snapshot, which
+ * is read straight back as the JavaFX thread would. After a warm-up long
+ * enough for the JIT to settle, it measures the bytes the thread allocates
+ * per tick and exits with status 1 if the mean goes over the budget, so it
+ * can gate a build:
+ * <pre>
+ * java rainmaker.training.AllocationBudget --budget=512 --ticks=200000
+ * </pre>
+ * Spawns legitimately allocate, so the budget is a mean over many ticks
+ * rather than a per-tick ceiling; the worst tick is reported alongside.
+ */
+public class AllocationBudget {
+    public static final long DEFAULT_BUDGET_BYTES = 1024;
+    public static final long DEFAULT_WARMUP_TICKS = 100_000;
+    public static final long DEFAULT_TICKS = 200_000;
+
+    private final long warmupTicks, ticks;
+    private final SnapshotExchange<WorldSnapshot> snapshots;
+    private final Tunables tunables;
+    private World world;
+    private ScriptedPilot pilot;
+    private long seed;
+    private double meanBytesPerTick;
+    private long worstTickBytes;
+
+    public AllocationBudget(long warmupTicks, long ticks) {
+        if (warmupTicks < 0 || ticks <= 0)
+            throw new IllegalArgumentException("Ticks must be positive");
+        this.warmupTicks = warmupTicks;
+        this.ticks = ticks;
+        snapshots = new SnapshotExchange<>(WorldSnapshot::new);
+        tunables = new Tunables();
+        newGame();
+    }
+
+    public static void main(String[] args) {
+        if (!AllocationCounter.isAvailable()) {
+            System.err.println("This JVM doesn't count allocated bytes");
+            System.exit(2);
+        }
+        Map<String, String> named = parseNamed(args);
+        long budget = Long.parseLong(named.getOrDefault("budget",
+                String.valueOf(DEFAULT_BUDGET_BYTES)));
+        AllocationBudget run = new AllocationBudget(
+                Long.parseLong(named.getOrDefault("warmup-ticks",
+                        String.valueOf(DEFAULT_WARMUP_TICKS))),
+                Long.parseLong(named.getOrDefault("ticks",
+                        String.valueOf(DEFAULT_TICKS))));
+        run.measure();
+        System.out.printf("%.1f bytes/tick on average over %d ticks, "
+                        + "worst tick %d bytes, budget %d%n",
+                run.getMeanBytesPerTick(), run.getTicks(),
+                run.getWorstTickBytes(), budget);
+        if (run.getMeanBytesPerTick() > budget) {
+            System.out.println("FAIL: over the allocation budget");
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+    private static Map<String, String> parseNamed(String[] args) {
+        Map<String, String> named = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0)
+                throw new IllegalArgumentException("Expected --key=value but "
+                        + "got " + arg);
+            named.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return named;
+    }
+
+    /**
+     * Runs the warm-up, then the measured ticks.
+     */
+    public void measure() {
+        for (long i = 0; i < warmupTicks; i++)
+            step();
+        long start = AllocationCounter.currentThreadAllocatedBytes();
+        long last = start;
+        worstTickBytes = 0;
+        for (long i = 0; i < ticks; i++) {
+            step();
+            long now = AllocationCounter.currentThreadAllocatedBytes();
+            worstTickBytes = Math.max(worstTickBytes, now - last);
+            last = now;
+        }
+        meanBytesPerTick = (double) (last - start) / ticks;
+    }
+
+    private void step() {
+        if (world.getOutcome() != Outcome.PLAYING)
+            newGame();
+        Action action = pilot.act(world);
+        if (action.getInput() != null)
+            world.submit(action.getInput());
+        world.tick();
+        world.writeTo(snapshots.getBackBuffer());
+        snapshots.publish();
+        snapshots.acquire();
+    }
+
+    private void newGame() {
+        world = new World(seed++, tunables);
+        pilot = new ScriptedPilot(tunables.getCapacityToWin());
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public double getMeanBytesPerTick() {
+        return meanBytesPerTick;
+    }
+
+    public long getWorstTickBytes() {
+        return worstTickBytes;
+    }
+}
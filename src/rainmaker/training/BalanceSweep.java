@@ -0,0 +1,286 @@
+package rainmaker.training;
+
+import rainmaker.Game;
+import rainmaker.simulation.Outcome;
+import rainmaker.simulation.Tunables;
+import rainmaker.simulation.World;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Plays many seeded games headlessly with the ScriptedPilot over a grid of
+ * balancing constants and writes a CSV row per combination: win rate, the
+ * mean score of the wins (fuel left times pond capacity, as the win dialog
+ * shows) and the mean time to win. Every combination plays the same seeds,
+ * so differences between rows come from the constants rather than luck.
+ * <p>
+ * Each knob takes a comma-separated list of values, e.g.
+ * <pre>
+ * java rainmaker.training.BalanceSweep --refuel-rate=20,30,40
+ *         --rain-frequency=0.4,0.6 --games=1000 --out=balance.csv
+ * </pre>
+ * Knobs left out stay at their Game constants. Games run across every core
+ * unless --threads says otherwise, and give up after --minutes of game time.
+ */
+public class BalanceSweep {
+    public static final int DEFAULT_GAMES = 500;
+    public static final double DEFAULT_MINUTES = 15;
+    public static final String DEFAULT_OUT = "balance.csv";
+
+    /**
+     * The constants a sweep can vary, each by way of Tunables.
+     */
+    public enum Knob {
+        REFUEL_RATE("refuel-rate", Tunables::getRefuelRate,
+                Tunables::setRefuelRate),
+        FUEL_CONSUMPTION_RATE("fuel-consumption-rate",
+                Tunables::getFuelConsumptionRate,
+                Tunables::setFuelConsumptionRate),
+        RAIN_FREQUENCY("rain-frequency", Tunables::getRainFrequency,
+                Tunables::setRainFrequency),
+        BLIMP_RESPAWN_CHANCE("blimp-respawn-chance",
+                Tunables::getBlimpRespawnChancePercent,
+                (t, v) -> t.setBlimpRespawnChancePercent((int) v)),
+        CLOUD_RESPAWN_CHANCE("cloud-respawn-chance",
+                Tunables::getCloudRespawnChancePercent,
+                (t, v) -> t.setCloudRespawnChancePercent((int) v)),
+        MIN_BLIMPS("min-blimps", Tunables::getMinBlimps,
+                (t, v) -> t.setMinBlimps((int) v)),
+        NUM_PONDS("num-ponds", Tunables::getNumPonds,
+                (t, v) -> t.setNumPonds((int) v)),
+        CAPACITY_TO_WIN("capacity-to-win", Tunables::getCapacityToWin,
+                Tunables::setCapacityToWin);
+
+        private final String key;
+        private final ToDoubleFunction<Tunables> getter;
+        private final ObjDoubleConsumer<Tunables> setter;
+
+        Knob(String key, ToDoubleFunction<Tunables> getter,
+             ObjDoubleConsumer<Tunables> setter) {
+            this.key = key;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        double valueIn(Tunables tunables) {
+            return getter.applyAsDouble(tunables);
+        }
+
+        void apply(Tunables tunables, double value) {
+            setter.accept(tunables, value);
+        }
+    }
+
+    private final Map<Knob, double[]> grid;
+    private final int games;
+    private final long maxTicks;
+    private final int threads;
+
+    public BalanceSweep(Map<Knob, double[]> grid, int games, double minutes,
+                        int threads) {
+        if (games <= 0 || threads <= 0 || !(minutes > 0))
+            throw new IllegalArgumentException(
+                    "games, minutes and threads must be positive");
+        this.grid = new EnumMap<>(Knob.class);
+        this.grid.putAll(grid);
+        this.games = games;
+        maxTicks = (long) (minutes * 60 / Game.SCHEDULER_TICK_IN_SEC);
+        this.threads = threads;
+    }
+
+    public static void main(String[] args)
+            throws IOException, InterruptedException {
+        Map<String, String> named = parseNamed(args);
+        Map<Knob, double[]> grid = new EnumMap<>(Knob.class);
+        for (Knob knob : Knob.values())
+            if (named.containsKey(knob.getKey()))
+                grid.put(knob, parseValues(named.get(knob.getKey())));
+        BalanceSweep sweep = new BalanceSweep(grid,
+                Integer.parseInt(named.getOrDefault("games",
+                        String.valueOf(DEFAULT_GAMES))),
+                Double.parseDouble(named.getOrDefault("minutes",
+                        String.valueOf(DEFAULT_MINUTES))),
+                Integer.parseInt(named.getOrDefault("threads", String.valueOf(
+                        Runtime.getRuntime().availableProcessors()))));
+        Path out = Path.of(named.getOrDefault("out", DEFAULT_OUT));
+        sweep.run(out);
+        System.out.println("Wrote " + out.toAbsolutePath());
+    }
+
+    private static Map<String, String> parseNamed(String[] args) {
+        Map<String, String> named = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0)
+                throw new IllegalArgumentException("Expected --key=value but "
+                        + "got " + arg);
+            named.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return named;
+    }
+
+    private static double[] parseValues(String list) {
+        String[] parts = list.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++)
+            values[i] = Double.parseDouble(parts[i].trim());
+        return values;
+    }
+
+    /**
+     * Plays every combination and writes the report to out, one row per
+     * combination in grid order.
+     */
+    public void run(Path out) throws IOException, InterruptedException {
+        List<Map<Knob, Double>> combinations = combinations();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try (PrintWriter writer = new PrintWriter(
+                Files.newBufferedWriter(out))) {
+            writeHeader(writer);
+            List<List<Future<GameResult>>> results = new ArrayList<>();
+            for (Map<Knob, Double> combination : combinations)
+                results.add(submitGames(pool, combination));
+            for (int i = 0; i < combinations.size(); i++) {
+                Summary summary = new Summary();
+                for (Future<GameResult> result : results.get(i))
+                    summary.add(get(result));
+                writeRow(writer, tunablesFor(combinations.get(i)),
+                        summary);
+                writer.flush();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<Map<Knob, Double>> combinations() {
+        List<Map<Knob, Double>> combinations = new ArrayList<>();
+        combinations.add(new EnumMap<>(Knob.class));
+        for (Map.Entry<Knob, double[]> knob : grid.entrySet()) {
+            List<Map<Knob, Double>> expanded = new ArrayList<>();
+            for (Map<Knob, Double> combination : combinations)
+                for (double value : knob.getValue()) {
+                    Map<Knob, Double> next = new EnumMap<>(combination);
+                    next.put(knob.getKey(), value);
+                    expanded.add(next);
+                }
+            combinations = expanded;
+        }
+        return combinations;
+    }
+
+    private List<Future<GameResult>> submitGames(ExecutorService pool,
+            Map<Knob, Double> combination) {
+        Tunables tunables = tunablesFor(combination);
+        List<Future<GameResult>> results = new ArrayList<>(games);
+        for (int seed = 0; seed < games; seed++) {
+            long gameSeed = seed;
+            Callable<GameResult> game = () -> play(tunables, gameSeed);
+            results.add(pool.submit(game));
+        }
+        return results;
+    }
+
+    private static Tunables tunablesFor(Map<Knob, Double> combination) {
+        Tunables tunables = new Tunables();
+        combination.forEach((knob, value) -> knob.apply(tunables, value));
+        return tunables;
+    }
+
+    private GameResult play(Tunables tunables, long seed) {
+        World world = new World(seed, tunables);
+        ScriptedPilot pilot = new ScriptedPilot(tunables.getCapacityToWin());
+        while (world.getOutcome() == Outcome.PLAYING
+                && world.getTicks() < maxTicks) {
+            Action action = pilot.act(world);
+            if (action.getInput() != null)
+                world.submit(action.getInput());
+            world.tick();
+        }
+        return new GameResult(world.getOutcome(), world.getTicks(),
+                world.getHelicopter().getRemainingFuel()
+                        * world.getTotalPondCapacity());
+    }
+
+    private static GameResult get(Future<GameResult> result)
+            throws InterruptedException {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A game failed", e.getCause());
+        }
+    }
+
+    private void writeHeader(PrintWriter writer) {
+        writer.printf("# games=%d max_seconds=%.0f%n", games,
+                maxTicks * Game.SCHEDULER_TICK_IN_SEC);
+        for (Knob knob : Knob.values())
+            writer.print(knob.getKey() + ",");
+        writer.println("games,wins,losses,timeouts,win_rate,mean_score,"
+                + "mean_seconds_to_win");
+    }
+
+    private void writeRow(PrintWriter writer, Tunables tunables,
+                          Summary summary) {
+        for (Knob knob : Knob.values())
+            writer.print(knob.valueIn(tunables) + ",");
+        writer.printf("%d,%d,%d,%d,%.4f,%.1f,%.1f%n", games, summary.wins,
+                summary.losses, games - summary.wins - summary.losses,
+                (double) summary.wins / games, summary.meanScore(),
+                summary.meanTicksToWin() * Game.SCHEDULER_TICK_IN_SEC);
+    }
+
+    private static class GameResult {
+        private final Outcome outcome;
+        private final long ticks;
+        private final double score;
+
+        GameResult(Outcome outcome, long ticks, double score) {
+            this.outcome = outcome;
+            this.ticks = ticks;
+            this.score = score;
+        }
+    }
+
+    private static class Summary {
+        private int wins, losses;
+        private double totalScore;
+        private long totalTicksToWin;
+
+        void add(GameResult result) {
+            if (result.outcome == Outcome.WON) {
+                wins++;
+                totalScore += result.score;
+                totalTicksToWin += result.ticks;
+            } else if (result.outcome == Outcome.LOST)
+                losses++;
+        }
+
+        double meanScore() {
+            return wins == 0 ? 0 : totalScore / wins;
+        }
+
+        double meanTicksToWin() {
+            return wins == 0 ? 0 : (double) totalTicksToWin / wins;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package rainmaker.training;
+
+import rainmaker.Game;
+import rainmaker.simulation.Outcome;
+import rainmaker.simulation.Tunables;
+import rainmaker.simulation.World;
+
+/**
+ * One episode of the game as a reinforcement-learning environment: reset()
+ * starts a fresh World from a seed and step() applies one Action and runs
+ * one tick. The rules are the World's own (seeding, refueling from blimps,
+ * filling ponds, winning and losing), so nothing here needs JavaFX.
+ * <p>
+ * The reward is shaped so an agent learns before it ever wins: every unit
+ * of pond capacity gained earns CAPACITY_REWARD, winning adds WIN_REWARD
+ * plus a bonus for the fuel left (the same fuel-times-capacity score the
+ * game shows), and losing costs LOSS_PENALTY. Episodes that run past
+ * maxTicks end truncated.
+ */
+public class Environment {
+    public static final double CAPACITY_REWARD = 10;
+    public static final double WIN_REWARD = 10;
+    public static final double FUEL_BONUS = 10;
+    public static final double LOSS_PENALTY = 10;
+
+    private final Tunables tunables;
+    private final long maxTicks;
+    private final Observation observation;
+    private final StepResult result;
+    private World world;
+    private double lastCapacity;
+
+    public Environment(Tunables tunables, long maxTicks) {
+        if (maxTicks <= 0)
+            throw new IllegalArgumentException("maxTicks must be positive");
+        this.tunables = tunables;
+        this.maxTicks = maxTicks;
+        observation = new Observation();
+        result = new StepResult(new float[Observation.SIZE]);
+    }
+
+    /**
+     * Starts a new episode and returns its first observation, which is
+     * overwritten by the next step.
+     */
+    public float[] reset(long seed) {
+        world = new World(seed, tunables);
+        lastCapacity = world.getTotalPondCapacity();
+        writeObservation(result.getObservation(), 0);
+        return result.getObservation();
+    }
+
+    public StepResult step(Action action) {
+        double reward = advance(action);
+        writeObservation(result.getObservation(), 0);
+        result.set(reward, isDone(), isTruncated(), world.getOutcome());
+        return result;
+    }
+
+    /**
+     * Applies action, runs one tick and returns the reward, without writing
+     * an observation.
+     */
+    double advance(Action action) {
+        if (world == null)
+            throw new IllegalStateException("step before reset");
+        if (isDone())
+            throw new IllegalStateException("step after the episode ended");
+        if (action.getInput() != null)
+            world.submit(action.getInput());
+        world.tick();
+        return reward();
+    }
+
+    private double reward() {
+        double capacity = world.getTotalPondCapacity();
+        double reward = CAPACITY_REWARD * (capacity - lastCapacity);
+        lastCapacity = capacity;
+        if (world.getOutcome() == Outcome.WON)
+            reward += WIN_REWARD + FUEL_BONUS * getScore()
+                    / (Game.STARTING_FUEL * tunables.getCapacityToWin());
+        else if (world.getOutcome() == Outcome.LOST)
+            reward -= LOSS_PENALTY;
+        return reward;
+    }
+
+    void writeObservation(float[] out, int offset) {
+        observation.write(world, tunables.getCapacityToWin(), out, offset);
+    }
+
+    public boolean isDone() {
+        return world.getOutcome() != Outcome.PLAYING || isTruncated();
+    }
+
+    private boolean isTruncated() {
+        return world.getOutcome() == Outcome.PLAYING
+                && world.getTicks() >= maxTicks;
+    }
+
+    /**
+     * The game's score so far: fuel left times total pond capacity.
+     */
+    public double getScore() {
+        return world.getHelicopter().getRemainingFuel()
+                * world.getTotalPondCapacity();
+    }
+
+    public World getWorld() {
+        return world;
+    }
+}
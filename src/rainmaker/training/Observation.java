@@ -0,0 +1,175 @@
+package rainmaker.training;
+
+import rainmaker.Game;
+import rainmaker.simulation.BlimpModel;
+import rainmaker.simulation.CloudModel;
+import rainmaker.simulation.HeliState;
+import rainmaker.simulation.HelicopterModel;
+import rainmaker.simulation.PondModel;
+import rainmaker.simulation.Trig;
+import rainmaker.simulation.World;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The layout of the SIZE floats an agent observes after each step, written
+ * straight from a World. Positions of other things are relative to the
+ * helicopter and measured in window widths; everything else is scaled to
+ * roughly [0, 1] (or [-1, 1] for directions). Only the NEAREST_CLOUDS clouds,
+ * NEAREST_PONDS ponds and the nearest blimp are included, each with a flag
+ * that is 0 when there are fewer of them than slots. An Observation holds
+ * its own scratch space, so writing one allocates nothing; use one per
+ * thread.
+ * <pre>
+ *  0-1   helicopter x, y (fraction of the world)
+ *  2-3   heading unit vector
+ *  4     speed, 5 fuel, 6-9 HeliState one-hot, 10 rotor speed
+ *  11    total pond capacity over the capacity to win
+ *  12-13 helipad dx, dy
+ *  then per cloud: dx, dy, saturation, present
+ *  then the blimp: dx, dy, speed relative to the helicopter, fuel, present
+ *  then per pond:  dx, dy, fullness, present
+ * </pre>
+ */
+public final class Observation {
+    public static final int NEAREST_CLOUDS = 3;
+    public static final int NEAREST_PONDS = 3;
+    public static final int HELIPAD = 12;
+    public static final int CLOUDS = 14;
+    public static final int CLOUD_STRIDE = 4;
+    public static final int BLIMP = CLOUDS + NEAREST_CLOUDS * CLOUD_STRIDE;
+    public static final int PONDS = BLIMP + 5;
+    public static final int POND_STRIDE = 4;
+    public static final int SIZE = PONDS + NEAREST_PONDS * POND_STRIDE;
+    public static final int MAX_NEAREST =
+            Math.max(NEAREST_CLOUDS, NEAREST_PONDS);
+
+    private final int[] nearest = new int[MAX_NEAREST];
+    private final double[] distances = new double[MAX_NEAREST];
+
+    /**
+     * Writes the observation of world into out[offset] to
+     * out[offset + SIZE - 1].
+     */
+    public void write(World world, double capacityToWin, float[] out,
+                      int offset) {
+        HelicopterModel heli = world.getHelicopter();
+        double x = heli.getX(), y = heli.getY();
+        out[offset] = (float) (x / Game.WORLD_WIDTH);
+        out[offset + 1] = (float) (y / Game.WORLD_HEIGHT);
+        out[offset + 2] = (float) Trig.sin(heli.getHeading());
+        out[offset + 3] = (float) Trig.cos(heli.getHeading());
+        out[offset + 4] = (float) (heli.getSpeed()
+                / Game.HELICOPTER_MAX_SPEED);
+        out[offset + 5] = (float) (heli.getRemainingFuel()
+                / Game.STARTING_FUEL);
+        for (HeliState state : HeliState.values())
+            out[offset + 6 + state.ordinal()] =
+                    heli.getState() == state ? 1 : 0;
+        out[offset + 10] = (float) (heli.getRotorSpeed()
+                / HelicopterModel.ROTOR_MAX_SPEED);
+        out[offset + 11] = (float) (world.getTotalPondCapacity()
+                / capacityToWin);
+        out[offset + HELIPAD] = relative(World.HELIPAD_X, x);
+        out[offset + HELIPAD + 1] = relative(World.HELIPAD_Y, y);
+
+        writeClouds(world.getClouds(), x, y, out, offset + CLOUDS);
+        writeBlimp(world.getBlimps(), heli, out, offset + BLIMP);
+        writePonds(world.getPonds(), x, y, out, offset + PONDS);
+    }
+
+    private void writeClouds(List<CloudModel> clouds, double x, double y,
+                             float[] out, int offset) {
+        int found = findNearest(clouds, CloudModel::getX, CloudModel::getY,
+                x, y, NEAREST_CLOUDS);
+        for (int i = 0; i < NEAREST_CLOUDS; i++) {
+            int at = offset + i * CLOUD_STRIDE;
+            if (i >= found) {
+                clear(out, at, CLOUD_STRIDE);
+                continue;
+            }
+            CloudModel cloud = clouds.get(nearest[i]);
+            out[at] = relative(cloud.getX(), x);
+            out[at + 1] = relative(cloud.getY(), y);
+            out[at + 2] = (float) (cloud.getSaturation()
+                    / Game.HUNDRED_PERCENT);
+            out[at + 3] = 1;
+        }
+    }
+
+    private void writeBlimp(List<BlimpModel> blimps, HelicopterModel heli,
+                            float[] out, int offset) {
+        if (findNearest(blimps, BlimpModel::getX, BlimpModel::getY,
+                heli.getX(), heli.getY(), 1) == 0) {
+            clear(out, offset, 5);
+            return;
+        }
+        BlimpModel blimp = blimps.get(nearest[0]);
+        out[offset] = relative(blimp.getX(), heli.getX());
+        out[offset + 1] = relative(blimp.getY(), heli.getY());
+        out[offset + 2] = (float) ((blimp.getSpeed() - heli.getSpeed())
+                / Game.HELICOPTER_MAX_SPEED);
+        out[offset + 3] = (float) (blimp.getFuel() / Game.BLIMP_MAX_FUEL);
+        out[offset + 4] = 1;
+    }
+
+    private void writePonds(List<PondModel> ponds, double x, double y,
+                            float[] out, int offset) {
+        int found = findNearest(ponds, PondModel::getX, PondModel::getY,
+                x, y, NEAREST_PONDS);
+        for (int i = 0; i < NEAREST_PONDS; i++) {
+            int at = offset + i * POND_STRIDE;
+            if (i >= found) {
+                clear(out, at, POND_STRIDE);
+                continue;
+            }
+            PondModel pond = ponds.get(nearest[i]);
+            out[at] = relative(pond.getX(), x);
+            out[at + 1] = relative(pond.getY(), y);
+            out[at + 2] = (float) pond.getPercentFull()
+                    / Game.HUNDRED_PERCENT;
+            out[at + 3] = 1;
+        }
+    }
+
+    /**
+     * Fills nearest with the indices of up to k items closest to (x, y),
+     * closest first, and returns how many it found. A plain insertion into
+     * k slots, since k is tiny.
+     */
+    private <T> int findNearest(List<T> items, ToDoubleFunction<T> getX,
+                                ToDoubleFunction<T> getY, double x,
+                                double y, int k) {
+        int found = 0;
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            double dx = getX.applyAsDouble(item) - x;
+            double dy = getY.applyAsDouble(item) - y;
+            double distance = dx * dx + dy * dy;
+            int slot = Math.min(found, k);
+            while (slot > 0 && distances[slot - 1] > distance) {
+                if (slot < k) {
+                    distances[slot] = distances[slot - 1];
+                    nearest[slot] = nearest[slot - 1];
+                }
+                slot--;
+            }
+            if (slot < k) {
+                distances[slot] = distance;
+                nearest[slot] = i;
+                found = Math.min(found + 1, k);
+            }
+        }
+        return found;
+    }
+
+    private static float relative(double coordinate, double origin) {
+        return (float) ((coordinate - origin) / Game.GAME_WIDTH);
+    }
+
+    private static void clear(float[] out, int from, int count) {
+        for (int i = from; i < from + count; i++)
+            out[i] = 0;
+    }
+}
@@ -0,0 +1,196 @@
+package rainmaker.training;
+
+import rainmaker.Game;
+import rainmaker.simulation.BlimpModel;
+import rainmaker.simulation.CloudModel;
+import rainmaker.simulation.HeliState;
+import rainmaker.simulation.HelicopterModel;
+import rainmaker.simulation.PondModel;
+import rainmaker.simulation.World;
+
+/**
+ * A hand-written player for balancing runs, choosing one Action a tick the
+ * way a player presses one key at a time. It starts the engine, refuels
+ * from a blimp when fuel runs low, otherwise seeds whichever unsaturated
+ * cloud is in rain range of a pond (or waits for one), and once the ponds
+ * are full enough it flies home, stops on the helipad and shuts the engine
+ * off. It plays well enough to tell a winnable game from an unwinnable one,
+ * not perfectly.
+ */
+public class ScriptedPilot {
+    public static final double LOW_FUEL = 0.3 * Game.STARTING_FUEL;
+    public static final double FULL_FUEL = 0.6 * Game.STARTING_FUEL;
+    public static final double SATURATED = 90;
+    public static final double ARRIVAL_DISTANCE = 40;
+    public static final double LANDING_DISTANCE = 8;
+    public static final double SLOWING_DISTANCE = 300;
+    public static final double TURNING_SPEED = 0.5;
+    public static final double TURNING_CIRCLES = 8;
+    public static final double HEADING_TOLERANCE =
+            HelicopterModel.HEADING_ADJUSTMENT / 2;
+
+    private final double capacityToWin;
+    private boolean isRefueling;
+
+    public ScriptedPilot(double capacityToWin) {
+        this.capacityToWin = capacityToWin;
+    }
+
+    public Action act(World world) {
+        HelicopterModel heli = world.getHelicopter();
+        boolean isGoingHome =
+                world.getTotalPondCapacity() >= capacityToWin;
+        if (heli.getState() == HeliState.OFF && !isGoingHome)
+            return Action.IGNITION;
+        if (heli.getState() != HeliState.READY)
+            return Action.NONE;
+        if (isGoingHome)
+            return land(heli);
+
+        updateRefueling(world, heli);
+        BlimpModel blimp = isRefueling ? nearestBlimp(world, heli) : null;
+        if (blimp != null)
+            return refuelFrom(heli, blimp);
+        CloudModel cloud = bestCloud(world, heli);
+        if (cloud != null)
+            return seed(heli, cloud);
+        return matchSpeed(heli, 0);
+    }
+
+    private void updateRefueling(World world, HelicopterModel heli) {
+        if (heli.getRemainingFuel() < LOW_FUEL
+                && !world.getBlimps().isEmpty())
+            isRefueling = true;
+        else if (heli.getRemainingFuel() > FULL_FUEL
+                || world.getBlimps().isEmpty())
+            isRefueling = false;
+    }
+
+    private Action land(HelicopterModel heli) {
+        double distance = Math.hypot(World.HELIPAD_X - heli.getX(),
+                World.HELIPAD_Y - heli.getY());
+        if (distance < LANDING_DISTANCE)
+            return heli.isStationary() ? Action.IGNITION
+                    : matchSpeed(heli, 0);
+        return flyTo(heli, World.HELIPAD_X, World.HELIPAD_Y, 0);
+    }
+
+    /**
+     * Refueling needs the speeds to match as well as touching, so the
+     * pilot closes in fast and then settles on the blimp's speed.
+     */
+    private Action refuelFrom(HelicopterModel heli, BlimpModel blimp) {
+        double distance = Math.hypot(blimp.getX() - heli.getX(),
+                blimp.getY() - heli.getY());
+        if (distance < blimp.getWidth() / 2) {
+            Action turn = turnToward(heli, blimp.getX(), blimp.getY());
+            if (turn != Action.NONE && distance > ARRIVAL_DISTANCE)
+                return turn;
+            return matchSpeed(heli, blimp.getSpeed());
+        }
+        return flyTo(heli, blimp.getX(), blimp.getY(), blimp.getSpeed());
+    }
+
+    private Action seed(HelicopterModel heli, CloudModel cloud) {
+        double distance = Math.hypot(cloud.getX() - heli.getX(),
+                cloud.getY() - heli.getY());
+        if (distance < cloud.getWidth() / 4) {
+            Action match = matchSpeed(heli, cloud.getSpeed());
+            return match == Action.NONE ? Action.SEED : match;
+        }
+        return flyTo(heli, cloud.getX(), cloud.getY(), cloud.getSpeed());
+    }
+
+    /**
+     * Turns toward (x, y) first, then speeds up or slows down toward the
+     * target's own speed as it gets close. Turning a step a tick leaves a
+     * turning circle that grows with speed, so the pilot slows down before
+     * turning toward anything inside it rather than circling forever.
+     */
+    private Action flyTo(HelicopterModel heli, double x, double y,
+                         double arrivalSpeed) {
+        if (heli.isStationary())
+            return Action.SPEED_UP;
+        double distance = Math.hypot(x - heli.getX(), y - heli.getY());
+        Action turn = turnToward(heli, x, y);
+        if (turn != Action.NONE) {
+            if (heli.getSpeed() > Math.max(TURNING_SPEED,
+                    distance / TURNING_CIRCLES))
+                return Action.SLOW_DOWN;
+            return turn;
+        }
+        double speed = arrivalSpeed + (Game.HELICOPTER_MAX_SPEED
+                - arrivalSpeed) * Math.min(1, distance / SLOWING_DISTANCE);
+        if (distance < ARRIVAL_DISTANCE)
+            speed = arrivalSpeed;
+        return matchSpeed(heli, speed);
+    }
+
+    private static Action turnToward(HelicopterModel heli, double x,
+                                     double y) {
+        double bearing = Math.toDegrees(Math.atan2(x - heli.getX(),
+                y - heli.getY()));
+        double error = bearing - heli.getHeading();
+        error -= 360 * Math.floor((error + 180) / 360);
+        if (error > HEADING_TOLERANCE)
+            return Action.TURN_RIGHT;
+        if (error < -HEADING_TOLERANCE)
+            return Action.TURN_LEFT;
+        return Action.NONE;
+    }
+
+    private static Action matchSpeed(HelicopterModel heli, double speed) {
+        double difference = speed - heli.getSpeed();
+        if (difference > Game.REFUELING_SPEED_DIFF_MARGIN / 2)
+            return Action.SPEED_UP;
+        if (difference < -Game.REFUELING_SPEED_DIFF_MARGIN / 2)
+            return Action.SLOW_DOWN;
+        return Action.NONE;
+    }
+
+    private static BlimpModel nearestBlimp(World world,
+                                           HelicopterModel heli) {
+        BlimpModel nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (BlimpModel b : world.getBlimps()) {
+            double distance = Math.hypot(b.getX() - heli.getX(),
+                    b.getY() - heli.getY());
+            if (b.getFuel() > 0 && distance < nearestDistance) {
+                nearest = b;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * The nearest cloud that still needs seeding and has a pond within rain
+     * range, or null if none does.
+     */
+    private static CloudModel bestCloud(World world, HelicopterModel heli) {
+        CloudModel best = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (CloudModel c : world.getClouds()) {
+            if (c.getSaturation() >= SATURATED || !isOverAPond(world, c))
+                continue;
+            double distance = Math.hypot(c.getX() - heli.getX(),
+                    c.getY() - heli.getY());
+            if (distance < bestDistance) {
+                best = c;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isOverAPond(World world, CloudModel cloud) {
+        for (PondModel p : world.getPonds()) {
+            double rainRange = Game.MAX_RANGE_RAIN_MULTIPLIER * 2
+                    * p.getMaxRadius();
+            if (Math.hypot(cloud.getX() - p.getX(),
+                    cloud.getY() - p.getY()) < rainRange)
+                return true;
+        }
+        return false;
+    }
+}
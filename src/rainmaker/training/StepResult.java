@@ -0,0 +1,53 @@
+package rainmaker.training;
+
+import rainmaker.simulation.Outcome;
+
+/**
+ * What one Environment step produced. The Environment reuses the same
+ * StepResult (and observation array) every step, so copy anything needed
+ * beyond the next call.
+ */
+public class StepResult {
+    private final float[] observation;
+    private double reward;
+    private boolean isDone, isTruncated;
+    private Outcome outcome;
+
+    StepResult(float[] observation) {
+        this.observation = observation;
+    }
+
+    void set(double reward, boolean isDone, boolean isTruncated,
+             Outcome outcome) {
+        this.reward = reward;
+        this.isDone = isDone;
+        this.isTruncated = isTruncated;
+        this.outcome = outcome;
+    }
+
+    public float[] getObservation() {
+        return observation;
+    }
+
+    public double getReward() {
+        return reward;
+    }
+
+    /**
+     * Whether the episode is over, either won, lost or out of time.
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
+    /**
+     * Whether the episode ended only because it ran out of time.
+     */
+    public boolean isTruncated() {
+        return isTruncated;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+}
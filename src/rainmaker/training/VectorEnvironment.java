@@ -0,0 +1,144 @@
+package rainmaker.training;
+
+import rainmaker.simulation.Tunables;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Steps many independent Environments at once, split into one chunk per
+ * thread. Results land in flat arrays shared across steps: environment i's
+ * observation is observations[i * Observation.SIZE] onwards, its reward
+ * rewards[i] and whether its episode just ended dones[i]. An environment
+ * that finishes is reset straight away, so its observation is already the
+ * first of the next episode.
+ */
+public class VectorEnvironment implements AutoCloseable {
+    private final Environment[] environments;
+    private final long baseSeed;
+    private final long[] episodes;
+    private final float[] observations;
+    private final float[] rewards;
+    private final boolean[] dones;
+    private final ExecutorService pool;
+    private final List<Callable<Void>> chunks;
+    private int[] actions;
+
+    public VectorEnvironment(int numEnvironments, Tunables tunables,
+                             long maxTicks, long baseSeed, int numThreads) {
+        if (numEnvironments <= 0 || numThreads <= 0)
+            throw new IllegalArgumentException(
+                    "need at least one environment and thread");
+        environments = new Environment[numEnvironments];
+        for (int i = 0; i < numEnvironments; i++)
+            environments[i] = new Environment(tunables, maxTicks);
+        this.baseSeed = baseSeed;
+        episodes = new long[numEnvironments];
+        observations = new float[numEnvironments * Observation.SIZE];
+        rewards = new float[numEnvironments];
+        dones = new boolean[numEnvironments];
+
+        int threads = Math.min(numThreads, numEnvironments);
+        AtomicInteger count = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task,
+                    "rainmaker-env-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        chunks = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int from = t * numEnvironments / threads;
+            int to = (t + 1) * numEnvironments / threads;
+            chunks.add(() -> {
+                stepRange(from, to);
+                return null;
+            });
+        }
+    }
+
+    public VectorEnvironment(int numEnvironments, Tunables tunables,
+                             long maxTicks, long baseSeed) {
+        this(numEnvironments, tunables, maxTicks, baseSeed,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Resets every environment and returns the shared observations.
+     */
+    public float[] reset() {
+        for (int i = 0; i < environments.length; i++) {
+            episodes[i] = 0;
+            resetEnvironment(i);
+        }
+        return observations;
+    }
+
+    /**
+     * Applies actions[i] (an Action index) to environment i and steps them
+     * all, blocking until every one is done.
+     */
+    public void step(int[] actions) {
+        if (actions.length != environments.length)
+            throw new IllegalArgumentException("expected "
+                    + environments.length + " actions");
+        this.actions = actions;
+        try {
+            for (Future<Void> chunk : pool.invokeAll(chunks))
+                chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("step interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("step failed", e.getCause());
+        }
+    }
+
+    private void stepRange(int from, int to) {
+        for (int i = from; i < to; i++) {
+            Environment environment = environments[i];
+            rewards[i] = (float) environment.advance(
+                    Action.fromIndex(actions[i]));
+            dones[i] = environment.isDone();
+            if (dones[i]) {
+                episodes[i]++;
+                resetEnvironment(i);
+            } else
+                environment.writeObservation(observations,
+                        i * Observation.SIZE);
+        }
+    }
+
+    private void resetEnvironment(int i) {
+        environments[i].reset(baseSeed + i
+                + episodes[i] * environments.length);
+        environments[i].writeObservation(observations, i * Observation.SIZE);
+    }
+
+    public float[] getObservations() {
+        return observations;
+    }
+
+    public float[] getRewards() {
+        return rewards;
+    }
+
+    public boolean[] getDones() {
+        return dones;
+    }
+
+    public int getNumEnvironments() {
+        return environments.length;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}